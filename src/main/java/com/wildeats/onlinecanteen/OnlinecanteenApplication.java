@@ -2,12 +2,18 @@ package com.wildeats.onlinecanteen;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class OnlinecanteenApplication {
 
+	// Startup steps kept for /actuator/startup and the startup report
+	private static final int STARTUP_STEPS = 8192;
+
 	public static void main(String[] args) {
-		SpringApplication.run(OnlinecanteenApplication.class, args);
+		SpringApplication application = new SpringApplication(OnlinecanteenApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,158 @@
+package com.wildeats.onlinecanteen.analytics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings, sized from the expected number of insertions and the target
+ * false-positive probability. {@link #mightContain(String)} never returns false for a
+ * value that was added; it returns true for an absent value with roughly the target
+ * probability while fewer than {@code expectedInsertions} values have been added.
+ *
+ * Bits are set with CAS on an {@link AtomicLongArray}, so adds and lookups are lock-free.
+ */
+public class BloomFilter {
+
+    private final long expectedInsertions;
+    private final double targetFpp;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLongArray words;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Create an empty filter
+     * @param expectedInsertions The number of values the filter is sized for
+     * @param targetFpp The false-positive probability at that size, between 0 and 1
+     */
+    public BloomFilter(long expectedInsertions, double targetFpp) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(targetFpp > 0 && targetFpp < 1)) {
+            throw new IllegalArgumentException("targetFpp must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(targetFpp) / (Math.log(2) * Math.log(2)));
+        if (bits >= 1L << 32) {
+            throw new IllegalArgumentException("Filter would exceed 2^32 bits");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.targetFpp = targetFpp;
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Add a value
+     * @param value The value to add
+     * @return true if the filter changed, i.e. the value was definitely not present before
+     */
+    public boolean put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            changed |= setBit(index(h1 + i * h2));
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+
+    /**
+     * @param value The value to check
+     * @return false if the value was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The false-positive probability implied by the current fill ratio
+     */
+    public double expectedFpp() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    /**
+     * @return The number of distinct values added (approximate; colliding adds are not counted)
+     */
+    public long approximateCount() {
+        return insertions.get();
+    }
+
+    /**
+     * @return true once more values were added than the filter was sized for
+     */
+    public boolean isSaturated() {
+        return insertions.get() > expectedInsertions;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double getTargetFpp() {
+        return targetFpp;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        return Integer.toUnsignedLong(combined) * bitCount >>> 32;
+    }
+
+    private boolean setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes followed by the murmur3 finalizer
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,140 @@
+package com.wildeats.onlinecanteen.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter sketch (Metwally et al.).
+ *
+ * Tracks at most {@code capacity} counters. Once full, an unseen item takes over the
+ * counter with the smallest count and inherits that count as its error. For every
+ * tracked item the true frequency lies in {@code [count - error, count]}, and any item
+ * whose true frequency exceeds {@code totalWeight / capacity} is guaranteed to be tracked.
+ *
+ * @param <K> The item type
+ */
+public class SpaceSavingTopK<K> {
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private long totalWeight;
+
+    /**
+     * Create a sketch with a fixed number of counters
+     * @param capacity The maximum number of counters kept in memory
+     */
+    public SpaceSavingTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Record one occurrence of an item
+     * @param item The item to record
+     */
+    public void offer(K item) {
+        offer(item, 1);
+    }
+
+    /**
+     * Record an item with a weight (e.g. the ordered quantity)
+     * @param item The item to record
+     * @param weight The weight to add, must be positive
+     */
+    public synchronized void offer(K item, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        totalWeight += weight;
+
+        Counter<K> counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter<>(item, weight, 0));
+            return;
+        }
+
+        // Replace the smallest counter; its count becomes the newcomer's error
+        Counter<K> min = null;
+        for (Counter<K> candidate : counters.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.item);
+        counters.put(item, new Counter<>(item, min.count + weight, min.count));
+    }
+
+    /**
+     * Get the k items with the highest estimated counts
+     * @param k The number of items to return
+     * @return Estimates ordered by descending count; empty if k is not positive
+     */
+    public synchronized List<Estimate<K>> top(int k) {
+        if (k < 1) {
+            return new ArrayList<>();
+        }
+        List<Estimate<K>> result = new ArrayList<>(counters.size());
+        for (Counter<K> counter : counters.values()) {
+            result.add(new Estimate<>(counter.item, counter.count, counter.error));
+        }
+        result.sort(Comparator.comparingLong((Estimate<K> e) -> e.count()).reversed());
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    /**
+     * Get the estimated count of a single item
+     * @param item The item to look up
+     * @return The estimate, or null if the item is not currently tracked
+     */
+    public synchronized Estimate<K> estimate(K item) {
+        Counter<K> counter = counters.get(item);
+        return counter == null ? null : new Estimate<>(counter.item, counter.count, counter.error);
+    }
+
+    /**
+     * @return The total weight offered to the sketch
+     */
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * @return The upper bound on the overestimation of any tracked count
+     */
+    public synchronized long getMaxError() {
+        return totalWeight / capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * An estimated count; the true count lies in {@code [count - error, count]}
+     */
+    public record Estimate<K>(K item, long count, long error) {
+    }
+
+    private static final class Counter<K> {
+        private final K item;
+        private long count;
+        private final long error;
+
+        private Counter(K item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
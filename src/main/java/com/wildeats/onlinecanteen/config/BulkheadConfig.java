@@ -0,0 +1,95 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.BulkheadInterceptor;
+import com.wildeats.onlinecanteen.datasource.BulkheadRoutingDataSource;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * One primary-database pool per {@link Bulkhead}, sized under
+ * {@code canteen.datasource.bulkheads.<name>.*} (any Hikari setting), next to the shared
+ * {@code primary} pool. Hikari publishes {@code hikaricp.connections.active},
+ * {@code .pending} and {@code .acquire} (wait time) tagged with the pool name, which gives
+ * the per-bulkhead breakdown.
+ *
+ * These pools, not {@code spring.datasource.hikari.*}, bound how many requests reach the
+ * database at once; the latter only sizes the shared pool for unannotated work. Without a
+ * request-thread cap (the {@code virtual} profile) they are the only concurrency limit, so
+ * that profile sizes them and shortens their connection timeouts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "canteen.datasource.bulkheads.enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    @ConfigurationProperties("canteen.datasource.bulkheads.checkout")
+    public HikariDataSource checkoutDataSource(DataSourceProperties properties) {
+        return pool(properties, Bulkhead.CHECKOUT);
+    }
+
+    @Bean
+    @ConfigurationProperties("canteen.datasource.bulkheads.browse")
+    public HikariDataSource browseDataSource(DataSourceProperties properties) {
+        return pool(properties, Bulkhead.BROWSE);
+    }
+
+    @Bean
+    @ConfigurationProperties("canteen.datasource.bulkheads.background")
+    public HikariDataSource backgroundDataSource(DataSourceProperties properties) {
+        return pool(properties, Bulkhead.BACKGROUND);
+    }
+
+    @Bean
+    public BulkheadRoutingDataSource bulkheadRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("checkoutDataSource") HikariDataSource checkoutDataSource,
+            @Qualifier("browseDataSource") HikariDataSource browseDataSource,
+            @Qualifier("backgroundDataSource") HikariDataSource backgroundDataSource) {
+        Map<Bulkhead, DataSource> pools = new EnumMap<>(Bulkhead.class);
+        pools.put(Bulkhead.CHECKOUT, checkoutDataSource);
+        pools.put(Bulkhead.BROWSE, browseDataSource);
+        pools.put(Bulkhead.BACKGROUND, backgroundDataSource);
+        return new BulkheadRoutingDataSource(primaryDataSource, pools);
+    }
+
+    /**
+     * Applies {@link UseBulkhead}; ordered ahead of the transaction interceptor so the
+     * bulkhead is bound before a transaction starts
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bulkheadAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                AnnotationMatchingPointcut.forClassAnnotation(UseBulkhead.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(UseBulkhead.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new BulkheadInterceptor());
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Bulkhead bulkhead) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(bulkhead.poolName());
+        return dataSource;
+    }
+}
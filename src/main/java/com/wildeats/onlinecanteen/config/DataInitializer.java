@@ -6,16 +6,23 @@ import com.wildeats.onlinecanteen.entity.UserEntity;
 import com.wildeats.onlinecanteen.repository.FoodItemRepository;
 import com.wildeats.onlinecanteen.repository.ShopRepository;
 import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.PasswordService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Date;
+import java.util.function.BooleanSupplier;
 
 @Configuration
 public class DataInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     @Autowired
     private UserRepository userRepository;
@@ -26,16 +33,25 @@ public class DataInitializer {
     @Autowired
     private FoodItemRepository foodItemRepository;
 
+    @Autowired
+    private PasswordService passwordService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${canteen.seed.demo.background:false}")
+    private boolean runInBackground;
+
     @Bean
     public CommandLineRunner initData() {
-        return args -> {
+        BooleanSupplier seedDemoData = () -> {
             // Check if data already exists
             if (userRepository.count() == 0 && shopRepository.count() == 0) {
                 // Create sample users - Sellers
                 UserEntity seller1 = new UserEntity();
                 seller1.setName("Coffee Shop Owner");
                 seller1.setEmail("shop.coffee@example.com");
-                seller1.setPassword("password123");
+                seller1.setPassword(passwordService.hash("password123"));
                 seller1.setRole(UserEntity.Role.SELLER);
                 seller1.setCreatedAt(new Date());
                 seller1.setLastLogin(new Date());
@@ -44,7 +60,7 @@ public class DataInitializer {
                 UserEntity seller2 = new UserEntity();
                 seller2.setName("Sandwich Shop Owner");
                 seller2.setEmail("shop.sandwich@example.com");
-                seller2.setPassword("password456");
+                seller2.setPassword(passwordService.hash("password456"));
                 seller2.setRole(UserEntity.Role.SELLER);
                 seller2.setCreatedAt(new Date());
                 seller2.setLastLogin(new Date());
@@ -54,7 +70,7 @@ public class DataInitializer {
                 UserEntity customer1 = new UserEntity();
                 customer1.setName("John Doe");
                 customer1.setEmail("john.doe@example.com");
-                customer1.setPassword("password123");
+                customer1.setPassword(passwordService.hash("password123"));
                 customer1.setRole(UserEntity.Role.CUSTOMER);
                 customer1.setCreatedAt(new Date());
                 customer1.setLastLogin(new Date());
@@ -63,7 +79,7 @@ public class DataInitializer {
                 UserEntity customer2 = new UserEntity();
                 customer2.setName("Jane Smith");
                 customer2.setEmail("jane.smith@example.com");
-                customer2.setPassword("password456");
+                customer2.setPassword(passwordService.hash("password456"));
                 customer2.setRole(UserEntity.Role.CUSTOMER);
                 customer2.setCreatedAt(new Date());
                 customer2.setLastLogin(new Date());
@@ -164,9 +180,25 @@ public class DataInitializer {
                 side1.setUpdatedAt(new Date());
                 foodItemRepository.save(side1);
 
-                System.out.println("Sample data initialized successfully!");
+                logger.info("Sample data initialized successfully");
+                return true;
+            } else {
+                logger.info("Data already exists, skipping initialization");
+                return false;
+            }
+        };
+        return args -> {
+            if (runInBackground) {
+                // Off the startup path: the demo rows are only needed on an empty database.
+                // The indexes built on ApplicationReadyEvent may miss them, so they rebuild
+                // on DemoDataSeededEvent.
+                Thread.ofPlatform().name("demo-data").start(() -> {
+                    if (seedDemoData.getAsBoolean()) {
+                        eventPublisher.publishEvent(new DemoDataSeededEvent());
+                    }
+                });
             } else {
-                System.out.println("Data already exists, skipping initialization");
+                seedDemoData.getAsBoolean();
             }
         };
     }
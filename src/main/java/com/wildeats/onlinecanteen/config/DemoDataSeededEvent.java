@@ -0,0 +1,8 @@
+package com.wildeats.onlinecanteen.config;
+
+/**
+ * Published when {@link DataInitializer} has seeded the demo data on its background thread,
+ * after {@code ApplicationReadyEvent}. In-memory indexes built at startup rebuild on it.
+ */
+public class DemoDataSeededEvent {
+}
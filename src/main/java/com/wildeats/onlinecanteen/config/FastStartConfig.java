@@ -0,0 +1,57 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import com.wildeats.onlinecanteen.controller.AuthController;
+import com.wildeats.onlinecanteen.controller.OrderController;
+import com.wildeats.onlinecanteen.service.OrderService;
+import com.wildeats.onlinecanteen.service.UserService;
+
+/**
+ * Bean exclusions for the "faststart" profile, which turns on lazy initialization.
+ *
+ * Most beans are then created on first use, which moves their cost out of startup. A few
+ * stay eager: the data source and entity manager factory (so a broken database or mapping
+ * still fails the deploy), the login and checkout path (so the first order after a restart
+ * is not the one that pays for it), and anything with {@code @Scheduled} methods, which
+ * are only registered when the bean is created.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    private static final List<Class<?>> EAGER_TYPES = List.of(
+            DataSource.class,
+            AbstractEntityManagerFactoryBean.class,
+            AuthController.class,
+            UserService.class,
+            OrderController.class,
+            OrderService.class);
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerCanteenBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType));
+    }
+
+    static boolean hasScheduledMethods(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
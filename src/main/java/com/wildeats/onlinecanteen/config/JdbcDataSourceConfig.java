@@ -0,0 +1,73 @@
+package com.wildeats.onlinecanteen.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.wildeats.onlinecanteen.datasource.BulkheadRoutingDataSource;
+import com.wildeats.onlinecanteen.datasource.ReadWriteRoutingDataSource;
+import com.wildeats.onlinecanteen.datasource.ReadYourWritesTracker;
+import com.wildeats.onlinecanteen.datasource.ReplicaLagMonitor;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryDataSource;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryLog;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The JDBC pool behind JPA and {@code JdbcTemplate}. Spring Boot skips its own DataSource
+ * once an R2DBC {@code ConnectionFactory} is present (for the reactive read API), so it is
+ * declared here from the usual {@code spring.datasource.*} properties.
+ *
+ * When a replica is configured ({@link ReplicaDataSourceConfig}) the application uses a
+ * {@link ReadWriteRoutingDataSource} over both pools instead of the primary alone. With
+ * bulkheads enabled ({@link BulkheadConfig}) the primary side is itself split into one pool
+ * per {@link com.wildeats.onlinecanteen.datasource.Bulkhead}. With slow-query capture on
+ * ({@link SlowQueryConfig}) statements pass through a {@link SlowQueryDataSource} first.
+ */
+@Configuration
+public class JdbcDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ObjectProvider<BulkheadRoutingDataSource> bulkheadRoutingDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectProvider<SlowQueryLog> slowQueryLog) {
+        DataSource primary = bulkheadRoutingDataSource.getIfAvailable();
+        if (primary == null) {
+            primary = primaryDataSource;
+        }
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        DataSource target = lagMonitor == null
+                ? primary
+                : new ReadWriteRoutingDataSource(primary, lagMonitor, readYourWritesTracker);
+        SlowQueryLog log = slowQueryLog.getIfAvailable();
+        if (log != null) {
+            target = new SlowQueryDataSource(target, log);
+        }
+        return new LazyConnectionDataSourceProxy(target);
+    }
+}
@@ -0,0 +1,72 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import com.wildeats.onlinecanteen.outbox.OrderCreated;
+import com.wildeats.onlinecanteen.outbox.OrderStatusChanged;
+
+/**
+ * Runtime hints for the GraalVM native image ({@code mvn -Pnative native:compile}).
+ *
+ * Most controllers return {@code ResponseEntity<?>} or maps, so AOT cannot see which types
+ * Jackson will serialize. Every class in the {@code entity} and {@code dto} packages is
+ * registered for JSON binding instead; the packages are scanned at build time, so new DTOs
+ * are picked up without touching this class. JPA metadata for the entities comes from
+ * Spring Data's own AOT processing.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.CanteenRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final List<String> BINDING_PACKAGES = List.of(
+            "com.wildeats.onlinecanteen.entity",
+            "com.wildeats.onlinecanteen.dto");
+
+    static class CanteenRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(), bindingTypes(classLoader).toArray(Class<?>[]::new));
+            // Stored as JSON in order_outbox
+            bindings.registerReflectionHints(hints.reflection(), OrderCreated.class, OrderStatusChanged.class);
+
+            // Loaded with getResourceAsStream by ContinuousRecording
+            hints.resources().registerPattern("jfr/*.jfc");
+        }
+
+        static List<Class<?>> bindingTypes(ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    // Abstract mapped superclasses and enums nested in entities count too
+                    return true;
+                }
+            };
+            scanner.addIncludeFilter((reader, factory) -> true);
+            if (classLoader != null) {
+                scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            }
+
+            List<Class<?>> types = new ArrayList<>();
+            for (String basePackage : BINDING_PACKAGES) {
+                for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                    types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+                }
+            }
+            return types;
+        }
+    }
+}
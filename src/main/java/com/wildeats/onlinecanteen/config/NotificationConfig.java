@@ -0,0 +1,92 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.wildeats.onlinecanteen.notification.EmailChannel;
+import com.wildeats.onlinecanteen.notification.InboxChannel;
+import com.wildeats.onlinecanteen.notification.NotificationChannel;
+import com.wildeats.onlinecanteen.notification.NotificationDeadLetterStore;
+import com.wildeats.onlinecanteen.notification.NotificationJobStore;
+import com.wildeats.onlinecanteen.notification.NotificationPipeline;
+import com.wildeats.onlinecanteen.notification.ReadyNotificationListener;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * "Order ready" notifications by in-app inbox and, when {@code spring.mail.host} is set,
+ * email; see {@link NotificationPipeline}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "canteen.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationConfig {
+
+    @Bean
+    public InboxChannel inboxChannel(JdbcTemplate jdbcTemplate) {
+        return new InboxChannel(jdbcTemplate);
+    }
+
+    // Same condition as Spring Boot's JavaMailSender auto-configuration
+    @Bean
+    @ConditionalOnProperty("spring.mail.host")
+    public EmailChannel emailChannel(JavaMailSender mailSender,
+            @Value("${canteen.notifications.email.from:canteen@cit.edu}") String from) {
+        return new EmailChannel(mailSender, from);
+    }
+
+    @Bean
+    public NotificationDeadLetterStore notificationDeadLetterStore(JdbcTemplate jdbcTemplate) {
+        return new NotificationDeadLetterStore(jdbcTemplate);
+    }
+
+    @Bean
+    public NotificationJobStore notificationJobStore(JdbcTemplate jdbcTemplate) {
+        return new NotificationJobStore(jdbcTemplate);
+    }
+
+    @Bean
+    public NotificationPipeline notificationPipeline(
+            List<NotificationChannel> channels,
+            NotificationJobStore jobStore,
+            NotificationDeadLetterStore deadLetterStore,
+            MeterRegistry meterRegistry,
+            @Qualifier("checkoutDataSource") ObjectProvider<HikariDataSource> checkoutDataSource,
+            @Value("${canteen.notifications.queue-capacity:10000}") int capacity,
+            @Value("${canteen.notifications.batch-size:50}") int batchSize,
+            @Value("${canteen.notifications.workers:2}") int workers,
+            @Value("${canteen.notifications.max-attempts:6}") int maxAttempts,
+            @Value("${canteen.notifications.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${canteen.notifications.max-backoff-ms:60000}") long maxBackoffMs,
+            @Value("${canteen.notifications.poll-ms:500}") long pollMs,
+            @Value("${canteen.notifications.lease-ms:120000}") long leaseMs,
+            @Value("${canteen.notifications.busy-defer-ms:30000}") long busyDeferMs) {
+        // Checkout is where order placement and status updates run; without bulkheads, never defer
+        HikariDataSource checkout = checkoutDataSource.getIfAvailable();
+        BooleanSupplier checkoutBusy = checkout == null ? () -> false : () -> inUse(checkout);
+        return new NotificationPipeline(channels, jobStore, deadLetterStore, meterRegistry, capacity, batchSize,
+                workers, maxAttempts, initialBackoffMs, maxBackoffMs, pollMs, leaseMs, checkoutBusy, busyDeferMs);
+    }
+
+    @Bean
+    public ReadyNotificationListener readyNotificationListener(NotificationPipeline pipeline,
+            UserRepository userRepo, ShopRepository shopRepo) {
+        return new ReadyNotificationListener(pipeline, userRepo, shopRepo);
+    }
+
+    private static boolean inUse(HikariDataSource pool) {
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        return stats != null && stats.getActiveConnections() + stats.getThreadsAwaitingConnection() > 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder and the dedicated pool that runs it. Hashing is CPU-bound, so the pool
+ * is sized to the cores and its queue is bounded: once it is full, new logins are
+ * rejected (and answered with 503) instead of piling up behind request threads.
+ * Database writes that follow a hash (registrations, hash upgrades) run on a second,
+ * smaller pool so a slow database never occupies hashing threads.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(@Value("${canteen.auth.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${canteen.auth.hashing-threads:0}") int threads,
+            @Value("${canteen.auth.hashing-queue-capacity:256}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordWriteExecutor(
+            @Value("${canteen.auth.write-threads:4}") int threads,
+            @Value("${canteen.auth.write-queue-capacity:256}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-write-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
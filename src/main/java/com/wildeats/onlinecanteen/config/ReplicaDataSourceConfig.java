@@ -0,0 +1,56 @@
+package com.wildeats.onlinecanteen.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.wildeats.onlinecanteen.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-replica pool, configured like the primary under {@code canteen.datasource.replica.*}
+ * (url, username, password, hikari.*). Only active when a replica URL is set.
+ */
+@Configuration
+@ConditionalOnProperty("canteen.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("canteen.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("canteen.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Value("${canteen.datasource.replica.max-lag-ms:5000}") long maxLagMillis,
+            MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis);
+        Gauge.builder("canteen.datasource.replica.lag", monitor, ReplicaLagMonitor::getLagMillis)
+                .description("Age of the replica's heartbeat in milliseconds (-1 if unknown)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("canteen.datasource.replica.usable", monitor, m -> m.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        return monitor;
+    }
+}
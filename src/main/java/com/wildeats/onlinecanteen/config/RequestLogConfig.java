@@ -0,0 +1,30 @@
+package com.wildeats.onlinecanteen.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.wildeats.onlinecanteen.requestlog.RequestLogFilter;
+
+/**
+ * Sampled one-line request summaries on {@code /api/*}; see {@link RequestLogFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "canteen.request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter(
+            @Value("${canteen.request-log.sample-rate:0.1}") double sampleRate,
+            @Value("${canteen.request-log.slow-ms:500}") long slowMs) {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(sampleRate, slowMs));
+        registration.addUrlPatterns("/api/*");
+        // Just inside the Server-Timing filter, so the SQL count is still bound
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
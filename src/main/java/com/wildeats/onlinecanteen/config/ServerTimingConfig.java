@@ -0,0 +1,84 @@
+package com.wildeats.onlinecanteen.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.wildeats.onlinecanteen.timing.PhaseTimingInterceptor;
+import com.wildeats.onlinecanteen.timing.RequestTimings;
+import com.wildeats.onlinecanteen.timing.ServerTimingFilter;
+import com.wildeats.onlinecanteen.timing.ServerTimingInterceptor;
+import com.wildeats.onlinecanteen.timing.SqlStatementCounter;
+
+/**
+ * Per-request {@code Server-Timing} header on {@code /api/*}: controller, service,
+ * repository and serialization time plus the Hibernate statement count. Off by default,
+ * since the response body is buffered to fit serialization time into the header.
+ */
+@Configuration
+@ConditionalOnProperty(name = "canteen.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${canteen.server-timing.timing-allow-origin:*}") String timingAllowOrigin) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(timingAllowOrigin));
+        registration.addUrlPatterns("/api/*");
+        // Outermost, so "total" covers the other filters too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    /**
+     * Times {@code @Service} beans; outermost, so transaction commit (and the JPA flush)
+     * counts as service time
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forClassAnnotation(Service.class),
+                new PhaseTimingInterceptor(RequestTimings.Phase.SERVICE));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Times Spring Data repositories
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor repositoryTimingAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(Repository.class::isAssignableFrom),
+                new PhaseTimingInterceptor(RequestTimings.Phase.REPOSITORY));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).addPathPatterns("/api/**");
+    }
+}
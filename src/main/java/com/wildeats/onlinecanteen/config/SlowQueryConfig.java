@@ -0,0 +1,70 @@
+package com.wildeats.onlinecanteen.config;
+
+import java.util.List;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.service.FoodItemService;
+import com.wildeats.onlinecanteen.service.OrderService;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryEndpoint;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryInterceptor;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryLog;
+
+/**
+ * Slow-statement capture for {@code OrderService}, {@code FoodItemService} and the
+ * repositories behind them. {@link JdbcDataSourceConfig} wraps the data source in a
+ * {@link com.wildeats.onlinecanteen.slowquery.SlowQueryDataSource} when the log exists.
+ */
+@Configuration
+@ConditionalOnProperty(name = "canteen.slow-query.enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+    static final List<Class<?>> WATCHED = List.of(
+            OrderRepository.class,
+            OrderItemRepository.class,
+            ArchivedOrderRepository.class,
+            FoodItemRepository.class,
+            // Statements Hibernate flushes at commit run outside any repository call
+            OrderService.class,
+            FoodItemService.class);
+
+    @Bean
+    public SlowQueryLog slowQueryLog(
+            @Value("${canteen.slow-query.threshold-ms:100}") long thresholdMs,
+            @Value("${canteen.slow-query.max-statements:500}") int maxStatements) {
+        return new SlowQueryLog(thresholdMs, maxStatements);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog,
+            @Value("${canteen.slow-query.top:20}") int top) {
+        return new SlowQueryEndpoint(slowQueryLog, top);
+    }
+
+    /**
+     * Marks calls on the watched types, so their statements are timed; ordered ahead of the
+     * transaction interceptor so the call is still bound while the commit flushes
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor slowQueryAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(
+                type -> WATCHED.stream().anyMatch(watched -> watched.isAssignableFrom(type)));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new SlowQueryInterceptor(WATCHED));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
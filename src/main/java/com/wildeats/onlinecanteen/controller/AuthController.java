@@ -1,82 +1,110 @@
 package com.wildeats.onlinecanteen.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.wildeats.onlinecanteen.entity.UserEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity.Role;
+import com.wildeats.onlinecanteen.service.AuthThrottleService;
 import com.wildeats.onlinecanteen.service.UserService;
 import com.wildeats.onlinecanteen.dto.LoginRequest;
 import com.wildeats.onlinecanteen.dto.RegisterRequest;
 import com.wildeats.onlinecanteen.dto.AuthResponse;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class AuthController {
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthThrottleService authThrottleService;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        long retryAfter = authThrottleService.checkLogin(request, loginRequest.getEmail());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(tooManyAttempts(retryAfter));
+        }
+
+        CompletableFuture<UserEntity> authentication;
         try {
-            UserEntity user = userService.findByEmail(loginRequest.getEmail());
-            
+            authentication = userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
+        } catch (Exception e) {
+            authentication = CompletableFuture.failedFuture(e);
+        }
+
+        return authentication.<ResponseEntity<?>>thenApply(user -> {
             if (user == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid email or password"));
             }
-            
-            // Simple password check (in a real app, you'd use password hashing)
-            if (!user.getPassword().equals(loginRequest.getPassword())) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("message", "Invalid email or password"));
-            }
-            
-            // Update last login time
-            user.setLastLogin(new Date());
-            userService.updateUser(user);
-            
+
             // Create response with user details (excluding password)
             AuthResponse response = new AuthResponse();
             response.setId(user.getId());
             response.setName(user.getName());
             response.setEmail(user.getEmail());
             response.setRole(user.getRole().toString());
-            
+
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
+        }).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof RejectedExecutionException) {
+                // Hashing pool is saturated; shed load instead of queueing request threads
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("message", "Login is busy, please try again"));
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Login failed: " + e.getMessage()));
-        }
+                    .body(Map.of("message", "Login failed: " + cause.getMessage()));
+        });
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest registerRequest,
+            HttpServletRequest request) {
+        long retryAfter = authThrottleService.checkRegistration(request, registerRequest.getEmail());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(tooManyAttempts(retryAfter));
+        }
+
+        CompletableFuture<UserEntity> registration;
         try {
             // Log the registration request
-            System.out.println("Received registration request for: " + registerRequest.getEmail());
+            logger.debug("Received registration request for: {}", registerRequest.getEmail());
             
-            // Check if email already exists
-            if (userService.findByEmail(registerRequest.getEmail()) != null) {
-                System.out.println("Email already in use: " + registerRequest.getEmail());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Map.of("message", "Email already in use"));
+            // Check if email already exists; the unique index on users.email is the final check
+            if (userService.isEmailRegistered(registerRequest.getEmail())) {
+                logger.debug("Email already in use: {}", registerRequest.getEmail());
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("message", "Email already in use")));
             }
             
             // Determine role based on email (starts with "shop.")
-            Role role = registerRequest.getEmail().startsWith("shop.") 
-                    ? Role.SELLER 
-                    : Role.CUSTOMER;
+            Role role = UserService.roleForEmail(registerRequest.getEmail());
             
-            System.out.println("Creating new user with role: " + role);
+            logger.debug("Creating new user with role: {}", role);
             
             // Create new user
             UserEntity newUser = new UserEntity(
@@ -90,9 +118,14 @@ public class AuthController {
             newUser.setCreatedAt(new Date());
             newUser.setActive(true);
             
-            // Save user to database
-            UserEntity savedUser = userService.createUser(newUser);
-            System.out.println("User saved to database with ID: " + savedUser.getId());
+            // Hash on the hashing pool and save from the password write pool
+            registration = userService.createUserAsync(newUser);
+        } catch (Exception e) {
+            registration = CompletableFuture.failedFuture(e);
+        }
+
+        return registration.<ResponseEntity<?>>thenApply(savedUser -> {
+            logger.debug("User saved to database with ID: {}", savedUser.getId());
             
             // Create response with user details (excluding password)
             AuthResponse response = new AuthResponse();
@@ -102,12 +135,24 @@ public class AuthController {
             response.setRole(savedUser.getRole().toString());
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            System.err.println("Registration failed: " + e.getMessage());
-            e.printStackTrace();
+        }).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof DataIntegrityViolationException) {
+                logger.debug("Email already in use: {}", registerRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("message", "Email already in use"));
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("message", "Registration is busy, please try again"));
+            }
+            logger.error("Registration failed for {}", registerRequest.getEmail(), cause);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("message", "Registration failed: " + e.getMessage()));
-        }
+                    .body(Map.of("message", "Registration failed: " + cause.getMessage()));
+        });
     }
     
     @GetMapping("/check")
@@ -116,4 +161,10 @@ public class AuthController {
         // For now, we'll just return a success message
         return ResponseEntity.ok(Map.of("message", "Authenticated"));
     }
+
+    private ResponseEntity<?> tooManyAttempts(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of("message", "Too many attempts, please try again later"));
+    }
 }
@@ -20,6 +20,7 @@ import com.wildeats.onlinecanteen.entity.FoodItemEntity;
 import com.wildeats.onlinecanteen.entity.ShopEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity;
 import com.wildeats.onlinecanteen.service.FoodItemService;
+import com.wildeats.onlinecanteen.service.MenuSearchService;
 import com.wildeats.onlinecanteen.service.ShopService;
 import com.wildeats.onlinecanteen.service.UserService;
 import org.slf4j.Logger;
@@ -38,6 +39,9 @@ public class FoodItemController {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private MenuSearchService menuSearchService;
 
     /**
      * Get all food items for a specific shop
@@ -46,7 +50,7 @@ public class FoodItemController {
      */
     @GetMapping("/shop/{shopId}")
     public ResponseEntity<?> getFoodItemsByShop(@PathVariable Long shopId) {
-        logger.info("GET request to fetch food items for shop with ID: {}", shopId);
+        logger.debug("GET request to fetch food items for shop with ID: {}", shopId);
         
         ShopEntity shop = shopService.getShopById(shopId);
         if (shop == null || !shop.isActive()) {
@@ -58,6 +62,20 @@ public class FoodItemController {
         return ResponseEntity.ok(foodItems);
     }
 
+    /**
+     * Search available food items across all active shops
+     * @param q The search text; matches names and descriptions, prefixes and small typos
+     * @param limit The maximum number of results
+     * @return Ranked matching food items
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchFoodItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.debug("GET request to search food items for: {}", q);
+        return ResponseEntity.ok(menuSearchService.search(q, limit));
+    }
+
     /**
      * Get a food item by its ID
      * @param id The food item ID
@@ -65,7 +83,7 @@ public class FoodItemController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getFoodItemById(@PathVariable Long id) {
-        logger.info("GET request to fetch food item with ID: {}", id);
+        logger.debug("GET request to fetch food item with ID: {}", id);
         
         FoodItemEntity foodItem = foodItemService.getFoodItemById(id);
         if (foodItem != null) {
@@ -88,7 +106,7 @@ public class FoodItemController {
             @RequestBody FoodItemEntity foodItem,
             @RequestParam Long shopId,
             @RequestParam Long userId) {
-        logger.info("POST request to create a new food item for shop with ID: {} from user with ID: {}", shopId, userId);
+        logger.debug("POST request to create a new food item for shop with ID: {} from user with ID: {}", shopId, userId);
         
         // Check if user exists and is a seller
         UserEntity user = userService.getUserById(userId);
@@ -135,7 +153,7 @@ public class FoodItemController {
             @PathVariable Long id,
             @RequestBody FoodItemEntity foodItem,
             @RequestParam Long userId) {
-        logger.info("PUT request to update food item with ID: {} from user with ID: {}", id, userId);
+        logger.debug("PUT request to update food item with ID: {} from user with ID: {}", id, userId);
         
         // Check if user exists and is a seller
         UserEntity user = userService.getUserById(userId);
@@ -186,7 +204,7 @@ public class FoodItemController {
             @PathVariable Long id,
             @RequestParam int quantity,
             @RequestParam Long userId) {
-        logger.info("PUT request to update quantity for food item with ID: {} to {} from user with ID: {}", 
+        logger.debug("PUT request to update quantity for food item with ID: {} to {} from user with ID: {}", 
                 id, quantity, userId);
         
         // Check if user exists and is a seller
@@ -234,7 +252,7 @@ public class FoodItemController {
     public ResponseEntity<?> deleteFoodItem(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        logger.info("DELETE request for food item with ID: {} from user with ID: {}", id, userId);
+        logger.debug("DELETE request for food item with ID: {} from user with ID: {}", id, userId);
         
         // Check if user exists and is a seller
         UserEntity user = userService.getUserById(userId);
@@ -48,7 +48,7 @@ public class OrderController {
      */
     @GetMapping("/my-orders")
     public ResponseEntity<?> getMyOrders(@RequestParam Long userId) {
-        logger.info("GET request to fetch orders for user with ID: {}", userId);
+        logger.debug("GET request to fetch orders for user with ID: {}", userId);
         
         UserEntity user = userService.getUserById(userId);
         if (user == null) {
@@ -91,7 +91,7 @@ public class OrderController {
     public ResponseEntity<?> getOrdersByShop(
             @PathVariable Long shopId,
             @RequestParam Long userId) {
-        logger.info("GET request to fetch orders for shop with ID: {} from user with ID: {}", shopId, userId);
+        logger.debug("GET request to fetch orders for shop with ID: {} from user with ID: {}", shopId, userId);
         
         UserEntity user = userService.getUserById(userId);
         if (user == null) {
@@ -121,7 +121,7 @@ public class OrderController {
             @PathVariable Long shopId,
             @PathVariable String status,
             @RequestParam Long userId) {
-        logger.info("GET request to fetch orders for shop with ID: {} with status: {} from user with ID: {}", 
+        logger.debug("GET request to fetch orders for shop with ID: {} with status: {} from user with ID: {}", 
                 shopId, status, userId);
         
         UserEntity user = userService.getUserById(userId);
@@ -156,7 +156,7 @@ public class OrderController {
     public ResponseEntity<?> getOrderById(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        logger.info("GET request to fetch order with ID: {} from user with ID: {}", id, userId);
+        logger.debug("GET request to fetch order with ID: {} from user with ID: {}", id, userId);
         
         UserEntity user = userService.getUserById(userId);
         if (user == null) {
@@ -172,8 +172,8 @@ public class OrderController {
         
         // Check if the user has access to the order
         if (user.isSeller()) {
-            // Sellers can only view orders for their shops
-            if (!shopService.isShopOwnedByUser(userId, order.getShop().getShopId())) {
+            // Sellers can only view orders for their shops; an archived order's shop may be gone
+            if (order.getShop() == null || !shopService.isShopOwnedByUser(userId, order.getShop().getShopId())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("message", "You can only view orders for your own shops"));
             }
@@ -198,7 +198,7 @@ public class OrderController {
     public ResponseEntity<?> createOrder(
             @RequestBody CreateOrderRequest request,
             @RequestParam Long userId) {
-        logger.info("POST request to create a new order for user with ID: {}", userId);
+        logger.debug("POST request to create a new order for user with ID: {}", userId);
         
         UserEntity user = userService.getUserById(userId);
         if (user == null) {
@@ -238,7 +238,7 @@ public class OrderController {
             @PathVariable Long id,
             @RequestBody UpdateOrderStatusRequest request,
             @RequestParam Long userId) {
-        logger.info("PUT request to update status for order with ID: {} to {} from user with ID: {}", 
+        logger.debug("PUT request to update status for order with ID: {} to {} from user with ID: {}", 
                 id, request.getStatus(), userId);
         
         UserEntity user = userService.getUserById(userId);
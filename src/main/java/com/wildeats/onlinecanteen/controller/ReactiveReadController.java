@@ -0,0 +1,102 @@
+package com.wildeats.onlinecanteen.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.repository.ReactiveReadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twins of the hot read routes. Each handler returns a {@link Mono} backed by
+ * R2DBC, so the request thread is released while the database works. Responses and status
+ * codes match {@link ShopController#getAllShops()},
+ * {@link FoodItemController#getFoodItemsByShop(Long)} and
+ * {@link OrderController#getOrderById(Long, Long)}.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveReadController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReadController.class);
+
+    private final ReactiveReadRepository reactiveReadRepo;
+
+    public ReactiveReadController(ReactiveReadRepository reactiveReadRepo) {
+        this.reactiveReadRepo = reactiveReadRepo;
+    }
+
+    /**
+     * Get all active shops
+     * @return List of all active shops
+     */
+    @GetMapping("/shop")
+    public Mono<ResponseEntity<List<ShopEntity>>> getAllShops() {
+        logger.debug("Reactive GET request to fetch all shops");
+        return reactiveReadRepo.findActiveShops().collectList().map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get the available food items of an active shop
+     * @param shopId The ID of the shop
+     * @return The shop's available food items
+     */
+    @GetMapping("/food/shop/{shopId}")
+    public Mono<ResponseEntity<?>> getFoodItemsByShop(@PathVariable Long shopId) {
+        logger.debug("Reactive GET request to fetch food items for shop with ID: {}", shopId);
+        return reactiveReadRepo.findShopById(shopId)
+                .filter(ShopEntity::isActive)
+                .flatMap(shop -> reactiveReadRepo.findAvailableFoodItemsByShopId(shopId).collectList())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "Shop not found or inactive")));
+    }
+
+    /**
+     * Get an order by ID if the user may see it
+     * @param id The ID of the order
+     * @param userId The ID of the current user
+     * @return The order if found and the user has access to it
+     */
+    @GetMapping("/orders/{id}")
+    public Mono<ResponseEntity<?>> getOrderById(@PathVariable Long id, @RequestParam Long userId) {
+        logger.debug("Reactive GET request to fetch order with ID: {} from user with ID: {}", id, userId);
+        return reactiveReadRepo.findUserById(userId)
+                .flatMap(user -> reactiveReadRepo.findOrderById(id)
+                        .<ResponseEntity<?>>map(order -> authorize(user, order))
+                        .defaultIfEmpty(notFound("Order not found")))
+                .defaultIfEmpty(notFound("User not found"));
+    }
+
+    private ResponseEntity<?> authorize(UserEntity user, OrderEntity order) {
+        if (user.isSeller()) {
+            // Sellers can only view orders for their shops
+            UserEntity owner = order.getShop() == null ? null : order.getShop().getOwner();
+            if (owner == null || !owner.getId().equals(user.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", "You can only view orders for your own shops"));
+            }
+        } else if (order.getCustomer() == null || !order.getCustomer().getId().equals(user.getId())) {
+            // Customers can only view their own orders
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "You can only view your own orders"));
+        }
+        return ResponseEntity.ok(order);
+    }
+
+    private static ResponseEntity<?> notFound(String message) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", message));
+    }
+}
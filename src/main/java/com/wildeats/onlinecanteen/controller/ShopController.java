@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.wildeats.onlinecanteen.entity.ShopEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.service.ShopAnalyticsService;
 import com.wildeats.onlinecanteen.service.ShopService;
 import com.wildeats.onlinecanteen.service.UserService;
 import org.slf4j.Logger;
@@ -34,6 +35,9 @@ public class ShopController {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private ShopAnalyticsService shopAnalyticsService;
 
     /**
      * Get all shops
@@ -41,7 +45,7 @@ public class ShopController {
      */
     @GetMapping
     public ResponseEntity<List<ShopEntity>> getAllShops() {
-        logger.info("GET request to fetch all shops");
+        logger.debug("GET request to fetch all shops");
         return ResponseEntity.ok(shopService.getAllShops());
     }
 
@@ -52,7 +56,7 @@ public class ShopController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getShopById(@PathVariable Long id) {
-        logger.info("GET request to fetch shop with ID: {}", id);
+        logger.debug("GET request to fetch shop with ID: {}", id);
         ShopEntity shop = shopService.getShopById(id);
         if (shop != null && shop.isActive()) {
             return ResponseEntity.ok(shop);
@@ -62,6 +66,31 @@ public class ShopController {
         }
     }
     
+    /**
+     * Get the most ordered food items of a shop
+     * @param id The shop ID
+     * @param limit The maximum number of items to return
+     * @return Trending items with their estimated quantities
+     */
+    @GetMapping("/{id}/trending")
+    public ResponseEntity<?> getTrendingItems(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("GET request to fetch trending items for shop with ID: {}", id);
+        return ResponseEntity.ok(shopAnalyticsService.getTrendingItems(id, limit));
+    }
+    
+    /**
+     * Get the estimated number of distinct customers who ordered from a shop today
+     * @param id The shop ID
+     * @return The estimated unique customer count
+     */
+    @GetMapping("/{id}/unique-customers")
+    public ResponseEntity<?> getUniqueCustomersToday(@PathVariable Long id) {
+        logger.debug("GET request to fetch unique customers today for shop with ID: {}", id);
+        return ResponseEntity.ok(shopAnalyticsService.getUniqueCustomersToday(id));
+    }
+    
     /**
      * Get shops owned by the current user
      * @param userId The ID of the current user
@@ -69,7 +98,7 @@ public class ShopController {
      */
     @GetMapping("/my-shops")
     public ResponseEntity<?> getMyShops(@RequestParam Long userId) {
-        logger.info("GET request to fetch shops for user with ID: {}", userId);
+        logger.debug("GET request to fetch shops for user with ID: {}", userId);
         UserEntity user = userService.getUserById(userId);
         
         if (user == null) {
@@ -94,7 +123,7 @@ public class ShopController {
      */
     @PostMapping
     public ResponseEntity<?> createShop(@RequestBody ShopEntity shop, @RequestParam Long userId) {
-        logger.info("POST request to create a new shop from user with ID: {}", userId);
+        logger.debug("POST request to create a new shop from user with ID: {}", userId);
         UserEntity user = userService.getUserById(userId);
         
         if (user == null) {
@@ -123,7 +152,7 @@ public class ShopController {
             @PathVariable Long id, 
             @RequestBody ShopEntity shop, 
             @RequestParam Long userId) {
-        logger.info("PUT request to update shop with ID: {} from user with ID: {}", id, userId);
+        logger.debug("PUT request to update shop with ID: {} from user with ID: {}", id, userId);
         UserEntity user = userService.getUserById(userId);
         
         if (user == null) {
@@ -164,7 +193,7 @@ public class ShopController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteShop(@PathVariable Long id, @RequestParam Long userId) {
-        logger.info("DELETE request for shop with ID: {} from user with ID: {}", id, userId);
+        logger.debug("DELETE request for shop with ID: {} from user with ID: {}", id, userId);
         UserEntity user = userService.getUserById(userId);
         
         if (user == null) {
@@ -0,0 +1,41 @@
+package com.wildeats.onlinecanteen.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wildeats.onlinecanteen.dto.AutocompleteSuggestion;
+import com.wildeats.onlinecanteen.service.AutocompleteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Type-ahead endpoint hit on every keystroke; answered from memory, so it only logs at
+ * debug level
+ */
+@RestController
+@RequestMapping("/api/suggest")
+public class SuggestController {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestController.class);
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    /**
+     * Get completions for a partially typed food item or shop name
+     * @param q The typed prefix
+     * @param limit The maximum number of completions
+     * @return Completions ordered by popularity
+     */
+    @GetMapping
+    public List<AutocompleteSuggestion> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        logger.debug("GET request for suggestions with prefix: {}", q);
+        return autocompleteService.suggest(q, limit);
+    }
+}
@@ -1,6 +1,13 @@
 package com.wildeats.onlinecanteen.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,19 +15,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wildeats.onlinecanteen.entity.InboxMessageEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.dto.UserImportResult;
+import com.wildeats.onlinecanteen.service.InboxService;
+import com.wildeats.onlinecanteen.service.UserImportService;
 import com.wildeats.onlinecanteen.service.UserService;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 	private final UserService userService;
+    private final UserImportService userImportService;
+    private final InboxService inboxService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService, InboxService inboxService) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.inboxService = inboxService;
     }
 
     @GetMapping("/getAllUsers")
@@ -38,6 +54,36 @@ public class UserController {
         return userService.createUser(user);
     }
 
+    /**
+     * Bulk-create users from a CSV (text/csv, header row required) or NDJSON
+     * (application/x-ndjson) body; the body is streamed, not buffered
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<?> importUsers(@RequestHeader("Content-Type") String contentType, InputStream body) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        UserImportService.Format format = mediaType.isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        try {
+            UserImportResult result = userImportService.importUsers(body, format);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Could not read import: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The user's in-app notifications, newest first
+     */
+    @GetMapping("/{id}/inbox")
+    public List<InboxMessageEntity> getInbox(@PathVariable Long id) {
+        return inboxService.getInbox(id);
+    }
+
     @PutMapping("/{id}")
     public UserEntity updateUser(@PathVariable Long id, @RequestBody UserEntity user) {
         return userService.updateUser(id, user);
@@ -1,13 +0,0 @@
-package com.wildeats.onlinecanteen.crud;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
- 
-@SpringBootApplication
-public class CrudApplication {
- 
-	public static void main(String[] args) {
-		SpringApplication.run(CrudApplication.class, args);
-	}
- 
-}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.util.Locale;
+
+/**
+ * Independently sized primary-database pools, so one kind of work cannot starve another
+ * of connections. Work that is not annotated with {@link UseBulkhead} uses the shared
+ * {@code primary} pool.
+ */
+public enum Bulkhead {
+    /** Order placement and status changes; the revenue path */
+    CHECKOUT,
+    /** Interactive reads: shops, menus and order history */
+    BROWSE,
+    /** Scheduled jobs, startup index builds and bulk imports */
+    BACKGROUND;
+
+    /**
+     * @return The Hikari pool name, which tags the pool's metrics
+     */
+    public String poolName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
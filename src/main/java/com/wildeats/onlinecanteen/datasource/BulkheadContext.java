@@ -0,0 +1,39 @@
+package com.wildeats.onlinecanteen.datasource;
+
+/**
+ * The bulkhead bound to the current thread by {@link BulkheadInterceptor}
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<Bulkhead> current = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * @return The current thread's bulkhead, or null for the shared pool
+     */
+    public static Bulkhead current() {
+        return current.get();
+    }
+
+    /**
+     * Bind a bulkhead unless one is already bound
+     * @param bulkhead The bulkhead to bind
+     * @return true if it was bound and must be released with {@link #clear()}
+     */
+    public static boolean enter(Bulkhead bulkhead) {
+        if (current.get() != null) {
+            return false;
+        }
+        current.set(bulkhead);
+        return true;
+    }
+
+    /**
+     * Unbind the current thread's bulkhead
+     */
+    public static void clear() {
+        current.remove();
+    }
+}
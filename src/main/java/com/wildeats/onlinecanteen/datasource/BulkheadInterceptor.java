@@ -0,0 +1,40 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Binds the {@link Bulkhead} named by {@link UseBulkhead} (method first, then class) for
+ * the duration of the call
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Bulkhead bulkhead = resolve(invocation);
+        if (bulkhead == null || !BulkheadContext.enter(bulkhead)) {
+            return invocation.proceed();
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            BulkheadContext.clear();
+        }
+    }
+
+    private static Bulkhead resolve(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() == null
+                ? invocation.getMethod().getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        UseBulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(method, UseBulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, UseBulkhead.class);
+        }
+        return annotation == null ? null : annotation.value();
+    }
+}
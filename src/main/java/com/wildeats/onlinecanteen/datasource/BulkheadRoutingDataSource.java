@@ -0,0 +1,34 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the pool of the thread's {@link Bulkhead}, or from the shared
+ * pool when none is bound. Like {@link ReadWriteRoutingDataSource} it relies on a
+ * {@code LazyConnectionDataSourceProxy} in front so the bulkhead is known by the time a
+ * connection is fetched.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Create the router
+     * @param shared The pool for work outside any bulkhead
+     * @param pools One pool per bulkhead
+     */
+    public BulkheadRoutingDataSource(DataSource shared, Map<Bulkhead, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(shared);
+        setLenientFallback(true);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Bulkhead determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+}
@@ -0,0 +1,9 @@
+package com.wildeats.onlinecanteen.datasource;
+
+/**
+ * The pools behind {@link ReadWriteRoutingDataSource}
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,46 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and
+ * everything else to the primary. A read still goes to the primary when the replica is
+ * lagging or down ({@link ReplicaLagMonitor}) or when the current user wrote recently
+ * ({@link ReadYourWritesTracker}).
+ *
+ * The read-only flag is only set once the transaction has begun, so this must sit behind
+ * a {@code LazyConnectionDataSourceProxy} that defers fetching the connection to the
+ * first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor,
+            ReadYourWritesTracker readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(
+                DataSourceRole.PRIMARY, primary,
+                DataSourceRole.REPLICA, lagMonitor.getReplica()));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected DataSourceRole determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !lagMonitor.isReplicaUsable()
+                || readYourWrites.isCurrentUserPinned()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the {@code userId} request parameter, which the order and shop endpoints use to
+ * identify the caller, to the request thread for {@link ReadYourWritesTracker}
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        readYourWritesTracker.bindCurrentUser(parseUserId(request.getParameter("userId")));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        readYourWritesTracker.clearCurrentUser();
+    }
+
+    private static Long parseUserId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
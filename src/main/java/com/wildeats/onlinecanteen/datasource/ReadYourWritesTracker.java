@@ -0,0 +1,102 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pins a user's reads to the primary for a short window after they write, so a customer
+ * who just placed an order sees it even if the replica has not caught up yet.
+ *
+ * Writers call {@link #recordWrite(Long)}; the web layer binds the user of the current
+ * request with {@link #bindCurrentUser(Long)}, and {@link ReadWriteRoutingDataSource}
+ * asks {@link #isCurrentUserPinned()} before sending a read to the replica.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final int maxTrackedUsers;
+    private final LongSupplier nanoClock;
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadYourWritesTracker(
+            @Value("${canteen.datasource.read-your-writes.window-ms:10000}") long windowMillis,
+            @Value("${canteen.datasource.read-your-writes.max-tracked-users:100000}") int maxTrackedUsers) {
+        this(windowMillis, maxTrackedUsers, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowMillis, int maxTrackedUsers, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Pin a user's reads to the primary for the configured window
+     * @param userId The ID of the user that wrote
+     */
+    public void recordWrite(Long userId) {
+        if (userId == null || windowNanos <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (pinnedUntil.size() >= maxTrackedUsers) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+        pinnedUntil.put(userId, now + windowNanos);
+    }
+
+    /**
+     * @param userId The ID of a user
+     * @return true if the user wrote within the window
+     */
+    public boolean isPinned(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - nanoClock.getAsLong() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(userId, until);
+        return false;
+    }
+
+    /**
+     * @return true if the user bound to the current thread wrote within the window
+     */
+    public boolean isCurrentUserPinned() {
+        return isPinned(currentUser.get());
+    }
+
+    /**
+     * Bind the user the current thread is serving
+     * @param userId The ID of the user, or null for anonymous requests
+     */
+    public void bindCurrentUser(Long userId) {
+        if (userId == null) {
+            currentUser.remove();
+        } else {
+            currentUser.set(userId);
+        }
+    }
+
+    /**
+     * Unbind the current thread's user
+     */
+    public void clearCurrentUser() {
+        currentUser.remove();
+    }
+}
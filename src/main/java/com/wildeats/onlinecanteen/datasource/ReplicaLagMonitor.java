@@ -0,0 +1,117 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures replication lag with a heartbeat row: each check writes the current time to
+ * {@code replica_heartbeat} on the primary and reads the row back from the replica. The
+ * lag is how old the replica's copy is, so it includes up to one heartbeat interval on
+ * top of the real delay; set the tolerance above the interval.
+ *
+ * While the lag exceeds the tolerance, or the replica cannot be read, the replica is
+ * reported unusable and reads fall back to the primary.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    static final String UPDATE_SQL = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    static final String INSERT_SQL = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    static final String SELECT_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final DataSource replica;
+    private final JdbcTemplate primaryJdbc;
+    private final JdbcTemplate replicaJdbc;
+    private final long maxLagMillis;
+    private final LongSupplier clock;
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+    private boolean tableCreated;
+
+    /**
+     * Create a monitor
+     * @param primary The primary pool, which receives the heartbeats
+     * @param replica The replica pool
+     * @param maxLagMillis The largest lag at which the replica still serves reads
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this(primary, replica, maxLagMillis, System::currentTimeMillis);
+    }
+
+    ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis, LongSupplier clock) {
+        this.replica = replica;
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Read the replica's heartbeat, then write the next one to the primary
+     */
+    @Scheduled(fixedDelayString = "${canteen.datasource.replica.heartbeat-ms:1000}")
+    public void check() {
+        measureLag();
+        try {
+            beat();
+        } catch (RuntimeException e) {
+            logger.warn("Could not write replica heartbeat to the primary: {}", e.getMessage());
+        }
+    }
+
+    private void measureLag() {
+        boolean wasUsable = usable;
+        try {
+            List<Long> beats = replicaJdbc.queryForList(SELECT_SQL, Long.class);
+            lagMillis = beats.isEmpty() ? -1 : Math.max(0, clock.getAsLong() - beats.get(0));
+            usable = lagMillis >= 0 && lagMillis <= maxLagMillis;
+        } catch (RuntimeException e) {
+            // No heartbeat table yet, or the replica is down
+            lagMillis = -1;
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            logger.info("Replica {} for reads (lag {} ms, tolerance {} ms)",
+                    usable ? "enabled" : "disabled", lagMillis, maxLagMillis);
+        }
+    }
+
+    private void beat() {
+        if (!tableCreated) {
+            primaryJdbc.execute(CREATE_SQL);
+            tableCreated = true;
+        }
+        long now = clock.getAsLong();
+        if (primaryJdbc.update(UPDATE_SQL, now) == 0) {
+            primaryJdbc.update(INSERT_SQL, now);
+        }
+    }
+
+    /**
+     * @return true if the replica is reachable and within the lag tolerance
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * @return The last measured lag in milliseconds, or -1 if unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+}
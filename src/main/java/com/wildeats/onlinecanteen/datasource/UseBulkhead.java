@@ -0,0 +1,20 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run a service method (or every method of a class) on the connections of a
+ * {@link Bulkhead}. The outermost annotated call wins: an order placement that reads a
+ * shop along the way stays on {@link Bulkhead#CHECKOUT}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseBulkhead {
+
+    Bulkhead value();
+}
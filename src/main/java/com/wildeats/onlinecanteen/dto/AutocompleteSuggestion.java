@@ -0,0 +1,50 @@
+package com.wildeats.onlinecanteen.dto;
+
+public class AutocompleteSuggestion {
+    private String type;
+    private Long id;
+    private String text;
+    private Long shopId;
+
+    public AutocompleteSuggestion() {
+    }
+
+    public AutocompleteSuggestion(String type, Long id, String text, Long shopId) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+        this.shopId = shopId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Long getShopId() {
+        return shopId;
+    }
+
+    public void setShopId(Long shopId) {
+        this.shopId = shopId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.wildeats.onlinecanteen.dto;
+
+public class TrendingItem {
+    private Long itemId;
+    private String name;
+    private long estimatedQuantity;
+    private long maxError;
+
+    public TrendingItem() {
+    }
+
+    public TrendingItem(Long itemId, String name, long estimatedQuantity, long maxError) {
+        this.itemId = itemId;
+        this.name = name;
+        this.estimatedQuantity = estimatedQuantity;
+        this.maxError = maxError;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getEstimatedQuantity() {
+        return estimatedQuantity;
+    }
+
+    public void setEstimatedQuantity(long estimatedQuantity) {
+        this.estimatedQuantity = estimatedQuantity;
+    }
+
+    public long getMaxError() {
+        return maxError;
+    }
+
+    public void setMaxError(long maxError) {
+        this.maxError = maxError;
+    }
+}
@@ -0,0 +1,50 @@
+package com.wildeats.onlinecanteen.dto;
+
+public class UniqueCustomersResponse {
+    private Long shopId;
+    private String date;
+    private long uniqueCustomers;
+    private double relativeError;
+
+    public UniqueCustomersResponse() {
+    }
+
+    public UniqueCustomersResponse(Long shopId, String date, long uniqueCustomers, double relativeError) {
+        this.shopId = shopId;
+        this.date = date;
+        this.uniqueCustomers = uniqueCustomers;
+        this.relativeError = relativeError;
+    }
+
+    public Long getShopId() {
+        return shopId;
+    }
+
+    public void setShopId(Long shopId) {
+        this.shopId = shopId;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public long getUniqueCustomers() {
+        return uniqueCustomers;
+    }
+
+    public void setUniqueCustomers(long uniqueCustomers) {
+        this.uniqueCustomers = uniqueCustomers;
+    }
+
+    public double getRelativeError() {
+        return relativeError;
+    }
+
+    public void setRelativeError(double relativeError) {
+        this.relativeError = relativeError;
+    }
+}
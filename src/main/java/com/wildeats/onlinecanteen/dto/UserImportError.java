@@ -0,0 +1,40 @@
+package com.wildeats.onlinecanteen.dto;
+
+public class UserImportError {
+    private long line;
+    private String email;
+    private String message;
+
+    public UserImportError() {
+    }
+
+    public UserImportError(long line, String email, String message) {
+        this.line = line;
+        this.email = email;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,74 @@
+package com.wildeats.onlinecanteen.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserImportResult {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    private boolean errorsTruncated;
+    private List<UserImportError> errors = new ArrayList<>();
+
+    public UserImportResult() {
+    }
+
+    public UserImportResult(long rowsRead, long imported, long failed, long elapsedMs, boolean errorsTruncated,
+            List<UserImportError> errors) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMs = elapsedMs;
+        this.errorsTruncated = errorsTruncated;
+        this.errors = errors;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<UserImportError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<UserImportError> errors) {
+        this.errors = errors;
+    }
+}
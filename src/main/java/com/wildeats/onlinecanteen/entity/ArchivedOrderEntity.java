@@ -0,0 +1,137 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cold-tier copy of a terminal order. Rows are moved here from {@code orders} by the
+ * archiver and keep their original order ID, so the column layout mirrors {@link OrderEntity}.
+ * The archive has no foreign keys, so the customer, shop or food items may have been deleted
+ * since; such references load as null instead of failing the read.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_customer", columnList = "customer_id, created_at"),
+        @Index(name = "idx_orders_archive_shop", columnList = "shop_id, status, created_at")
+})
+public class ArchivedOrderEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "customer_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private UserEntity customer;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "shop_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private ShopEntity shop;
+
+    @Column(nullable = false)
+    private Double totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderEntity.Status status;
+
+    @Column(length = 500)
+    private String notes;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItemEntity> orderItems = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private java.util.Date createdAt;
+
+    @Column(name = "updated_at")
+    private java.util.Date updatedAt;
+
+    @Column(name = "archived_at")
+    private java.util.Date archivedAt;
+
+    public ArchivedOrderEntity() {
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public UserEntity getCustomer() {
+        return customer;
+    }
+
+    public ShopEntity getShop() {
+        return shop;
+    }
+
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public OrderEntity.Status getStatus() {
+        return status;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public List<ArchivedOrderItemEntity> getOrderItems() {
+        return orderItems;
+    }
+
+    public java.util.Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public java.util.Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public java.util.Date getArchivedAt() {
+        return archivedAt;
+    }
+
+    /**
+     * Rebuild a detached {@link OrderEntity} so archived orders can be returned by the
+     * same endpoints as live ones
+     * @return A transient order carrying the archived data
+     */
+    public OrderEntity toOrderEntity() {
+        OrderEntity order = new OrderEntity();
+        order.setOrderId(orderId);
+        order.setCustomer(customer);
+        order.setShop(shop);
+        order.setStatus(status);
+        order.setNotes(notes);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+
+        for (ArchivedOrderItemEntity archivedItem : orderItems) {
+            order.addOrderItem(archivedItem.toOrderItemEntity());
+        }
+
+        order.setTotalAmount(totalAmount);
+        return order;
+    }
+}
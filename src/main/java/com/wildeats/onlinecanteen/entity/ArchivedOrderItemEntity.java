@@ -0,0 +1,88 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+/**
+ * Cold-tier copy of an order line, moved together with its {@link ArchivedOrderEntity}
+ */
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+public class ArchivedOrderItemEntity {
+
+    @Id
+    @Column(name = "order_item_id")
+    private Long orderItemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private ArchivedOrderEntity order;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "food_item_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private FoodItemEntity foodItem;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(nullable = false)
+    private Double subtotal;
+
+    public ArchivedOrderItemEntity() {
+    }
+
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public ArchivedOrderEntity getOrder() {
+        return order;
+    }
+
+    public FoodItemEntity getFoodItem() {
+        return foodItem;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Double getSubtotal() {
+        return subtotal;
+    }
+
+    /**
+     * Rebuild a detached {@link OrderItemEntity} carrying the archived values
+     * @return A transient order item
+     */
+    public OrderItemEntity toOrderItemEntity() {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setOrderItemId(orderItemId);
+        item.setPrice(price);
+        item.setFoodItem(foodItem);
+        item.setQuantity(quantity);
+        item.setSubtotal(subtotal);
+        return item;
+    }
+}
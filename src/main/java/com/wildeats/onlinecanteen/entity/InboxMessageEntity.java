@@ -0,0 +1,74 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A message in a user's in-app inbox. Written in batches by the notification pipeline;
+ * the notification key is unique per user so a redelivered notification is stored once.
+ */
+@Entity
+@Table(name = "inbox_messages",
+        indexes = @Index(name = "idx_inbox_messages_user", columnList = "user_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_inbox_messages_key", columnNames = { "user_id", "notification_key" }))
+public class InboxMessageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "notification_key", nullable = false, length = 100)
+    private String notificationKey;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private java.util.Date createdAt;
+
+    public InboxMessageEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getNotificationKey() {
+        return notificationKey;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public java.util.Date getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,101 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A notification that could not be delivered on one channel after all retries. Kept with
+ * enough detail to resend it by hand.
+ */
+@Entity
+@Table(name = "notification_dead_letters", indexes = {
+        @Index(name = "idx_notification_dead_letters_created", columnList = "created_at")
+})
+public class NotificationDeadLetterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String channel;
+
+    @Column(name = "notification_key", nullable = false, length = 100)
+    private String notificationKey;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private java.util.Date createdAt;
+
+    public NotificationDeadLetterEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNotificationKey() {
+        return notificationKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public java.util.Date getCreatedAt() {
+        return createdAt;
+    }
+}
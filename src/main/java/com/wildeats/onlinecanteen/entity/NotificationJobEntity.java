@@ -0,0 +1,111 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A notification waiting to be delivered on one channel. Rows are written and consumed with
+ * plain JDBC by {@code NotificationJobStore}; the entity only declares the table. A row is
+ * deleted once the channel has accepted the notification or it has been dead-lettered.
+ */
+@Entity
+@Table(name = "notification_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_jobs_key_channel",
+                columnNames = { "notification_key", "channel" }),
+        indexes = @Index(name = "idx_notification_jobs_due", columnList = "next_attempt_at, id"))
+public class NotificationJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String channel;
+
+    @Column(name = "notification_key", nullable = false, length = 100)
+    private String notificationKey;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private java.util.Date nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private java.util.Date createdAt;
+
+    public NotificationJobEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNotificationKey() {
+        return notificationKey;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public java.util.Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public java.util.Date getCreatedAt() {
+        return createdAt;
+    }
+}
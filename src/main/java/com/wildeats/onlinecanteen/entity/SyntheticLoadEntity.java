@@ -0,0 +1,71 @@
+package com.wildeats.onlinecanteen.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a finished synthetic campus load, with the rows it wrote. Written with plain JDBC
+ * by {@code SyntheticDataGenerator} as the load's last step; the entity only declares the
+ * table. Synthetic rows without a marker are the leftovers of an interrupted load.
+ */
+@Entity
+@Table(name = "synthetic_loads")
+public class SyntheticLoadEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private long users;
+
+    @Column(nullable = false)
+    private long shops;
+
+    @Column(name = "food_items", nullable = false)
+    private long foodItems;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(name = "order_items", nullable = false)
+    private long orderItems;
+
+    @Column(name = "completed_at", nullable = false)
+    private java.util.Date completedAt;
+
+    public SyntheticLoadEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getShops() {
+        return shops;
+    }
+
+    public long getFoodItems() {
+        return foodItems;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getOrderItems() {
+        return orderItems;
+    }
+
+    public java.util.Date getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.wildeats.onlinecanteen.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An always-on flight recording: the JDK "default" profile plus {@code jfr/canteen.jfc},
+ * kept on disk as a ring buffer bounded by age and size. Dump it after a slow rush with
+ * {@code jcmd <pid> JFR.dump name=canteen filename=rush.jfr}; with
+ * {@code canteen.jfr.continuous.dump-path} set it is also written out on shutdown.
+ */
+@Component
+@ConditionalOnProperty(name = "canteen.jfr.continuous.enabled", havingValue = "true")
+public class ContinuousRecording {
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    public static final String NAME = "canteen";
+    static final String SETTINGS = "/jfr/canteen.jfc";
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final String dumpPath;
+    private Recording recording;
+
+    public ContinuousRecording(
+            @Value("${canteen.jfr.continuous.max-age:6h}") Duration maxAge,
+            @Value("${canteen.jfr.continuous.max-size:250MB}") DataSize maxSize,
+            @Value("${canteen.jfr.continuous.dump-path:}") String dumpPath) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpPath = dumpPath;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(settings());
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        if (!dumpPath.isBlank()) {
+            recording.setDestination(Path.of(dumpPath));
+        }
+        recording.start();
+        logger.info("Started continuous flight recording (max age {}, max size {})", maxAge, maxSize);
+    }
+
+    /**
+     * Write what the recording currently holds
+     * @param path The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void dump(Path path) throws IOException {
+        recording.dump(path);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording == null) {
+            return;
+        }
+        // stop() writes to the destination, if one is set
+        recording.stop();
+        recording.close();
+    }
+
+    static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = ContinuousRecording.class.getResourceAsStream(SETTINGS);
+                Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        return settings;
+    }
+}
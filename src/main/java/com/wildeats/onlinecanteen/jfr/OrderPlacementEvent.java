@@ -0,0 +1,45 @@
+package com.wildeats.onlinecanteen.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One {@code OrderService.createOrder} call, from validation to the saved order
+ */
+@Name("com.wildeats.canteen.OrderPlacement")
+@Label("Order Placement")
+@Category({ "Canteen", "Orders" })
+@Description("Placing an order: validation, stock decrease and persist")
+public class OrderPlacementEvent extends Event {
+
+    public static final String STOCK_NOT_CHECKED = "not-checked";
+    public static final String STOCK_OK = "ok";
+    public static final String STOCK_INSUFFICIENT = "insufficient";
+    public static final String STOCK_RAN_OUT = "ran-out";
+
+    @Label("Customer ID")
+    public long customerId;
+
+    @Label("Shop ID")
+    public long shopId;
+
+    @Label("Line Count")
+    public int lineCount;
+
+    @Label("Stock Check")
+    @Description("not-checked, ok, insufficient (at validation) or ran-out (while decreasing)")
+    public String stockCheck = STOCK_NOT_CHECKED;
+
+    @Label("Short Item ID")
+    @Description("The item that failed the stock check, or 0")
+    public long shortItemId;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Order ID")
+    public long orderId;
+}
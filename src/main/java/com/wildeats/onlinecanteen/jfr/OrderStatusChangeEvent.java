@@ -0,0 +1,36 @@
+package com.wildeats.onlinecanteen.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One {@code OrderService.updateOrderStatus} call, including any cancellation restock
+ */
+@Name("com.wildeats.canteen.OrderStatusChange")
+@Label("Order Status Change")
+@Category({ "Canteen", "Orders" })
+public class OrderStatusChangeEvent extends Event {
+
+    @Label("Order ID")
+    public long orderId;
+
+    @Label("Shop ID")
+    public long shopId;
+
+    @Label("From Status")
+    public String fromStatus;
+
+    @Label("To Status")
+    public String toStatus;
+
+    @Label("Line Count")
+    public int lineCount;
+
+    @Label("Restocked Lines")
+    public int restockedLines;
+
+    @Label("Outcome")
+    public String outcome;
+}
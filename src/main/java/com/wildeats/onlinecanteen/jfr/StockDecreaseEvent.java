@@ -0,0 +1,38 @@
+package com.wildeats.onlinecanteen.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One {@code FoodItemService.decreaseFoodItemQuantity} call; slow or failed ones during a
+ * rush point at the items everyone is ordering
+ */
+@Name("com.wildeats.canteen.StockDecrease")
+@Label("Stock Decrease")
+@Category({ "Canteen", "Inventory" })
+@Description("Decreasing the stock of a food item")
+public class StockDecreaseEvent extends Event {
+
+    public static final String OUTCOME_DECREASED = "decreased";
+    public static final String OUTCOME_INSUFFICIENT = "insufficient";
+    public static final String OUTCOME_NOT_FOUND = "not-found";
+
+    @Label("Item ID")
+    public long itemId;
+
+    @Label("Shop ID")
+    public long shopId;
+
+    @Label("Requested")
+    public int requested;
+
+    @Label("Remaining")
+    @Description("Stock left after the call")
+    public int remaining;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,146 @@
+package com.wildeats.onlinecanteen.metrics;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers and counters for the hot paths, exported on {@code /actuator/prometheus}.
+ *
+ * Timers publish percentile histograms (bounded to 1 ms - 10 s) so p95/p99 can be
+ * aggregated across instances. Tags are kept low-cardinality: phases, outcomes and order
+ * statuses are fixed sets, and the optional {@code shop} tag is capped at
+ * {@code canteen.metrics.shop-tag.max-shops} distinct values, after which shops report
+ * as {@code other}. With the shop tag disabled every shop reports as {@code all}.
+ */
+@Component
+public class CanteenMetrics {
+
+    public static final String PHASE_VALIDATION = "validation";
+    public static final String PHASE_STOCK = "stock";
+    public static final String PHASE_PERSIST = "persist";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_ERROR = "error";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final boolean shopTagEnabled;
+    private final int maxTaggedShops;
+    private final Set<Long> taggedShops = ConcurrentHashMap.newKeySet();
+    private final Counter insufficientStock;
+    private final Counter cancellationRestocks;
+
+    public CanteenMetrics(
+            MeterRegistry registry,
+            @Value("${canteen.metrics.shop-tag.enabled:false}") boolean shopTagEnabled,
+            @Value("${canteen.metrics.shop-tag.max-shops:50}") int maxTaggedShops) {
+        this.registry = registry;
+        this.shopTagEnabled = shopTagEnabled;
+        this.maxTaggedShops = maxTaggedShops;
+        this.insufficientStock = Counter.builder("canteen.orders.insufficient_stock")
+                .description("Orders rejected because an item did not have enough stock")
+                .register(registry);
+        this.cancellationRestocks = Counter.builder("canteen.orders.cancellation.restocks")
+                .description("Order lines whose quantity was returned to stock by a cancellation")
+                .register(registry);
+    }
+
+    /**
+     * @return A running sample to stop against one of the timers below
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * @param outcome success, rejected (validation or stock) or error
+     * @return The end-to-end order placement timer
+     */
+    public Timer orderCreate(String outcome) {
+        return timer("canteen.orders.create", "Order placement", "outcome", outcome);
+    }
+
+    /**
+     * @param phase validation, stock or persist
+     * @return The timer of one phase of order placement
+     */
+    public Timer orderCreatePhase(String phase) {
+        return timer("canteen.orders.create.phase", "Order placement by phase", "phase", phase);
+    }
+
+    /**
+     * @param status The status the order moved to
+     * @return The order status update timer
+     */
+    public Timer orderStatusUpdate(String status) {
+        return timer("canteen.orders.status.update", "Order status updates", "status", status);
+    }
+
+    /**
+     * @param shopId The shop whose menu was read
+     * @return The menu read timer
+     */
+    public Timer menuRead(Long shopId) {
+        return timer("canteen.menu.read", "Menu reads for a shop", "shop", shopTag(shopId));
+    }
+
+    /**
+     * @param outcome success, failure (bad credentials), rejected (hashing pool full) or error
+     * @return The login timer
+     */
+    public Timer login(String outcome) {
+        return timer("canteen.auth.login", "Login including password verification", "outcome", outcome);
+    }
+
+    public void recordInsufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void recordCancellationRestock() {
+        cancellationRestocks.increment();
+    }
+
+    /**
+     * @param shopId A shop ID
+     * @return The value of the shop tag for the shop
+     */
+    String shopTag(Long shopId) {
+        if (!shopTagEnabled) {
+            return "all";
+        }
+        if (shopId == null) {
+            return "none";
+        }
+        if (taggedShops.contains(shopId)) {
+            return shopId.toString();
+        }
+        // Racing threads may overshoot the cap by a few; it only bounds cardinality
+        if (taggedShops.size() < maxTaggedShops) {
+            taggedShops.add(shopId);
+            return shopId.toString();
+        }
+        return "other";
+    }
+
+    private Timer timer(String name, String description, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+}
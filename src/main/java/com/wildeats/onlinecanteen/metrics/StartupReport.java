@@ -0,0 +1,111 @@
+package com.wildeats.onlinecanteen.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs where startup time went once the application is ready: each top-level phase, the
+ * steps inside context refresh, and the slowest bean instantiations.
+ *
+ * Only works when the application is started with a {@link BufferingApplicationStartup}
+ * (see {@code OnlinecanteenApplication}); otherwise nothing is recorded and nothing is
+ * logged. The same steps are available as JSON on {@code /actuator/startup}.
+ */
+@Component
+public class StartupReport {
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+
+    static final String REFRESH_STEP = "spring.context.refresh";
+    static final String BEAN_STEP = "spring.beans.instantiate";
+
+    @Value("${canteen.startup.report.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${canteen.startup.report.slowest-beans:10}")
+    private int slowestBeans = 10;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!enabled || !(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        logger.info("Startup report (ready in {} ms):\n{}", event.getTimeTaken().toMillis(),
+                format(buffering.getBufferedTimeline()));
+    }
+
+    /**
+     * Summarize a startup timeline
+     * @param timeline The recorded steps
+     * @return One line per phase, refresh step and slow bean
+     */
+    String format(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        StringBuilder report = new StringBuilder("  phases:\n");
+
+        Long refreshId = null;
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (step.getParentId() == null) {
+                line(report, step.getName(), event.getDuration());
+                if (REFRESH_STEP.equals(step.getName())) {
+                    refreshId = step.getId();
+                }
+            }
+        }
+
+        // Refresh children repeat (one per post-processor), so add them up by name
+        Map<String, Duration> refreshSteps = new LinkedHashMap<>();
+        List<StartupTimeline.TimelineEvent> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (refreshId != null && refreshId.equals(step.getParentId())) {
+                refreshSteps.merge(step.getName(), event.getDuration(), Duration::plus);
+            }
+            if (BEAN_STEP.equals(step.getName())) {
+                beans.add(event);
+            }
+        }
+        if (!refreshSteps.isEmpty()) {
+            report.append("  context refresh:\n");
+            refreshSteps.forEach((name, duration) -> line(report, name, duration));
+        }
+
+        // Bean steps include the time spent creating their dependencies
+        report.append("  slowest beans (").append(beans.size()).append(" instantiated):\n");
+        beans.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(slowestBeans)
+                .forEach(event -> line(report, beanName(event.getStartupStep()), event.getDuration()));
+        return report.toString().stripTrailing();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static void line(StringBuilder report, String name, Duration duration) {
+        report.append(String.format("    %-60s %6d ms%n", name, duration.toMillis()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import jakarta.mail.util.StreamProvider;
+
+/**
+ * Sends notifications as plain-text email. A batch goes out over one SMTP connection;
+ * users without an email address are skipped.
+ */
+public class EmailChannel implements NotificationChannel {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public EmailChannel(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+        pinStreamProvider();
+    }
+
+    /**
+     * Jakarta Mail looks up its {@link StreamProvider} through a ServiceLoader scan of the
+     * classpath for every message it encodes, which was most of the cost of sending one.
+     * Naming the implementation in its system property turns the lookup into a class load.
+     */
+    static void pinStreamProvider() {
+        String property = StreamProvider.class.getName();
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, StreamProvider.provider().getClass().getName());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public void deliver(List<Notification> batch) {
+        List<Notification> addressed = new ArrayList<>(batch.size());
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (Notification notification : batch) {
+            if (notification.recipient() == null || notification.recipient().isBlank()) {
+                continue;
+            }
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(notification.recipient());
+            message.setSubject(notification.subject());
+            message.setText(notification.body());
+            addressed.add(notification);
+            messages.add(message);
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                throw e;
+            }
+            List<Notification> failed = new ArrayList<>(failures.size());
+            for (int i = 0; i < messages.size(); i++) {
+                if (failures.containsKey(messages.get(i))) {
+                    failed.add(addressed.get(i));
+                }
+            }
+            throw new NotificationDeliveryException(
+                    failed.size() + " of " + messages.size() + " emails failed", failed, e);
+        }
+    }
+}
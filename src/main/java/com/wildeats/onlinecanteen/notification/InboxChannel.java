@@ -0,0 +1,46 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+
+/**
+ * Stores notifications in the in-app inbox ({@code inbox_messages}) with one batched
+ * insert. A notification already stored for the user is skipped, so retries are safe.
+ */
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class InboxChannel implements NotificationChannel {
+
+    static final String INSERT_SQL = "INSERT IGNORE INTO inbox_messages"
+            + " (user_id, order_id, notification_key, title, body, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InboxChannel(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "inbox";
+    }
+
+    @Override
+    public void deliver(List<Notification> batch) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch.stream()
+                .map(notification -> new Object[] {
+                        notification.userId(),
+                        notification.orderId(),
+                        notification.key(),
+                        notification.subject(),
+                        notification.body(),
+                        now
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,13 @@
+package com.wildeats.onlinecanteen.notification;
+
+/**
+ * A message for one user, delivered on every {@link NotificationChannel}
+ * @param key Identifies the notification across redeliveries, e.g. {@code order-ready:42}
+ * @param userId The user to notify
+ * @param orderId The order it is about, if any
+ * @param recipient The user's email address, or null if they have none
+ * @param subject Email subject and inbox title
+ * @param body Plain-text body
+ */
+public record Notification(String key, Long userId, Long orderId, String recipient, String subject, String body) {
+}
@@ -0,0 +1,23 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.util.List;
+
+/**
+ * One way of reaching a user (email, in-app inbox). Called from the
+ * {@link NotificationPipeline}'s workers, never on a request thread.
+ */
+public interface NotificationChannel {
+
+    /**
+     * @return A short name for metrics, logs and dead letters
+     */
+    String name();
+
+    /**
+     * Deliver a batch. Throw {@link NotificationDeliveryException} when only some of the
+     * batch failed; any other exception fails the whole batch. Either way the failed
+     * notifications are retried with backoff.
+     * @param batch The notifications to deliver; never empty
+     */
+    void deliver(List<Notification> batch);
+}
@@ -0,0 +1,72 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+
+/**
+ * Keeps notifications the pipeline gave up on in {@code notification_dead_letters}
+ */
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class NotificationDeadLetterStore {
+
+    static final String INSERT_SQL = "INSERT INTO notification_dead_letters (channel, notification_key, user_id, order_id,"
+            + " recipient, subject, body, attempts, last_error, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationDeadLetterStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A notification that will not be retried
+     * @param channel The channel it failed on
+     * @param notification The notification
+     * @param attempts How often delivery was tried
+     * @param lastError The last failure, trimmed to fit
+     */
+    public record DeadLetter(String channel, Notification notification, int attempts, String lastError) {
+    }
+
+    /**
+     * Store dead letters in one batch
+     * @param deadLetters The dead letters
+     */
+    public void store(List<DeadLetter> deadLetters) {
+        if (deadLetters.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, deadLetters.stream()
+                .map(deadLetter -> {
+                    Notification notification = deadLetter.notification();
+                    String error = deadLetter.lastError();
+                    return new Object[] {
+                            deadLetter.channel(),
+                            notification.key(),
+                            notification.userId(),
+                            notification.orderId(),
+                            notification.recipient(),
+                            notification.subject(),
+                            notification.body(),
+                            deadLetter.attempts(),
+                            error != null && error.length() > 500 ? error.substring(0, 500) : error,
+                            now
+                    };
+                })
+                .toList());
+    }
+
+    /**
+     * @return The number of stored dead letters
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_dead_letters", Long.class);
+        return count == null ? 0 : count;
+    }
+}
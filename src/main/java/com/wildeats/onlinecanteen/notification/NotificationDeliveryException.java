@@ -0,0 +1,23 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.util.List;
+
+/**
+ * Part of a batch could not be delivered; the rest was
+ */
+public class NotificationDeliveryException extends RuntimeException {
+
+    private final List<Notification> failed;
+
+    public NotificationDeliveryException(String message, List<Notification> failed, Throwable cause) {
+        super(message, cause);
+        this.failed = List.copyOf(failed);
+    }
+
+    /**
+     * @return The notifications that were not delivered
+     */
+    public List<Notification> getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,176 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+
+/**
+ * The {@link NotificationPipeline}'s queue, kept in {@code notification_jobs} so accepted
+ * notifications survive a restart. One row per notification and channel; a row is unique
+ * per notification key and channel, so a redelivered outbox event adds nothing.
+ *
+ * Claiming a row pushes its {@code next_attempt_at} out by a lease instead of removing it;
+ * if the process dies mid-delivery the row becomes due again once the lease runs out.
+ */
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class NotificationJobStore {
+
+    static final String INSERT_SQL = "INSERT IGNORE INTO notification_jobs (channel, notification_key, user_id, order_id,"
+            + " recipient, subject, body, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    static final String SELECT_DUE_SQL = "SELECT id, channel, notification_key, user_id, order_id, recipient, subject,"
+            + " body, attempts, last_error FROM notification_jobs WHERE next_attempt_at <= ? AND channel IN (%s)"
+            + " ORDER BY next_attempt_at, id LIMIT ?";
+    static final String LEASE_SQL = "UPDATE notification_jobs SET next_attempt_at = ? WHERE id IN (%s)";
+    static final String RETRY_SQL = "UPDATE notification_jobs SET attempts = ?, next_attempt_at = ?, last_error = ?"
+            + " WHERE id = ?";
+    static final String DELETE_SQL = "DELETE FROM notification_jobs WHERE id IN (%s)";
+    static final String COUNT_SQL = "SELECT COUNT(*) FROM notification_jobs WHERE channel IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationJobStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A stored delivery of one notification on one channel
+     * @param id The row ID
+     * @param channel The channel name
+     * @param notification The notification
+     * @param attempts Failed attempts so far
+     * @param lastError The last failure, if any
+     */
+    public record Job(long id, String channel, Notification notification, int attempts, String lastError) {
+    }
+
+    /**
+     * Add one job per notification and channel, due at once
+     * @param channels The channel names
+     * @param notifications The notifications
+     * @return The number of jobs added; jobs already stored are skipped
+     */
+    public int add(Collection<String> channels, List<Notification> notifications) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(channels.size() * notifications.size());
+        for (Notification notification : notifications) {
+            for (String channel : channels) {
+                rows.add(new Object[] {
+                        channel,
+                        notification.key(),
+                        notification.userId(),
+                        notification.orderId(),
+                        notification.recipient(),
+                        notification.subject(),
+                        notification.body(),
+                        now,
+                        now
+                });
+            }
+        }
+        int added = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_SQL, rows)) {
+            // Multi-row batches report no per-row counts
+            added += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return added;
+    }
+
+    /**
+     * Take due jobs, oldest first, and lease them
+     * @param channels The channel names to take jobs for
+     * @param limit The most jobs to take
+     * @param dueByMillis Only jobs due at or before this time are taken
+     * @param leaseMillis How long the jobs stay hidden from later claims
+     * @return The claimed jobs
+     */
+    public List<Job> claim(Collection<String> channels, int limit, long dueByMillis, long leaseMillis) {
+        if (channels.isEmpty()) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        List<Object> args = new ArrayList<>(channels.size() + 2);
+        args.add(new Timestamp(dueByMillis));
+        args.addAll(channels);
+        args.add(limit);
+        List<Job> jobs = jdbcTemplate.query(String.format(SELECT_DUE_SQL, placeholders(channels.size())),
+                (rs, rowNum) -> new Job(
+                        rs.getLong("id"),
+                        rs.getString("channel"),
+                        new Notification(
+                                rs.getString("notification_key"),
+                                rs.getObject("user_id", Long.class),
+                                rs.getObject("order_id", Long.class),
+                                rs.getString("recipient"),
+                                rs.getString("subject"),
+                                rs.getString("body")),
+                        rs.getInt("attempts"),
+                        rs.getString("last_error")),
+                args.toArray());
+        if (!jobs.isEmpty()) {
+            List<Object> leaseArgs = new ArrayList<>(jobs.size() + 1);
+            leaseArgs.add(new Timestamp(now + leaseMillis));
+            jobs.forEach(job -> leaseArgs.add(job.id()));
+            jdbcTemplate.update(String.format(LEASE_SQL, placeholders(jobs.size())), leaseArgs.toArray());
+        }
+        return jobs;
+    }
+
+    /**
+     * Put failed jobs back to be retried
+     * @param jobs The jobs, with the attempt count and error to store
+     * @param dueAtMillis When each job becomes due again
+     */
+    public void reschedule(List<Job> jobs, ToLongFunction<Job> dueAtMillis) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RETRY_SQL, jobs.stream()
+                .map(job -> {
+                    String error = job.lastError();
+                    return new Object[] {
+                            job.attempts(),
+                            new Timestamp(dueAtMillis.applyAsLong(job)),
+                            error != null && error.length() > 500 ? error.substring(0, 500) : error,
+                            job.id()
+                    };
+                })
+                .toList());
+    }
+
+    /**
+     * Remove delivered or dead-lettered jobs
+     * @param jobs The jobs
+     */
+    public void remove(List<Job> jobs) {
+        if (!jobs.isEmpty()) {
+            jdbcTemplate.update(String.format(DELETE_SQL, placeholders(jobs.size())),
+                    jobs.stream().map(Job::id).toArray());
+        }
+    }
+
+    /**
+     * @param channels The channel names to count jobs for
+     * @return Jobs stored for those channels, whether due, leased or waiting to be retried
+     */
+    public int count(Collection<String> channels) {
+        if (channels.isEmpty()) {
+            return 0;
+        }
+        Integer count = jdbcTemplate.queryForObject(String.format(COUNT_SQL, placeholders(channels.size())),
+                Integer.class, channels.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,288 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import com.wildeats.onlinecanteen.notification.NotificationDeadLetterStore.DeadLetter;
+import com.wildeats.onlinecanteen.notification.NotificationJobStore.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, asynchronous delivery of notifications to every {@link NotificationChannel}.
+ *
+ * {@link #submitAll} stores one job per notification and channel in the
+ * {@link NotificationJobStore}; worker threads claim up to {@code batch-size} due jobs at
+ * a time and hand them to each channel as one batch. A job is removed only once its channel
+ * has accepted it or it has been dead-lettered, so a restart or crash leaves it to be
+ * delivered later rather than lost. A failed delivery is retried on its own after an
+ * exponential backoff; after {@code max-attempts} it goes to the
+ * {@link NotificationDeadLetterStore}.
+ *
+ * The store is bounded by {@code capacity} jobs, retries included. A submission that does
+ * not fit is refused as a whole, so the caller can retry it later instead of losing part
+ * of it. Run the pipeline on one instance per database, like the outbox dispatcher.
+ *
+ * Delivery yields to request traffic: while {@code foregroundBusy} reports load, workers
+ * only take jobs that have been due for {@code busy-defer-ms}, so a burst of status
+ * updates is not slowed by the notifications it produces. Under load lasting longer than
+ * that, jobs still go out, each at most {@code busy-defer-ms} late.
+ */
+public class NotificationPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPipeline.class);
+
+    private final Map<String, NotificationChannel> channels = new LinkedHashMap<>();
+    private final NotificationJobStore jobStore;
+    private final NotificationDeadLetterStore deadLetterStore;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final int batchSize;
+    private final int workers;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long pollMs;
+    private final long leaseMs;
+    private final BooleanSupplier foregroundBusy;
+    private final long busyDeferMs;
+
+    // Claims go one at a time; submissions wake workers waiting for due jobs
+    private final ReentrantLock claimLock = new ReentrantLock();
+    private final Condition submitted = claimLock.newCondition();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public NotificationPipeline(List<NotificationChannel> channels, NotificationJobStore jobStore,
+            NotificationDeadLetterStore deadLetterStore, MeterRegistry meterRegistry, int capacity, int batchSize,
+            int workers, int maxAttempts, long initialBackoffMs, long maxBackoffMs, long pollMs, long leaseMs,
+            BooleanSupplier foregroundBusy, long busyDeferMs) {
+        if (capacity < 1 || batchSize < 1 || workers < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Notification capacity, batch size, workers and attempts must be positive");
+        }
+        for (NotificationChannel channel : channels) {
+            this.channels.put(channel.name(), channel);
+        }
+        this.jobStore = jobStore;
+        this.deadLetterStore = deadLetterStore;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.pollMs = pollMs;
+        this.leaseMs = leaseMs;
+        this.foregroundBusy = foregroundBusy;
+        this.busyDeferMs = busyDeferMs;
+        Gauge.builder("canteen.notifications.pending", this, NotificationPipeline::pendingCount)
+                .description("Notification deliveries queued, in flight or waiting to be retried")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofPlatform().name("notifications-" + i).daemon().start(this::work));
+        }
+        logger.info("Notification pipeline started with channels {}", channels.keySet());
+    }
+
+    /**
+     * Queue notifications for delivery on every channel
+     * @param notifications The notifications
+     * @return false if the queue had no room for all of them; nothing was queued then
+     */
+    public boolean submitAll(List<Notification> notifications) {
+        int jobs = notifications.size() * channels.size();
+        if (jobs == 0) {
+            return true;
+        }
+        // Only the outbox dispatcher submits, so the count cannot change between check and insert
+        if (jobStore.count(channels.keySet()) + jobs > capacity) {
+            count("all", "rejected", jobs);
+            return false;
+        }
+        jobStore.add(channels.keySet(), notifications);
+
+        claimLock.lock();
+        try {
+            submitted.signalAll();
+        } finally {
+            claimLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * @return Deliveries queued, in flight or waiting to be retried
+     */
+    public int pendingCount() {
+        return jobStore.count(channels.keySet());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        claimLock.lock();
+        try {
+            submitted.signalAll();
+        } finally {
+            claimLock.unlock();
+        }
+        // Let batches in flight finish; whatever is left stays stored for the next start
+        for (Thread worker : workerThreads) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void work() {
+        while (running) {
+            List<Job> batch;
+            try {
+                batch = claim();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Could not claim notification jobs: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+
+            Map<NotificationChannel, List<Job>> byChannel = new LinkedHashMap<>();
+            for (Job job : batch) {
+                byChannel.computeIfAbsent(channels.get(job.channel()), channel -> new ArrayList<>()).add(job);
+            }
+            byChannel.forEach(this::deliver);
+        }
+    }
+
+    private List<Job> claim() throws InterruptedException {
+        claimLock.lock();
+        try {
+            while (running) {
+                long now = System.currentTimeMillis();
+                long dueBy = foregroundBusy.getAsBoolean() ? now - busyDeferMs : now;
+                List<Job> batch = jobStore.claim(channels.keySet(), batchSize, dueBy, leaseMs);
+                if (!batch.isEmpty()) {
+                    return batch;
+                }
+                // Woken early by a submission; the timeout picks up retries as they fall due
+                // and deferred jobs as they age or the load passes
+                submitted.await(pollMs, TimeUnit.MILLISECONDS);
+            }
+            return List.of();
+        } finally {
+            claimLock.unlock();
+        }
+    }
+
+    private void deliver(NotificationChannel channel, List<Job> jobs) {
+        List<Notification> notifications = jobs.stream().map(Job::notification).toList();
+        Set<Notification> failed;
+        String error;
+        try {
+            channel.deliver(notifications);
+            failed = Set.of();
+            error = null;
+        } catch (NotificationDeliveryException e) {
+            failed = new HashSet<>(e.getFailed());
+            error = describe(e.getCause() == null ? e : e.getCause());
+        } catch (RuntimeException e) {
+            failed = new HashSet<>(notifications);
+            error = describe(e);
+        }
+
+        List<Job> delivered = new ArrayList<>();
+        List<Job> retries = new ArrayList<>();
+        List<Job> exhausted = new ArrayList<>();
+        for (Job job : jobs) {
+            if (!failed.contains(job.notification())) {
+                delivered.add(job);
+                continue;
+            }
+            Job retry = new Job(job.id(), job.channel(), job.notification(), job.attempts() + 1, error);
+            if (retry.attempts() >= maxAttempts) {
+                exhausted.add(retry);
+            } else {
+                retries.add(retry);
+            }
+        }
+
+        try {
+            jobStore.remove(delivered);
+            long now = System.currentTimeMillis();
+            jobStore.reschedule(retries, retry -> now + backoffMillis(retry.attempts()));
+        } catch (RuntimeException e) {
+            // The leases run out and the jobs are delivered again
+            logger.error("Could not record the outcome of {} {} notifications", jobs.size(), channel.name(), e);
+        }
+        count(channel.name(), "delivered", delivered.size());
+        count(channel.name(), "retried", retries.size());
+        if (!failed.isEmpty()) {
+            logger.warn("{} of {} {} notifications failed: {}", failed.size(), jobs.size(), channel.name(), error);
+        }
+        if (!exhausted.isEmpty()) {
+            deadLetter(exhausted);
+        }
+    }
+
+    private void deadLetter(List<Job> jobs) {
+        List<DeadLetter> deadLetters = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            deadLetters.add(new DeadLetter(job.channel(), job.notification(), job.attempts(), job.lastError()));
+        }
+        try {
+            deadLetterStore.store(deadLetters);
+            jobStore.remove(jobs);
+        } catch (RuntimeException e) {
+            // Keep the jobs; the next attempt dead-letters them again
+            logger.error("Could not dead-letter {} notifications", deadLetters.size(), e);
+            return;
+        }
+        count(jobs.get(0).channel(), "dead_lettered", jobs.size());
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff, doubled per failed attempt, capped
+     * @param attempts The number of failed attempts so far
+     * @return The delay in milliseconds
+     */
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoffMs << doublings, maxBackoffMs);
+    }
+
+    private void count(String channel, String outcome, int amount) {
+        if (amount > 0) {
+            Counter.builder("canteen.notifications")
+                    .description("Notification deliveries by channel and outcome")
+                    .tag("channel", channel)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
+    }
+
+    private static String describe(Throwable e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+}
@@ -0,0 +1,90 @@
+package com.wildeats.onlinecanteen.notification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.outbox.OrderEventListener;
+import com.wildeats.onlinecanteen.outbox.OrderStatusChanged;
+import com.wildeats.onlinecanteen.outbox.OutboxEvent;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+
+/**
+ * Tells customers their order is ready for pickup. Reads status changes from the order
+ * outbox, so nothing here runs while the seller's status update is in flight, and hands
+ * the messages to the {@link NotificationPipeline}. When the pipeline is full the batch is
+ * refused and the outbox retries it later.
+ */
+public class ReadyNotificationListener implements OrderEventListener {
+
+    private final NotificationPipeline pipeline;
+    private final UserRepository userRepo;
+    private final ShopRepository shopRepo;
+
+    public ReadyNotificationListener(NotificationPipeline pipeline, UserRepository userRepo, ShopRepository shopRepo) {
+        this.pipeline = pipeline;
+        this.userRepo = userRepo;
+        this.shopRepo = shopRepo;
+    }
+
+    @Override
+    public void onOrderEvents(List<OutboxEvent> events) {
+        List<OutboxEvent> ready = new ArrayList<>();
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> shopIds = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (event.event() instanceof OrderStatusChanged changed
+                    && changed.toStatus() == OrderEntity.Status.READY
+                    && changed.customerId() != null) {
+                ready.add(event);
+                customerIds.add(changed.customerId());
+                if (changed.shopId() != null) {
+                    shopIds.add(changed.shopId());
+                }
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        Map<Long, UserEntity> customers = new HashMap<>();
+        userRepo.findAllById(customerIds).forEach(user -> customers.put(user.getId(), user));
+        Map<Long, String> shopNames = new HashMap<>();
+        shopRepo.findAllById(shopIds).forEach(shop -> shopNames.put(shop.getShopId(), shopName(shop)));
+
+        List<Notification> notifications = new ArrayList<>(ready.size());
+        for (OutboxEvent event : ready) {
+            OrderStatusChanged changed = (OrderStatusChanged) event.event();
+            UserEntity customer = customers.get(changed.customerId());
+            if (customer == null) {
+                continue;
+            }
+            notifications.add(notification(event.id(), changed, customer,
+                    shopNames.getOrDefault(changed.shopId(), "the canteen")));
+        }
+        if (!pipeline.submitAll(notifications)) {
+            throw new IllegalStateException("Notification queue is full");
+        }
+    }
+
+    static Notification notification(long eventId, OrderStatusChanged changed, UserEntity customer, String shopName) {
+        String subject = "Your order #" + changed.orderId() + " is ready";
+        String body = "Hi " + customer.getName() + ",\n\n"
+                + "Your order #" + changed.orderId() + " from " + shopName + " is ready for pickup.\n\n"
+                + "CIT-U Online Canteen";
+        // Keyed by the outbox event, so a redelivered event maps to the same notification
+        return new Notification("order-ready:" + eventId, customer.getId(), changed.orderId(), customer.getEmail(),
+                subject, body);
+    }
+
+    private static String shopName(ShopEntity shop) {
+        return shop.getName() == null ? "the canteen" : shop.getName();
+    }
+}
@@ -0,0 +1,31 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import java.time.Instant;
+
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+
+/**
+ * A customer placed an order
+ */
+public record OrderCreated(
+        Long orderId,
+        Long customerId,
+        Long shopId,
+        Double totalAmount,
+        int lineCount,
+        Instant createdAt) implements OrderEvent {
+
+    /**
+     * @param order The saved order
+     * @return The event describing it
+     */
+    public static OrderCreated of(OrderEntity order) {
+        return new OrderCreated(
+                order.getOrderId(),
+                order.getCustomer() == null ? null : order.getCustomer().getId(),
+                order.getShop() == null ? null : order.getShop().getShopId(),
+                order.getTotalAmount(),
+                order.getOrderItems().size(),
+                order.getCreatedAt() == null ? Instant.now() : order.getCreatedAt().toInstant());
+    }
+}
@@ -0,0 +1,13 @@
+package com.wildeats.onlinecanteen.outbox;
+
+/**
+ * A change to an order, recorded in the outbox in the same transaction as the change and
+ * delivered to {@link OrderEventListener}s afterwards
+ */
+public sealed interface OrderEvent permits OrderCreated, OrderStatusChanged {
+
+    /**
+     * @return The ID of the order; events of one order are delivered in the order written
+     */
+    Long orderId();
+}
@@ -0,0 +1,20 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import java.util.List;
+
+/**
+ * Receives order events from the {@link OrderOutboxDispatcher}, off the request path.
+ *
+ * Delivery is at-least-once: a batch that throws is retried event by event, and an event
+ * that still fails is retried later together with the events of its order that follow it.
+ * Implementations must therefore tolerate seeing an event again. Events of one order always
+ * arrive in the order they were written.
+ */
+public interface OrderEventListener {
+
+    /**
+     * Handle a batch of events, in outbox order
+     * @param events The events; never empty
+     */
+    void onOrderEvents(List<OutboxEvent> events);
+}
@@ -0,0 +1,90 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes order events to the {@code order_outbox} table as part of the caller's transaction.
+ *
+ * Events appended during a transaction are buffered and written as one JDBC batch just
+ * before it commits, so a checkout adds a single round trip however many events it raises,
+ * and a rollback leaves nothing behind. Outside a transaction each event is written at once.
+ */
+@Component
+public class OrderOutbox {
+
+    static final String INSERT_SQL = "INSERT INTO order_outbox (order_id, event_type, payload, created_at, attempts, parked)"
+            + " VALUES (?, ?, ?, ?, 0, FALSE)";
+
+    /**
+     * Event types by the name stored in {@code event_type}
+     */
+    static final Map<String, Class<? extends OrderEvent>> TYPES = Map.of(
+            OrderCreated.class.getSimpleName(), OrderCreated.class,
+            OrderStatusChanged.class.getSimpleName(), OrderStatusChanged.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Record an event; it becomes visible to the dispatcher when the transaction commits
+     * @param event The event to record
+     */
+    public void append(OrderEvent event) {
+        Object[] row = insertArgs(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_SQL, row);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Object[]> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderOutbox.this);
+                }
+            });
+            pending = rows;
+        }
+        pending.add(row);
+    }
+
+    private Object[] insertArgs(OrderEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event, e);
+        }
+        return new Object[] {
+                event.orderId(),
+                event.getClass().getSimpleName(),
+                payload,
+                new Timestamp(System.currentTimeMillis())
+        };
+    }
+}
@@ -0,0 +1,257 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls {@code order_outbox} and hands pending events to every {@link OrderEventListener}
+ * in batches, oldest first.
+ *
+ * Each listener first gets the whole batch; if it throws, the batch is replayed to it one
+ * event at a time so only the failing events are held back. A failed event is retried with
+ * exponential backoff, and the later events of the same order wait behind it, which keeps
+ * per-order ordering. Rows are deleted only after every listener has accepted them, so a
+ * crash in between means redelivery rather than loss. After {@code max-attempts} an event is
+ * parked (kept with its last error, no longer retried) and stops holding its order back.
+ *
+ * Run the dispatcher on one instance per database; two dispatchers would deliver the same
+ * rows concurrently.
+ */
+@Service
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class OrderOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxDispatcher.class);
+
+    // Due rows only, and none queued behind an earlier row of the same order that is still backing off
+    static final String SELECT_SQL = "SELECT o.id, o.order_id, o.event_type, o.payload, o.attempts"
+            + " FROM order_outbox o WHERE o.parked = FALSE AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= ?)"
+            + " AND NOT EXISTS (SELECT 1 FROM order_outbox w WHERE w.order_id = o.order_id AND w.id < o.id"
+            + " AND w.parked = FALSE AND w.next_attempt_at > ?)"
+            + " ORDER BY o.id LIMIT ?";
+    static final String DELETE_SQL = "DELETE FROM order_outbox WHERE id = ?";
+    static final String RETRY_SQL = "UPDATE order_outbox SET attempts = ?, next_attempt_at = ?, last_error = ?, parked = ?"
+            + " WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<OrderEventListener> listeners;
+    // A lock rather than synchronized: dispatching does JDBC I/O, which would pin a virtual thread
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    @Value("${canteen.outbox.dispatcher.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${canteen.outbox.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${canteen.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Value("${canteen.outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value("${canteen.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs = 1000;
+
+    @Value("${canteen.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs = 300_000;
+
+    public OrderOutboxDispatcher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            ObjectProvider<OrderEventListener> listeners) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Scheduled entry point; delivers up to {@code max-batches-per-run} batches
+     */
+    @Scheduled(
+            initialDelayString = "${canteen.outbox.poll-ms:500}",
+            fixedDelayString = "${canteen.outbox.poll-ms:500}")
+    public void poll() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Deliver pending events until the outbox is drained, nothing more is due, or the
+     * per-run limit is reached
+     * @return The number of events delivered to all listeners
+     */
+    public int dispatch() {
+        dispatchLock.lock();
+        try {
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                BatchResult result = dispatchBatch();
+                total += result.delivered;
+                // A short batch means nothing more is due; no progress means every fetched event failed
+                if (result.fetched < batchSize || result.delivered + result.parked == 0) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                logger.debug("Delivered {} order events", total);
+            }
+            return total;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private BatchResult dispatchBatch() {
+        long now = System.currentTimeMillis();
+        Timestamp dueBy = new Timestamp(now);
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Row(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getInt("attempts")), dueBy, dueBy, batchSize);
+        if (rows.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        Map<Long, String> failures = new LinkedHashMap<>();
+        List<OutboxEvent> ready = new ArrayList<>();
+        Map<Long, Row> rowsById = new LinkedHashMap<>();
+        for (Row row : rows) {
+            rowsById.put(row.id, row);
+            OrderEvent event = decode(row);
+            if (event == null) {
+                // Retrying will not make an unreadable row readable
+                failures.put(row.id, "Unreadable " + row.eventType + " payload");
+                row.attempts = maxAttempts - 1;
+                continue;
+            }
+            ready.add(new OutboxEvent(row.id, event));
+        }
+
+        Set<Long> heldBack = new HashSet<>();
+        if (!ready.isEmpty()) {
+            listeners.orderedStream().forEach(listener -> deliver(listener, ready, failures, heldBack));
+        }
+
+        List<Object[]> delivered = new ArrayList<>();
+        for (OutboxEvent event : ready) {
+            if (!failures.containsKey(event.id()) && !heldBack.contains(event.id())) {
+                delivered.add(new Object[] { event.id() });
+            }
+        }
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, delivered);
+        }
+        int parked = recordFailures(failures, rowsById, now);
+        return new BatchResult(rows.size(), delivered.size(), parked);
+    }
+
+    private void deliver(OrderEventListener listener, List<OutboxEvent> events, Map<Long, String> failures,
+            Set<Long> heldBack) {
+        try {
+            listener.onOrderEvents(events);
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("{} failed a batch of {} order events; retrying one by one",
+                    listener.getClass().getSimpleName(), events.size(), e);
+        }
+
+        Set<Long> failedOrders = new HashSet<>();
+        for (OutboxEvent event : events) {
+            Long orderId = event.event().orderId();
+            if (failedOrders.contains(orderId)) {
+                heldBack.add(event.id());
+                continue;
+            }
+            try {
+                listener.onOrderEvents(List.of(event));
+            } catch (RuntimeException e) {
+                failedOrders.add(orderId);
+                failures.putIfAbsent(event.id(), listener.getClass().getSimpleName() + ": " + e);
+            }
+        }
+    }
+
+    private int recordFailures(Map<Long, String> failures, Map<Long, Row> rowsById, long now) {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> updates = new ArrayList<>(failures.size());
+        int parked = 0;
+        for (Map.Entry<Long, String> failure : failures.entrySet()) {
+            Row row = rowsById.get(failure.getKey());
+            int attempts = row.attempts + 1;
+            boolean park = attempts >= maxAttempts;
+            String error = failure.getValue().length() > 500 ? failure.getValue().substring(0, 500) : failure.getValue();
+            if (park) {
+                parked++;
+                logger.error("Parking {} event {} for order {} after {} attempts: {}",
+                        row.eventType, row.id, row.orderId, attempts, error);
+            }
+            updates.add(new Object[] { attempts, new Timestamp(now + backoffMillis(attempts)), error, park, row.id });
+        }
+        jdbcTemplate.batchUpdate(RETRY_SQL, updates);
+        return parked;
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff, doubled per failed attempt, capped
+     * @param attempts The number of failed attempts so far
+     * @return The delay in milliseconds
+     */
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoffMs << doublings, maxBackoffMs);
+    }
+
+    private OrderEvent decode(Row row) {
+        Class<? extends OrderEvent> type = OrderOutbox.TYPES.get(row.eventType);
+        if (type == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.payload, type);
+        } catch (Exception e) {
+            logger.warn("Cannot read {} event {}: {}", row.eventType, row.id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final long orderId;
+        private final String eventType;
+        private final String payload;
+        private int attempts;
+
+        private Row(long id, long orderId, String eventType, String payload, int attempts) {
+            this.id = id;
+            this.orderId = orderId;
+            this.eventType = eventType;
+            this.payload = payload;
+            this.attempts = attempts;
+        }
+    }
+
+    private record BatchResult(int fetched, int delivered, int parked) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import java.time.Instant;
+
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+
+/**
+ * An order moved from one status to another
+ */
+public record OrderStatusChanged(
+        Long orderId,
+        Long customerId,
+        Long shopId,
+        OrderEntity.Status fromStatus,
+        OrderEntity.Status toStatus,
+        Instant changedAt) implements OrderEvent {
+
+    /**
+     * @param order The saved order, already in its new status
+     * @param fromStatus The status it had before
+     * @return The event describing the change
+     */
+    public static OrderStatusChanged of(OrderEntity order, OrderEntity.Status fromStatus) {
+        return new OrderStatusChanged(
+                order.getOrderId(),
+                order.getCustomer() == null ? null : order.getCustomer().getId(),
+                order.getShop() == null ? null : order.getShop().getShopId(),
+                fromStatus,
+                order.getStatus(),
+                order.getUpdatedAt() == null ? Instant.now() : order.getUpdatedAt().toInstant());
+    }
+}
@@ -0,0 +1,10 @@
+package com.wildeats.onlinecanteen.outbox;
+
+/**
+ * An event as handed to listeners
+ * @param id The outbox row ID; increases in write order and is stable across redeliveries,
+ *           so listeners can use it to drop duplicates
+ * @param event The event
+ */
+public record OutboxEvent(long id, OrderEvent event) {
+}
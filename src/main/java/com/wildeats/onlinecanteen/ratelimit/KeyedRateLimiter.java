@@ -0,0 +1,128 @@
+package com.wildeats.onlinecanteen.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter with one bucket per key (client IP, email, ...).
+ *
+ * Buckets live in an access-ordered map capped at {@code maxKeys}, so memory stays
+ * bounded no matter how many distinct keys an attacker cycles through. When a new key
+ * arrives at the cap, the least recently used bucket that has fully refilled is evicted;
+ * it would come back full anyway, so eviction never resets a lockout. If none of the
+ * oldest buckets has refilled, the limiter is saturated: the new key is refused until the
+ * oldest of them refills, rather than passing untracked or evicting someone else's penalty.
+ */
+public class KeyedRateLimiter {
+
+    // Buckets checked for eviction, oldest first; old buckets have almost always refilled
+    private static final int EVICTION_SCAN = 16;
+
+    private final long capacity;
+    private final int maxKeys;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets;
+    private long saturations;
+
+    /**
+     * Create a limiter
+     * @param capacity The burst size of each bucket
+     * @param refillPerMinute The number of tokens added to each bucket per minute
+     * @param maxKeys The maximum number of buckets kept
+     */
+    public KeyedRateLimiter(long capacity, long refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    KeyedRateLimiter(long capacity, long refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, refillPerMinute and maxKeys must be positive");
+        }
+        this.capacity = capacity;
+        this.maxKeys = maxKeys;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Take a token from the bucket of a key
+     * @param key The key to charge
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public synchronized long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                long untilRefilled = evictRefilled(now);
+                if (untilRefilled > 0) {
+                    saturations++;
+                    return untilRefilled;
+                }
+            }
+            bucket = new Bucket(capacity, now);
+            buckets.put(key, bucket);
+        }
+
+        bucket.tokens = tokensAt(bucket, now);
+        bucket.updatedAt = now;
+        if (bucket.tokens >= 1) {
+            bucket.tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+    }
+
+    /**
+     * Evict the least recently used bucket that has fully refilled
+     * @param now The current time
+     * @return 0 if a bucket was evicted, otherwise the nanoseconds until one of the scanned
+     *         buckets has refilled
+     */
+    private long evictRefilled(long now) {
+        long untilRefilled = Long.MAX_VALUE;
+        Iterator<Bucket> oldestFirst = buckets.values().iterator();
+        for (int scanned = 0; scanned < EVICTION_SCAN && oldestFirst.hasNext(); scanned++) {
+            double missing = capacity - tokensAt(oldestFirst.next(), now);
+            if (missing <= 0) {
+                oldestFirst.remove();
+                return 0;
+            }
+            untilRefilled = Math.min(untilRefilled, Math.max(1, (long) Math.ceil(missing / tokensPerNano)));
+        }
+        return untilRefilled;
+    }
+
+    private double tokensAt(Bucket bucket, long now) {
+        return Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+    }
+
+    /**
+     * @return The number of buckets currently kept
+     */
+    public synchronized int size() {
+        return buckets.size();
+    }
+
+    /**
+     * @return The number of new keys refused because no bucket could be evicted for them
+     */
+    public synchronized long saturations() {
+        return saturations;
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
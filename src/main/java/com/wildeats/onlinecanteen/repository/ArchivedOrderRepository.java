@@ -0,0 +1,117 @@
+package com.wildeats.onlinecanteen.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.wildeats.onlinecanteen.entity.ArchivedOrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity.Status;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrderEntity, Long> {
+    /**
+     * Find an archived order together with its items
+     * @param orderId The ID of the order
+     * @return The archived order if found
+     */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    Optional<ArchivedOrderEntity> findWithItemsByOrderId(Long orderId);
+
+    /**
+     * Find all archived orders for a specific customer
+     * @param customerId The ID of the customer
+     * @return List of archived orders for the customer
+     */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    List<ArchivedOrderEntity> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
+
+    /**
+     * Find all archived orders for a specific shop
+     * @param shopId The ID of the shop
+     * @return List of archived orders for the shop
+     */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    List<ArchivedOrderEntity> findByShopShopIdOrderByCreatedAtDesc(Long shopId);
+
+    /**
+     * Find all archived orders for a specific shop with a specific status
+     * @param shopId The ID of the shop
+     * @param status The status of the orders
+     * @return List of archived orders for the shop with the specified status
+     */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    List<ArchivedOrderEntity> findByShopShopIdAndStatusOrderByCreatedAtDesc(Long shopId, Status status);
+
+    /**
+     * Find all archived orders for a specific customer with a specific status
+     * @param customerId The ID of the customer
+     * @param status The status of the orders
+     * @return List of archived orders for the customer with the specified status
+     */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    List<ArchivedOrderEntity> findByCustomerIdAndStatusOrderByCreatedAtDesc(Long customerId, Status status);
+
+    /**
+     * Sum archived quantities per food item, for popularity weights
+     * @return Rows of [food item ID, total quantity]
+     */
+    @Query(value = "SELECT food_item_id, SUM(quantity) FROM order_items_archive GROUP BY food_item_id",
+            nativeQuery = true)
+    List<Object[]> sumQuantityByFoodItem();
+
+    /**
+     * Count archived orders per shop, for popularity weights
+     * @return Rows of [shop ID, order count]
+     */
+    @Query(value = "SELECT shop_id, COUNT(*) FROM orders_archive GROUP BY shop_id", nativeQuery = true)
+    List<Object[]> countByShop();
+
+    /**
+     * Copy live orders into the archive table
+     * @param orderIds The IDs of the orders to copy
+     * @return The number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive "
+            + "(order_id, customer_id, shop_id, total_amount, status, notes, created_at, updated_at, archived_at) "
+            + "SELECT order_id, customer_id, shop_id, total_amount, status, notes, created_at, updated_at, CURRENT_TIMESTAMP "
+            + "FROM orders WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyOrders(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * Copy the items of live orders into the archive table
+     * @param orderIds The IDs of the orders whose items are copied
+     * @return The number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive "
+            + "(order_item_id, order_id, food_item_id, quantity, price, subtotal) "
+            + "SELECT order_item_id, order_id, food_item_id, quantity, price, subtotal "
+            + "FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyOrderItems(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * Delete the items of live orders once they have been copied
+     * @param orderIds The IDs of the orders whose items are deleted
+     * @return The number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int deleteLiveOrderItems(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * Delete live orders once they have been copied
+     * @param orderIds The IDs of the orders to delete
+     * @return The number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int deleteLiveOrders(@Param("orderIds") List<Long> orderIds);
+}
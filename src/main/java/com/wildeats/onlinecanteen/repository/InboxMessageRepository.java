@@ -0,0 +1,20 @@
+package com.wildeats.onlinecanteen.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.wildeats.onlinecanteen.entity.InboxMessageEntity;
+
+import java.util.List;
+
+@Repository
+public interface InboxMessageRepository extends JpaRepository<InboxMessageEntity, Long> {
+    /**
+     * Find a user's messages, newest first
+     * @param userId The ID of the user
+     * @param pageable How many messages to return
+     * @return The user's messages
+     */
+    List<InboxMessageEntity> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.wildeats.onlinecanteen.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.wildeats.onlinecanteen.entity.OrderItemEntity;
@@ -21,4 +22,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItemEntity, Long
      * @return List of order items for the food item
      */
     List<OrderItemEntity> findByFoodItemItemId(Long foodItemId);
+    
+    /**
+     * Sum the ordered quantity of every food item
+     * @return Rows of [food item ID, total quantity]
+     */
+    @Query("select oi.foodItem.itemId, sum(oi.quantity) from OrderItemEntity oi group by oi.foodItem.itemId")
+    List<Object[]> sumQuantityByFoodItem();
 }
@@ -1,20 +1,46 @@
 package com.wildeats.onlinecanteen.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.wildeats.onlinecanteen.entity.OrderEntity;
 import com.wildeats.onlinecanteen.entity.OrderEntity.Status;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
+    /**
+     * Find an order together with its items, which are serialized after the session closes
+     * @param orderId The ID of the order
+     * @return The order if found
+     */
+    @Override
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    Optional<OrderEntity> findById(Long orderId);
+
+    /**
+     * Find all orders together with their items
+     * @return All orders
+     */
+    @Override
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
+    List<OrderEntity> findAll();
+
     /**
      * Find all orders for a specific customer
      * @param customerId The ID of the customer
      * @return List of orders for the customer
      */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
     List<OrderEntity> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
     
     /**
@@ -22,6 +48,7 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
      * @param shopId The ID of the shop
      * @return List of orders for the shop
      */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
     List<OrderEntity> findByShopShopIdOrderByCreatedAtDesc(Long shopId);
     
     /**
@@ -30,6 +57,7 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
      * @param status The status of the orders
      * @return List of orders for the shop with the specified status
      */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
     List<OrderEntity> findByShopShopIdAndStatusOrderByCreatedAtDesc(Long shopId, Status status);
     
     /**
@@ -38,5 +66,27 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
      * @param status The status of the orders
      * @return List of orders for the customer with the specified status
      */
+    @EntityGraph(attributePaths = "orderItems", type = EntityGraphType.LOAD)
     List<OrderEntity> findByCustomerIdAndStatusOrderByCreatedAtDesc(Long customerId, Status status);
+    
+    /**
+     * Find the IDs of orders in the given statuses that were last updated before a cutoff
+     * @param statuses The statuses to match
+     * @param cutoff Only orders updated before this time are returned
+     * @param pageable Limits the number of IDs returned
+     * @return The IDs of matching orders, oldest ID first
+     */
+    @Query("select o.orderId from OrderEntity o "
+            + "where o.status in :statuses and o.updatedAt < :cutoff order by o.orderId")
+    List<Long> findIdsByStatusInAndUpdatedAtBefore(
+            @Param("statuses") Collection<Status> statuses,
+            @Param("cutoff") Date cutoff,
+            Pageable pageable);
+    
+    /**
+     * Count the orders of every shop
+     * @return Rows of [shop ID, order count]
+     */
+    @Query("select o.shop.shopId, count(o) from OrderEntity o group by o.shop.shopId")
+    List<Object[]> countByShop();
 }
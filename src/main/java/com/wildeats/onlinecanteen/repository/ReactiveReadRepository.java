@@ -0,0 +1,240 @@
+package com.wildeats.onlinecanteen.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads over the same tables the JPA repositories use, via R2DBC.
+ *
+ * Rows are mapped into detached instances of the JPA entity classes so responses
+ * serialize exactly like the MVC endpoints. Each query joins in the associations JPA
+ * loads eagerly (shop owner, item shop, order customer and items). Those joins are outer
+ * joins where the reference may be gone: the archive tables have no foreign keys, so an
+ * archived order whose customer, shop or food item was deleted maps it to null, as JPA
+ * does. Nothing here writes; all mutations stay on JPA.
+ */
+@Repository
+public class ReactiveReadRepository {
+
+    private static final String USER_COLUMNS = "id, name, email, password, role, is_active, created_at, last_login";
+    private static final String SHOP_COLUMNS = "shop_id, name, description, location, phone, email, opening_hours, "
+            + "is_active, created_at, updated_at";
+    private static final String FOOD_COLUMNS = "item_id, name, description, price, image_url, quantity, "
+            + "is_available, created_at, updated_at";
+
+    // Shop (s) with its owner (so); every query below selects and joins these
+    private static final String SHOP_WITH_OWNER_COLUMNS = columns("s", "s_", SHOP_COLUMNS) + ", "
+            + columns("so", "so_", USER_COLUMNS);
+    private static final String SHOP_WITH_OWNER_FROM = " FROM shop_entity s LEFT JOIN users so ON so.id = s.owner_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Find all active shops
+     * @return Active shops with their owners
+     */
+    public Flux<ShopEntity> findActiveShops() {
+        return databaseClient.sql("SELECT " + SHOP_WITH_OWNER_COLUMNS + SHOP_WITH_OWNER_FROM
+                        + " WHERE s.is_active = TRUE ORDER BY s.shop_id")
+                .map(row -> shop(row, "s_", user(row, "so_")))
+                .all();
+    }
+
+    /**
+     * Find a shop by ID
+     * @param shopId The shop ID
+     * @return The shop with its owner, or empty
+     */
+    public Mono<ShopEntity> findShopById(Long shopId) {
+        return databaseClient.sql("SELECT " + SHOP_WITH_OWNER_COLUMNS + SHOP_WITH_OWNER_FROM
+                        + " WHERE s.shop_id = :shopId")
+                .bind("shopId", shopId)
+                .map(row -> shop(row, "s_", user(row, "so_")))
+                .one();
+    }
+
+    /**
+     * Find the available food items of a shop
+     * @param shopId The shop ID
+     * @return Available items with their shop and owner
+     */
+    public Flux<FoodItemEntity> findAvailableFoodItemsByShopId(Long shopId) {
+        return databaseClient.sql("SELECT " + columns("f", "f_", FOOD_COLUMNS) + ", " + SHOP_WITH_OWNER_COLUMNS
+                        + SHOP_WITH_OWNER_FROM
+                        + " JOIN food_items f ON f.shop_id = s.shop_id"
+                        + " WHERE f.shop_id = :shopId AND f.is_available = TRUE ORDER BY f.item_id")
+                .bind("shopId", shopId)
+                .map(row -> foodItem(row, "f_", shop(row, "s_", user(row, "so_"))))
+                .all();
+    }
+
+    /**
+     * Find a user by ID
+     * @param userId The user ID
+     * @return The user, or empty
+     */
+    public Mono<UserEntity> findUserById(Long userId) {
+        return databaseClient.sql("SELECT " + columns("u", "u_", USER_COLUMNS) + " FROM users u WHERE u.id = :userId")
+                .bind("userId", userId)
+                .map(row -> user(row, "u_"))
+                .one();
+    }
+
+    /**
+     * Find an order with its items, falling back to the archive like
+     * {@code OrderService.getOrderById}
+     * @param orderId The order ID
+     * @return The order, or empty
+     */
+    public Mono<OrderEntity> findOrderById(Long orderId) {
+        return findOrder(orderId, "orders", "order_items")
+                .switchIfEmpty(Mono.defer(() -> findOrder(orderId, "orders_archive", "order_items_archive")));
+    }
+
+    private Mono<OrderEntity> findOrder(Long orderId, String ordersTable, String itemsTable) {
+        Mono<OrderEntity> order = databaseClient.sql("SELECT o.order_id AS o_order_id, o.total_amount AS o_total_amount,"
+                        + " o.status AS o_status, o.notes AS o_notes, o.created_at AS o_created_at,"
+                        + " o.updated_at AS o_updated_at, " + columns("c", "c_", USER_COLUMNS) + ", "
+                        + SHOP_WITH_OWNER_COLUMNS
+                        + " FROM " + ordersTable + " o"
+                        + " LEFT JOIN users c ON c.id = o.customer_id"
+                        + " LEFT JOIN shop_entity s ON s.shop_id = o.shop_id"
+                        + " LEFT JOIN users so ON so.id = s.owner_id"
+                        + " WHERE o.order_id = :orderId")
+                .bind("orderId", orderId)
+                .map(row -> {
+                    OrderEntity entity = new OrderEntity();
+                    entity.setOrderId(row.get("o_order_id", Long.class));
+                    entity.setCustomer(user(row, "c_"));
+                    entity.setShop(shop(row, "s_", user(row, "so_")));
+                    entity.setStatus(OrderEntity.Status.valueOf(row.get("o_status", String.class)));
+                    entity.setNotes(row.get("o_notes", String.class));
+                    entity.setCreatedAt(date(row, "o_created_at"));
+                    entity.setUpdatedAt(date(row, "o_updated_at"));
+                    entity.setTotalAmount(row.get("o_total_amount", Double.class));
+                    return entity;
+                })
+                .one();
+
+        Mono<List<OrderItemEntity>> items = databaseClient.sql("SELECT i.order_item_id AS i_order_item_id,"
+                        + " i.quantity AS i_quantity, i.price AS i_price, i.subtotal AS i_subtotal, "
+                        + columns("f", "f_", FOOD_COLUMNS) + ", " + SHOP_WITH_OWNER_COLUMNS
+                        + " FROM " + itemsTable + " i"
+                        + " LEFT JOIN food_items f ON f.item_id = i.food_item_id"
+                        + " LEFT JOIN shop_entity s ON s.shop_id = f.shop_id"
+                        + " LEFT JOIN users so ON so.id = s.owner_id"
+                        + " WHERE i.order_id = :orderId ORDER BY i.order_item_id")
+                .bind("orderId", orderId)
+                .map(row -> {
+                    OrderItemEntity item = new OrderItemEntity();
+                    item.setOrderItemId(row.get("i_order_item_id", Long.class));
+                    item.setFoodItem(foodItem(row, "f_", shop(row, "s_", user(row, "so_"))));
+                    item.setQuantity(row.get("i_quantity", Integer.class));
+                    item.setPrice(row.get("i_price", Double.class));
+                    item.setSubtotal(row.get("i_subtotal", Double.class));
+                    return item;
+                })
+                .all()
+                .collectList();
+
+        return order.zipWith(items, (entity, orderItems) -> {
+            Double totalAmount = entity.getTotalAmount();
+            orderItems.forEach(entity::addOrderItem);
+            entity.setTotalAmount(totalAmount);
+            return entity;
+        });
+    }
+
+    private static UserEntity user(Readable row, String prefix) {
+        Long id = row.get(prefix + "id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setName(row.get(prefix + "name", String.class));
+        user.setEmail(row.get(prefix + "email", String.class));
+        user.setPassword(row.get(prefix + "password", String.class));
+        String role = row.get(prefix + "role", String.class);
+        user.setRole(role == null ? null : UserEntity.Role.valueOf(role));
+        user.setActive(bool(row, prefix + "is_active"));
+        user.setCreatedAt(date(row, prefix + "created_at"));
+        user.setLastLogin(date(row, prefix + "last_login"));
+        return user;
+    }
+
+    private static ShopEntity shop(Readable row, String prefix, UserEntity owner) {
+        Long id = row.get(prefix + "shop_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        ShopEntity shop = new ShopEntity();
+        shop.setShopId(id);
+        shop.setName(row.get(prefix + "name", String.class));
+        shop.setDescription(row.get(prefix + "description", String.class));
+        shop.setLocation(row.get(prefix + "location", String.class));
+        shop.setPhone(row.get(prefix + "phone", String.class));
+        shop.setEmail(row.get(prefix + "email", String.class));
+        shop.setOpeningHours(row.get(prefix + "opening_hours", String.class));
+        shop.setOwner(owner);
+        shop.setActive(bool(row, prefix + "is_active"));
+        shop.setCreatedAt(date(row, prefix + "created_at"));
+        shop.setUpdatedAt(date(row, prefix + "updated_at"));
+        return shop;
+    }
+
+    private static FoodItemEntity foodItem(Readable row, String prefix, ShopEntity shop) {
+        Long id = row.get(prefix + "item_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        FoodItemEntity foodItem = new FoodItemEntity();
+        foodItem.setItemId(id);
+        foodItem.setName(row.get(prefix + "name", String.class));
+        foodItem.setDescription(row.get(prefix + "description", String.class));
+        foodItem.setPrice(row.get(prefix + "price", Double.class));
+        foodItem.setImageUrl(row.get(prefix + "image_url", String.class));
+        foodItem.setQuantity(row.get(prefix + "quantity", Integer.class));
+        foodItem.setAvailable(bool(row, prefix + "is_available"));
+        foodItem.setShop(shop);
+        foodItem.setCreatedAt(date(row, prefix + "created_at"));
+        foodItem.setUpdatedAt(date(row, prefix + "updated_at"));
+        return foodItem;
+    }
+
+    private static boolean bool(Readable row, String column) {
+        Boolean value = row.get(column, Boolean.class);
+        return value != null && value;
+    }
+
+    private static Date date(Readable row, String column) {
+        LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static String columns(String alias, String prefix, String columns) {
+        return Arrays.stream(columns.split(", "))
+                .map(column -> alias + "." + column + " AS " + prefix + column)
+                .collect(Collectors.joining(", "));
+    }
+}
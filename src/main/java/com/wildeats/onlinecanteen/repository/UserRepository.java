@@ -1,7 +1,14 @@
 package com.wildeats.onlinecanteen.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.wildeats.onlinecanteen.entity.UserEntity;
 
@@ -13,4 +20,31 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
      * @return The user if found, null otherwise
      */
     UserEntity findByEmail(String email);
+
+    /**
+     * Get every registered email address
+     * @return All emails, without loading the user entities
+     */
+    @Query("SELECT u.email FROM UserEntity u")
+    List<String> findAllEmails();
+
+    /**
+     * Get which of the given emails are already registered
+     * @param emails The email addresses to check
+     * @return The registered subset
+     */
+    @Query("SELECT u.email FROM UserEntity u WHERE u.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Replace a password hash unless it has changed since it was read, touching no other column
+     * @param id The user's ID
+     * @param oldHash The hash that was read
+     * @param hash The new hash
+     * @return 1 if replaced, 0 if the user is gone or the password changed meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET password = :hash WHERE id = :id AND password = :oldHash", nativeQuery = true)
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("hash") String hash);
 }
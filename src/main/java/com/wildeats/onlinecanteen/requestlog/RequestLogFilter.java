@@ -0,0 +1,102 @@
+package com.wildeats.onlinecanteen.requestlog;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.wildeats.onlinecanteen.timing.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs one {@code key=value} summary line per API request on the {@code canteen.requests}
+ * logger, in place of the per-layer INFO lines controllers and services used to write.
+ *
+ * Failed (4xx/5xx) and slow requests are always logged; other requests are sampled at
+ * {@code sampleRate}. For async requests (login, the reactive API) the line is written on
+ * the final dispatch and covers the whole request. When the {@code Server-Timing} filter
+ * is on, the line also carries the SQL statement count.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "canteen.requests";
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final String START_ATTRIBUTE = RequestLogFilter.class.getName() + ".start";
+
+    private final double sampleRate;
+    private final long slowMs;
+
+    /**
+     * @param sampleRate Share of successful, fast requests to log, from 0 to 1
+     * @param slowMs Requests taking at least this long are always logged
+     */
+    public RequestLogFilter(double sampleRate, long slowMs) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.slowMs = slowMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            start = System.nanoTime();
+            request.setAttribute(START_ATTRIBUTE, start);
+        }
+
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            if (!isAsyncStarted(request)) {
+                long durationMs = (System.nanoTime() - start) / 1_000_000;
+                if (shouldLog(status, durationMs) && logger.isInfoEnabled()) {
+                    logger.info(summary(request, status, durationMs));
+                }
+            }
+        }
+    }
+
+    boolean shouldLog(int status, long durationMs) {
+        if (status >= 400 || durationMs >= slowMs) {
+            return true;
+        }
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private String summary(HttpServletRequest request, int status, long durationMs) {
+        StringBuilder line = new StringBuilder(128)
+                .append("method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(status)
+                .append(" durationMs=").append(durationMs);
+        String userId = request.getParameter("userId");
+        if (userId != null) {
+            line.append(" userId=").append(userId);
+        }
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            line.append(" sql=").append(timings.getSqlStatements());
+        }
+        if (status < 400 && durationMs < slowMs) {
+            // Lets a log query scale sampled counts back up
+            line.append(" sampleRate=").append(sampleRate);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.wildeats.onlinecanteen.search;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+
+/**
+ * Immutable snapshot of a food item as held by the {@link MenuSearchIndex}
+ */
+public record MenuDocument(
+        Long itemId,
+        String name,
+        String description,
+        Double price,
+        String imageUrl,
+        Long shopId,
+        String shopName,
+        boolean available,
+        boolean shopActive) {
+
+    /**
+     * Snapshot a food item entity
+     * @param foodItem The food item, with its shop loaded
+     * @return The document to index
+     */
+    public static MenuDocument of(FoodItemEntity foodItem) {
+        ShopEntity shop = foodItem.getShop();
+        return new MenuDocument(
+                foodItem.getItemId(),
+                foodItem.getName(),
+                foodItem.getDescription(),
+                foodItem.getPrice(),
+                foodItem.getImageUrl(),
+                shop != null ? shop.getShopId() : null,
+                shop != null ? shop.getName() : null,
+                foodItem.isAvailable(),
+                shop != null && shop.isActive());
+    }
+
+    /**
+     * Copy this document with new shop details
+     * @param newShopName The shop name
+     * @param newShopActive Whether the shop is active
+     * @return The updated document
+     */
+    public MenuDocument withShop(String newShopName, boolean newShopActive) {
+        return new MenuDocument(itemId, name, description, price, imageUrl,
+                shopId, newShopName, available, newShopActive);
+    }
+
+    /**
+     * @return true if the item should appear in search results
+     */
+    public boolean isSearchable() {
+        return available && shopActive;
+    }
+}
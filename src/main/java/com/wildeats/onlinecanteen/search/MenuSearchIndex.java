@@ -0,0 +1,434 @@
+package com.wildeats.onlinecanteen.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over food item names and descriptions.
+ *
+ * Each query token is matched against indexed terms exactly, as a prefix (via a sorted
+ * term dictionary) and, for tokens of three or more characters, approximately (via a
+ * trigram index verified with a bounded edit distance). All query tokens must match;
+ * documents are ranked by the sum of their best per-token match, with name hits weighted
+ * above description hits. Reads share a read lock, so searches run concurrently.
+ */
+public class MenuSearchIndex {
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    static final float EXACT_MATCH = 1.0f;
+    static final float PREFIX_MATCH = 0.6f;
+    static final float FUZZY_MATCH = 0.4f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.25;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, MenuDocument> documents = new HashMap<>();
+    private final Map<Long, Map<String, Float>> termsByItem = new HashMap<>();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<Long, Set<Long>> itemsByShop = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replace the whole index content
+     * @param all The documents to index
+     */
+    public void rebuild(Collection<MenuDocument> all) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            termsByItem.clear();
+            postings.clear();
+            termsByTrigram.clear();
+            itemsByShop.clear();
+            for (MenuDocument document : all) {
+                addDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a document
+     * @param document The document to index
+     */
+    public void upsert(MenuDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.itemId());
+            addDocument(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param itemId The ID of the food item
+     */
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Propagate a shop change to all of its items
+     * @param shopId The ID of the shop
+     * @param shopName The current shop name
+     * @param active Whether the shop is active
+     */
+    public void updateShop(Long shopId, String shopName, boolean active) {
+        lock.writeLock().lock();
+        try {
+            for (Long itemId : itemsByShop.getOrDefault(shopId, Set.of())) {
+                documents.computeIfPresent(itemId, (id, document) -> document.withShop(shopName, active));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all items of a shop
+     * @param shopId The ID of the shop
+     */
+    public void removeShop(Long shopId) {
+        lock.writeLock().lock();
+        try {
+            for (Long itemId : new ArrayList<>(itemsByShop.getOrDefault(shopId, Set.of()))) {
+                removeDocument(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Look up a document by ID
+     * @param itemId The ID of the food item
+     * @return The document, or null if not indexed
+     */
+    public MenuDocument get(Long itemId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search available items of active shops
+     * @param query The free-text query
+     * @param limit The maximum number of hits
+     * @return Hits ordered by descending score
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Float>> tokenMatches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<String, Float> matches = matchTerms(token);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                tokenMatches.add(matches);
+            }
+
+            // Start from the most selective token and only re-score its candidates
+            tokenMatches.sort(Comparator.comparingInt(this::postingCount));
+            Map<Long, Double> scores = scoreCandidates(tokenMatches.get(0));
+            for (int i = 1; i < tokenMatches.size() && !scores.isEmpty(); i++) {
+                Map<String, Float> matches = tokenMatches.get(i);
+                scores.entrySet().removeIf(entry -> {
+                    double best = bestScore(matches, entry.getKey());
+                    if (best == 0.0) {
+                        return true;
+                    }
+                    entry.setValue(entry.getValue() + best);
+                    return false;
+                });
+            }
+
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Split text into lower-case, accent-free alphanumeric tokens
+     * @param text The text to tokenize
+     * @return The tokens in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Float> matchTerms(String token) {
+        Map<String, Float> matches = new HashMap<>();
+
+        // Exact and prefix matches from the sorted term dictionary
+        int expansions = 0;
+        for (String term : postings.subMap(token, true, token + Character.MAX_VALUE, false).keySet()) {
+            if (term.equals(token)) {
+                matches.put(term, EXACT_MATCH);
+            } else if (expansions++ < MAX_PREFIX_EXPANSIONS) {
+                // Closer prefixes rank higher: "chick" is nearer "chicken" than "chickpeas"
+                matches.put(term, PREFIX_MATCH * (0.5f + 0.5f * token.length() / term.length()));
+            }
+        }
+
+        // Typo-tolerant matches through shared trigrams
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (Map.Entry<String, Float> fuzzy : fuzzyMatches(token).entrySet()) {
+                matches.putIfAbsent(fuzzy.getKey(), fuzzy.getValue());
+            }
+        }
+        return matches;
+    }
+
+    private int postingCount(Map<String, Float> matches) {
+        int count = 0;
+        for (String term : matches.keySet()) {
+            count += postings.get(term).size();
+        }
+        return count;
+    }
+
+    private Map<Long, Double> scoreCandidates(Map<String, Float> matches) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Float> match : matches.entrySet()) {
+            for (Map.Entry<Long, Float> posting : postings.get(match.getKey()).entrySet()) {
+                if (documents.get(posting.getKey()).isSearchable()) {
+                    scores.merge(posting.getKey(), (double) (match.getValue() * posting.getValue()), Math::max);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private double bestScore(Map<String, Float> matches, Long itemId) {
+        double best = 0.0;
+        for (Map.Entry<String, Float> match : matches.entrySet()) {
+            Float weight = postings.get(match.getKey()).get(itemId);
+            if (weight != null) {
+                best = Math.max(best, match.getValue() * weight);
+            }
+        }
+        return best;
+    }
+
+    private List<Hit> topHits(Map<Long, Double> scores, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(hit -> hit.document().name(), String.CASE_INSENSITIVE_ORDER);
+
+        // Bounded heap keeps the worst of the current top hits at its head
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(new Hit(documents.get(entry.getKey()), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    private Map<String, Float> fuzzyMatches(String token) {
+        List<String> tokenTrigrams = trigrams(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : tokenTrigrams) {
+            for (String term : termsByTrigram.getOrDefault(trigram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        int maxEdits = token.length() <= 5 ? 1 : 2;
+        Map<String, Float> result = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            // One padded trigram per character, see trigrams()
+            int termTrigrams = term.length();
+            double similarity = candidate.getValue()
+                    / (double) (tokenTrigrams.size() + termTrigrams - candidate.getValue());
+            if (similarity < MIN_TRIGRAM_SIMILARITY || Math.abs(term.length() - token.length()) > maxEdits) {
+                continue;
+            }
+            int distance = boundedEditDistance(token, term, maxEdits);
+            if (distance <= maxEdits) {
+                result.put(term, FUZZY_MATCH * (1.0f - (float) distance / (token.length() + 1)));
+            }
+        }
+        return result;
+    }
+
+    private void addDocument(MenuDocument document) {
+        Map<String, Float> terms = new HashMap<>();
+        for (String token : tokenize(document.name())) {
+            terms.merge(token, NAME_WEIGHT, Math::max);
+        }
+        for (String token : tokenize(document.description())) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Math::max);
+        }
+
+        documents.put(document.itemId(), document);
+        termsByItem.put(document.itemId(), terms);
+        if (document.shopId() != null) {
+            itemsByShop.computeIfAbsent(document.shopId(), id -> new HashSet<>()).add(document.itemId());
+        }
+
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            Map<Long, Float> posting = postings.get(term.getKey());
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(term.getKey(), posting);
+                for (String trigram : trigrams(term.getKey())) {
+                    termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(term.getKey());
+                }
+            }
+            posting.put(document.itemId(), term.getValue());
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        MenuDocument document = documents.remove(itemId);
+        Map<String, Float> terms = termsByItem.remove(itemId);
+        if (document == null || terms == null) {
+            return;
+        }
+
+        if (document.shopId() != null) {
+            Set<Long> shopItems = itemsByShop.get(document.shopId());
+            if (shopItems != null) {
+                shopItems.remove(itemId);
+                if (shopItems.isEmpty()) {
+                    itemsByShop.remove(document.shopId());
+                }
+            }
+        }
+
+        for (String term : terms.keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(itemId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> trigramTerms = termsByTrigram.get(trigram);
+                    if (trigramTerms != null) {
+                        trigramTerms.remove(term);
+                        if (trigramTerms.isEmpty()) {
+                            termsByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Boundary-padded trigrams, e.g. "tea" gives "$te", "tea", "ea$"
+     */
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Levenshtein distance that gives up once it exceeds {@code max}
+     * @return The distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    static int boundedEditDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * A ranked search result
+     */
+    public record Hit(MenuDocument document, double score) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.wildeats.onlinecanteen.search;
+
+/**
+ * A completion held by the {@link SuggestionTrie}
+ * @param key Unique key, e.g. {@code food:12} or {@code shop:3}
+ * @param type What the suggestion refers to
+ * @param id The ID of the food item or shop
+ * @param text The display text
+ * @param shopId The shop the suggestion belongs to
+ * @param weight Popularity; higher ranks first
+ */
+public record Suggestion(String key, Type type, Long id, String text, Long shopId, long weight) {
+
+    public enum Type {
+        FOOD,
+        SHOP
+    }
+
+    public static Suggestion food(Long itemId, String name, Long shopId, long weight) {
+        return new Suggestion("food:" + itemId, Type.FOOD, itemId, name, shopId, weight);
+    }
+
+    public static Suggestion shop(Long shopId, String name, long weight) {
+        return new Suggestion("shop:" + shopId, Type.SHOP, shopId, name, shopId, weight);
+    }
+
+    public Suggestion withWeight(long newWeight) {
+        return new Suggestion(key, type, id, text, shopId, newWeight);
+    }
+}
@@ -0,0 +1,393 @@
+package com.wildeats.onlinecanteen.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Radix (path-compressed) trie for type-ahead completions.
+ *
+ * Each suggestion is indexed under its normalized text and under every word-start
+ * suffix, so "lat" completes "Iced Latte". Children are kept in sorted arrays and edge
+ * labels are shared substrings, which keeps the structure small. Every node lazily caches
+ * the top {@code maxCompletions} suggestions of its subtree by weight; a mutation only
+ * invalidates the caches along the paths it touches, so lookups are a walk down the
+ * prefix plus, at worst, one cache rebuild.
+ */
+public class SuggestionTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text, String.CASE_INSENSITIVE_ORDER);
+
+    private final int maxCompletions;
+    private final Node root = new Node("");
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Create an empty trie
+     * @param maxCompletions The number of completions cached per node
+     */
+    public SuggestionTrie(int maxCompletions) {
+        if (maxCompletions < 1) {
+            throw new IllegalArgumentException("maxCompletions must be at least 1");
+        }
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Add a suggestion, replacing any existing one with the same key
+     * @param suggestion The suggestion to add
+     */
+    public void put(Suggestion suggestion) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(suggestion.key());
+            suggestions.put(suggestion.key(), suggestion);
+            for (String indexKey : indexKeys(suggestion.text())) {
+                insert(indexKey, suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a suggestion
+     * @param key The key of the suggestion
+     */
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all suggestions matching a condition
+     * @param condition The condition to test
+     */
+    public void removeIf(Predicate<Suggestion> condition) {
+        lock.writeLock().lock();
+        try {
+            for (Suggestion suggestion : new ArrayList<>(suggestions.values())) {
+                if (condition.test(suggestion)) {
+                    removeInternal(suggestion.key());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Look up a suggestion by key
+     * @param key The key of the suggestion
+     * @return The suggestion, or null if absent
+     */
+    public Suggestion get(String key) {
+        lock.readLock().lock();
+        try {
+            return suggestions.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the most popular completions of a prefix
+     * @param prefix The typed text
+     * @param limit The maximum number of completions, capped at {@code maxCompletions}
+     * @return Completions ordered by descending weight
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < normalized.length()) {
+                Node child = node.child(normalized.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int length = Math.min(child.label.length(), normalized.length() - matched);
+                if (!child.label.regionMatches(0, normalized, matched, length)) {
+                    return List.of();
+                }
+                matched += length;
+                node = child;
+            }
+
+            if (node.top != null) {
+                cacheHits.increment();
+            } else {
+                cacheMisses.increment();
+            }
+            Suggestion[] top = topOf(node);
+            return List.of(top.length > limit ? Arrays.copyOf(top, limit) : top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Lookups answered from a node's cached completions
+     */
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * @return Lookups that had to rebuild a node's cached completions
+     */
+    public long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * @return The number of suggestions held
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalize text the same way as the menu search tokenizer
+     * @param text The text to normalize
+     * @return Lower-case, accent-free words separated by single spaces
+     */
+    public static String normalize(String text) {
+        return String.join(" ", MenuSearchIndex.tokenize(text));
+    }
+
+    /**
+     * The keys a text is indexed under: the whole text and every word-start suffix
+     * @param text The display text
+     * @return The distinct index keys
+     */
+    static Set<String> indexKeys(String text) {
+        List<String> words = MenuSearchIndex.tokenize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private void removeInternal(String key) {
+        Suggestion existing = suggestions.remove(key);
+        if (existing == null) {
+            return;
+        }
+        for (String indexKey : indexKeys(existing.text())) {
+            delete(indexKey, key);
+        }
+    }
+
+    private void insert(String indexKey, Suggestion suggestion) {
+        Node node = root;
+        node.top = null;
+        int position = 0;
+
+        while (position < indexKey.length()) {
+            int childIndex = node.childIndex(indexKey.charAt(position));
+            if (childIndex < 0) {
+                Node leaf = new Node(indexKey.substring(position));
+                leaf.terminals = new Suggestion[] { suggestion };
+                node.addChild(leaf);
+                return;
+            }
+
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, indexKey, position);
+            if (common < child.label.length()) {
+                // Split the edge so the shared part becomes its own node
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] { child };
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+
+            child.top = null;
+            node = child;
+            position += common;
+        }
+
+        node.terminals = append(node.terminals, suggestion);
+    }
+
+    private void delete(String indexKey, String suggestionKey) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < indexKey.length()) {
+            Node child = node.child(indexKey.charAt(position));
+            if (child == null || !indexKey.startsWith(child.label, position)) {
+                return;
+            }
+            position += child.label.length();
+            node = child;
+            path.add(node);
+        }
+
+        node.terminals = without(node.terminals, suggestionKey);
+        for (Node onPath : path) {
+            onPath.top = null;
+        }
+
+        // Prune the emptied leaf and re-compress its parent
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.terminals.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.replaceChild(current, only);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private Suggestion[] topOf(Node node) {
+        Suggestion[] cached = node.top;
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(topOf(child)));
+        }
+        candidates.sort(RANKING);
+
+        // The same suggestion can sit under several suffixes of one subtree
+        List<Suggestion> top = new ArrayList<>(Math.min(candidates.size(), maxCompletions));
+        Set<String> seen = new HashSet<>();
+        for (Suggestion candidate : candidates) {
+            if (top.size() == maxCompletions) {
+                break;
+            }
+            if (seen.add(candidate.key())) {
+                top.add(candidate);
+            }
+        }
+
+        Suggestion[] result = top.toArray(NO_SUGGESTIONS);
+        node.top = result;
+        return result;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Suggestion[] append(Suggestion[] array, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = suggestion;
+        return result;
+    }
+
+    private static Suggestion[] without(Suggestion[] array, String key) {
+        int kept = 0;
+        Suggestion[] result = new Suggestion[array.length];
+        for (Suggestion suggestion : array) {
+            if (!suggestion.key().equals(key)) {
+                result[kept++] = suggestion;
+            }
+        }
+        return kept == 0 ? NO_SUGGESTIONS : Arrays.copyOf(result, kept);
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private volatile Suggestion[] top;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < first) {
+                    low = mid + 1;
+                } else if (midChar > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private Node child(char first) {
+            int index = childIndex(first);
+            return index < 0 ? null : children[index];
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -(childIndex(child.label.charAt(0)) + 1);
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, insertAt);
+            updated[insertAt] = child;
+            System.arraycopy(children, insertAt, updated, insertAt + 1, children.length - insertAt);
+            children = updated;
+        }
+
+        private void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+            children = updated;
+        }
+
+        private void replaceChild(Node current, Node replacement) {
+            children[childIndex(current.label.charAt(0))] = replacement;
+        }
+    }
+}
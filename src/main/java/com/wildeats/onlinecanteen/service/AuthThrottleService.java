@@ -0,0 +1,114 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.ratelimit.KeyedRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throttles login and registration attempts per client IP and per email before any
+ * database access. Each check returns how long the caller should wait, in whole seconds,
+ * suitable for a {@code Retry-After} header; 0 means the attempt may proceed. When a
+ * limiter already tracks {@code max-tracked-keys} keys and none can be evicted, new keys
+ * are refused, counted by {@code canteen.throttle.saturated}.
+ */
+@Service
+public class AuthThrottleService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthThrottleService.class);
+
+    private final KeyedRateLimiter loginByIp;
+    private final KeyedRateLimiter loginByEmail;
+    private final KeyedRateLimiter registerByIp;
+    private final KeyedRateLimiter registerByEmail;
+    private final int trustedProxies;
+
+    public AuthThrottleService(
+            @Value("${canteen.throttle.login.ip.capacity:120}") long loginIpCapacity,
+            @Value("${canteen.throttle.login.ip.refill-per-minute:60}") long loginIpRefill,
+            @Value("${canteen.throttle.login.email.capacity:10}") long loginEmailCapacity,
+            @Value("${canteen.throttle.login.email.refill-per-minute:5}") long loginEmailRefill,
+            @Value("${canteen.throttle.register.ip.capacity:60}") long registerIpCapacity,
+            @Value("${canteen.throttle.register.ip.refill-per-minute:30}") long registerIpRefill,
+            @Value("${canteen.throttle.register.email.capacity:3}") long registerEmailCapacity,
+            @Value("${canteen.throttle.register.email.refill-per-minute:1}") long registerEmailRefill,
+            @Value("${canteen.throttle.max-tracked-keys:100000}") int maxTrackedKeys,
+            @Value("${canteen.throttle.trusted-proxies:0}") int trustedProxies) {
+        this.loginByIp = new KeyedRateLimiter(loginIpCapacity, loginIpRefill, maxTrackedKeys);
+        this.loginByEmail = new KeyedRateLimiter(loginEmailCapacity, loginEmailRefill, maxTrackedKeys);
+        this.registerByIp = new KeyedRateLimiter(registerIpCapacity, registerIpRefill, maxTrackedKeys);
+        this.registerByEmail = new KeyedRateLimiter(registerEmailCapacity, registerEmailRefill, maxTrackedKeys);
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        saturationCounter(meterRegistry, "login", "ip", loginByIp);
+        saturationCounter(meterRegistry, "login", "email", loginByEmail);
+        saturationCounter(meterRegistry, "register", "ip", registerByIp);
+        saturationCounter(meterRegistry, "register", "email", registerByEmail);
+    }
+
+    private static void saturationCounter(MeterRegistry meterRegistry, String action, String key,
+            KeyedRateLimiter limiter) {
+        FunctionCounter.builder("canteen.throttle.saturated", limiter, KeyedRateLimiter::saturations)
+                .description("Attempts refused because the limiter was tracking as many keys as it may")
+                .tag("action", action)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Charge a login attempt
+     * @param request The incoming request, used for the client IP
+     * @param email The email being logged in to
+     * @return 0 if allowed, otherwise the seconds to wait
+     */
+    public long checkLogin(HttpServletRequest request, String email) {
+        return check("login", loginByIp, loginByEmail, clientIp(request), email);
+    }
+
+    /**
+     * Charge a registration attempt
+     * @param request The incoming request, used for the client IP
+     * @param email The email being registered
+     * @return 0 if allowed, otherwise the seconds to wait
+     */
+    public long checkRegistration(HttpServletRequest request, String email) {
+        return check("register", registerByIp, registerByEmail, clientIp(request), email);
+    }
+
+    private long check(String action, KeyedRateLimiter byIp, KeyedRateLimiter byEmail, String ip, String email) {
+        long waitNanos = byIp.tryAcquire(ip);
+        if (waitNanos == 0 && email != null) {
+            waitNanos = byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (waitNanos == 0) {
+            return 0;
+        }
+        logger.debug("Throttled {} attempt from {}", action, ip);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    String clientIp(HttpServletRequest request) {
+        if (trustedProxies > 0) {
+            String forwardedFor = String.join(",", Collections.list(request.getHeaders("X-Forwarded-For")));
+            if (!forwardedFor.isBlank()) {
+                // Each trusted proxy appends the address it received from, so the client is the
+                // trustedProxies-th hop from the right; anything further left is client-supplied
+                String[] hops = forwardedFor.split(",");
+                return hops[Math.max(0, hops.length - trustedProxies)].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
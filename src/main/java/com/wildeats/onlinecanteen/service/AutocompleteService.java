@@ -0,0 +1,296 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.config.DemoDataSeededEvent;
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.dto.AutocompleteSuggestion;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.search.Suggestion;
+import com.wildeats.onlinecanteen.search.SuggestionTrie;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves type-ahead completions over food item and shop names from a {@link SuggestionTrie}.
+ * Suggestions are weighted by how often the item (or shop) has been ordered. Menu changes
+ * are applied incrementally through {@link MenuChangeListener}; order counts are
+ * accumulated on commit and folded into the trie on a short schedule so checkout never
+ * touches it. A rebuild reads the totals first and then drops what is pending, since those
+ * orders have committed and the totals include them; counts recorded after that stay
+ * pending and are folded into the new trie once it is in place.
+ */
+@Service
+public class AutocompleteService implements MenuChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private OrderItemRepository orderItemRepo;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepo;
+
+    private final int maxCompletions;
+
+    private volatile SuggestionTrie trie;
+    // Cache counts of replaced tries, so the exported counters never go backwards
+    private final LongAdder retiredCacheHits = new LongAdder();
+    private final LongAdder retiredCacheMisses = new LongAdder();
+
+    private final Map<Long, Long> foodPopularity = new ConcurrentHashMap<>();
+    private final Map<Long, Long> shopPopularity = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingFoodOrders = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingShopOrders = new ConcurrentHashMap<>();
+    // Held by rebuilds; popularity folding skips a round rather than touching a retiring trie
+    private final ReentrantLock popularityLock = new ReentrantLock();
+
+    public AutocompleteService(@Value("${canteen.autocomplete.max-completions:10}") int maxCompletions) {
+        this.maxCompletions = maxCompletions;
+        this.trie = new SuggestionTrie(maxCompletions);
+    }
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("canteen.autocomplete.cache", this,
+                        service -> service.retiredCacheHits.sum() + service.trie.cacheHits())
+                .description("Type-ahead lookups by whether the prefix's completions were cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("canteen.autocomplete.cache", this,
+                        service -> service.retiredCacheMisses.sum() + service.trie.cacheMisses())
+                .description("Type-ahead lookups by whether the prefix's completions were cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the trie from the database
+     */
+    @UseBulkhead(Bulkhead.BACKGROUND)
+    @EventListener({ ApplicationReadyEvent.class, DemoDataSeededEvent.class })
+    public void rebuild() {
+        long start = System.nanoTime();
+        SuggestionTrie fresh = new SuggestionTrie(maxCompletions);
+
+        popularityLock.lock();
+        try {
+            Map<Long, Long> foodTotals = new HashMap<>();
+            addTotals(foodTotals, orderItemRepo.sumQuantityByFoodItem());
+            addTotals(foodTotals, archivedOrderRepo.sumQuantityByFoodItem());
+            Map<Long, Long> shopTotals = new HashMap<>();
+            addTotals(shopTotals, orderRepo.countByShop());
+            addTotals(shopTotals, archivedOrderRepo.countByShop());
+            // Orders counted in memory so far have committed, so the totals above include them.
+            // One committing while the sums run may be missed until the next rebuild, but
+            // clearing after the reads never counts an order twice; later ones stay pending
+            discard(pendingFoodOrders);
+            discard(pendingShopOrders);
+            foodPopularity.putAll(foodTotals);
+            shopPopularity.putAll(shopTotals);
+
+            for (ShopEntity shop : shopRepo.findByIsActiveTrue()) {
+                fresh.put(shopSuggestion(shop));
+            }
+            for (FoodItemEntity foodItem : foodItemRepo.findAll()) {
+                if (isSuggestable(foodItem)) {
+                    fresh.put(foodSuggestion(foodItem));
+                }
+            }
+            SuggestionTrie retired = trie;
+            trie = fresh;
+            retiredCacheHits.add(retired.cacheHits());
+            retiredCacheMisses.add(retired.cacheMisses());
+        } finally {
+            popularityLock.unlock();
+        }
+        applyPopularity();
+
+        logger.info("Autocomplete trie built with {} suggestions in {} ms",
+                fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Get the most popular completions of a prefix
+     * @param prefix The typed text
+     * @param limit The maximum number of completions
+     * @return Completions ordered by popularity
+     */
+    public List<AutocompleteSuggestion> suggest(String prefix, int limit) {
+        List<AutocompleteSuggestion> result = new ArrayList<>();
+        for (Suggestion suggestion : trie.complete(prefix, limit)) {
+            result.add(new AutocompleteSuggestion(
+                    suggestion.type().name(),
+                    suggestion.id(),
+                    suggestion.text(),
+                    suggestion.shopId()));
+        }
+        return result;
+    }
+
+    /**
+     * Count a placed order towards item and shop popularity once it commits
+     * @param order The order that was placed
+     */
+    public void recordOrder(OrderEntity order) {
+        if (order.getShop() == null) {
+            return;
+        }
+        Long shopId = order.getShop().getShopId();
+        List<long[]> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItemEntity item : order.getOrderItems()) {
+            if (item.getFoodItem() != null && item.getFoodItem().getItemId() != null) {
+                lines.add(new long[] { item.getFoodItem().getItemId(), item.getQuantity() });
+            }
+        }
+
+        AfterCommit.run(() -> {
+            pendingShopOrders.computeIfAbsent(shopId, id -> new LongAdder()).increment();
+            for (long[] line : lines) {
+                pendingFoodOrders.computeIfAbsent(line[0], id -> new LongAdder()).add(line[1]);
+            }
+        });
+    }
+
+    /**
+     * Fold accumulated order counts into suggestion weights
+     */
+    @Scheduled(fixedDelayString = "${canteen.autocomplete.popularity-refresh-ms:30000}")
+    public void applyPopularity() {
+        if (!popularityLock.tryLock()) {
+            return;
+        }
+        try {
+            drain(pendingFoodOrders, foodPopularity, "food:");
+            drain(pendingShopOrders, shopPopularity, "shop:");
+        } finally {
+            popularityLock.unlock();
+        }
+    }
+
+    @Override
+    public void onFoodItemSaved(FoodItemEntity foodItem) {
+        if (foodItem == null || foodItem.getItemId() == null) {
+            return;
+        }
+        Suggestion suggestion = isSuggestable(foodItem) ? foodSuggestion(foodItem) : null;
+        String key = "food:" + foodItem.getItemId();
+        AfterCommit.run(() -> {
+            if (suggestion != null) {
+                trie.put(suggestion);
+            } else {
+                trie.remove(key);
+            }
+        });
+    }
+
+    @Override
+    public void onFoodItemDeleted(Long itemId) {
+        AfterCommit.run(() -> trie.remove("food:" + itemId));
+    }
+
+    @Override
+    public void onShopSaved(ShopEntity shop) {
+        if (shop == null || shop.getShopId() == null) {
+            return;
+        }
+        Long shopId = shop.getShopId();
+        Suggestion suggestion = shop.isActive() ? shopSuggestion(shop) : null;
+        AfterCommit.run(() -> {
+            if (suggestion == null) {
+                trie.removeIf(existing -> shopId.equals(existing.shopId()));
+                return;
+            }
+            boolean reactivated = trie.get(suggestion.key()) == null;
+            trie.put(suggestion);
+            if (reactivated) {
+                // Items were dropped while the shop was inactive
+                for (FoodItemEntity foodItem : foodItemRepo.findByShopShopIdAndIsAvailableTrue(shopId)) {
+                    trie.put(foodSuggestion(foodItem));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onShopDeleted(Long shopId) {
+        AfterCommit.run(() -> trie.removeIf(existing -> shopId.equals(existing.shopId())));
+    }
+
+    private void drain(Map<Long, LongAdder> pending, Map<Long, Long> popularity, String keyPrefix) {
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                continue;
+            }
+            Long id = entry.getKey();
+            long weight = popularity.merge(id, delta, Long::sum);
+            Suggestion existing = trie.get(keyPrefix + id);
+            if (existing != null) {
+                trie.put(existing.withWeight(weight));
+            }
+        }
+    }
+
+    private static void discard(Map<Long, LongAdder> pending) {
+        for (LongAdder count : pending.values()) {
+            count.reset();
+        }
+    }
+
+    private static void addTotals(Map<Long, Long> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                totals.merge(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+    }
+
+    private boolean isSuggestable(FoodItemEntity foodItem) {
+        return foodItem.isAvailable() && foodItem.getShop() != null && foodItem.getShop().isActive();
+    }
+
+    private Suggestion foodSuggestion(FoodItemEntity foodItem) {
+        return Suggestion.food(
+                foodItem.getItemId(),
+                foodItem.getName(),
+                foodItem.getShop().getShopId(),
+                foodPopularity.getOrDefault(foodItem.getItemId(), 0L));
+    }
+
+    private Suggestion shopSuggestion(ShopEntity shop) {
+        return Suggestion.shop(shop.getShopId(), shop.getName(), shopPopularity.getOrDefault(shop.getShopId(), 0L));
+    }
+}
@@ -0,0 +1,126 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.analytics.BloomFilter;
+import com.wildeats.onlinecanteen.config.DemoDataSeededEvent;
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory Bloom filter of registered emails. A negative answer means the email is
+ * definitely unused, so registration can skip the lookup and rely on the unique index on
+ * {@code users.email}; a positive answer still needs a database check. Until the filter
+ * has been built every email is reported as possibly taken.
+ *
+ * Emails are lower-cased before hashing, which matches the case-insensitive collation of
+ * the column and can only add false positives.
+ */
+@Service
+public class EmailRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(EmailRegistry.class);
+
+    private final UserRepository userRepo;
+    private final long minExpectedUsers;
+    private final double falsePositiveRate;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+
+    public EmailRegistry(
+            UserRepository userRepo,
+            MeterRegistry meterRegistry,
+            @Value("${canteen.users.email-filter.expected-users:50000}") long minExpectedUsers,
+            @Value("${canteen.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepo = userRepo;
+        this.minExpectedUsers = minExpectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("canteen.users.email_filter.false_positive_rate", this, EmailRegistry::currentFalsePositiveRate)
+                .description("False-positive probability implied by the email Bloom filter's fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("canteen.users.email_filter.emails", this, registry -> registry.filter == null
+                        ? 0 : registry.filter.approximateCount())
+                .description("Emails added to the email Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the filter from the database, sized with headroom for growth
+     */
+    @UseBulkhead(Bulkhead.BACKGROUND)
+    @EventListener({ ApplicationReadyEvent.class, DemoDataSeededEvent.class })
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            List<String> emails = userRepo.findAllEmails();
+            BloomFilter fresh = new BloomFilter(Math.max(minExpectedUsers, emails.size() * 2L), falsePositiveRate);
+            for (String email : emails) {
+                fresh.put(normalize(email));
+            }
+            filter = fresh;
+            logger.info("Email filter built with {} emails ({} bits, {} hashes) in {} ms",
+                    emails.size(), fresh.getBitCount(), fresh.getHashCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild with more room once the filter holds more emails than it was sized for
+     */
+    @UseBulkhead(Bulkhead.BACKGROUND)
+    @Scheduled(fixedDelayString = "${canteen.users.email-filter.check-ms:600000}")
+    public void rebuildIfSaturated() {
+        BloomFilter current = filter;
+        if (current != null && current.isSaturated()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @param email The email to check
+     * @return false if no user can have this email; true if the database must be checked
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        return current == null || email == null || current.mightContain(normalize(email));
+    }
+
+    /**
+     * Record an email as registered
+     * @param email The email of a saved user
+     */
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null && email != null) {
+            current.put(normalize(email));
+        }
+    }
+
+    /**
+     * @return The current false-positive probability, or 1 before the filter is built
+     */
+    public double currentFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1.0 : current.expectedFpp();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
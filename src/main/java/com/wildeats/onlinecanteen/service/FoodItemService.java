@@ -5,10 +5,16 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
 import com.wildeats.onlinecanteen.entity.FoodItemEntity;
 import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.jfr.StockDecreaseEvent;
+import com.wildeats.onlinecanteen.metrics.CanteenMetrics;
 import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,13 +27,21 @@ public class FoodItemService {
     
     @Autowired
     private ShopService shopService;
+    
+    @Autowired
+    private List<MenuChangeListener> menuChangeListeners;
+    
+    @Autowired
+    private CanteenMetrics metrics;
 
     /**
      * Get all food items
      * @return List of all food items
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<FoodItemEntity> getAllFoodItems() {
-        logger.info("Fetching all food items");
+        logger.debug("Fetching all food items");
         return foodItemRepo.findAll();
     }
 
@@ -36,8 +50,10 @@ public class FoodItemService {
      * @param id The food item ID
      * @return The food item if found, null otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public FoodItemEntity getFoodItemById(Long id) {
-        logger.info("Fetching food item with ID: {}", id);
+        logger.debug("Fetching food item with ID: {}", id);
         Optional<FoodItemEntity> foodItem = foodItemRepo.findById(id);
         return foodItem.orElse(null);
     }
@@ -47,8 +63,10 @@ public class FoodItemService {
      * @param shopId The ID of the shop
      * @return List of food items for the shop
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<FoodItemEntity> getFoodItemsByShopId(Long shopId) {
-        logger.info("Fetching food items for shop with ID: {}", shopId);
+        logger.debug("Fetching food items for shop with ID: {}", shopId);
         return foodItemRepo.findByShopShopId(shopId);
     }
     
@@ -57,9 +75,16 @@ public class FoodItemService {
      * @param shopId The ID of the shop
      * @return List of available food items for the shop
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<FoodItemEntity> getAvailableFoodItemsByShopId(Long shopId) {
-        logger.info("Fetching available food items for shop with ID: {}", shopId);
-        return foodItemRepo.findByShopShopIdAndIsAvailableTrue(shopId);
+        logger.debug("Fetching available food items for shop with ID: {}", shopId);
+        Timer.Sample sample = metrics.start();
+        try {
+            return foodItemRepo.findByShopShopIdAndIsAvailableTrue(shopId);
+        } finally {
+            sample.stop(metrics.menuRead(shopId));
+        }
     }
 
     /**
@@ -69,7 +94,7 @@ public class FoodItemService {
      * @return The created food item
      */
     public FoodItemEntity createFoodItem(FoodItemEntity foodItem, Long shopId) {
-        logger.info("Creating new food item for shop with ID: {}", shopId);
+        logger.debug("Creating new food item for shop with ID: {}", shopId);
         
         ShopEntity shop = shopService.getShopById(shopId);
         if (shop == null) {
@@ -81,7 +106,9 @@ public class FoodItemService {
         foodItem.setCreatedAt(new java.util.Date());
         foodItem.setUpdatedAt(new java.util.Date());
         
-        return foodItemRepo.save(foodItem);
+        FoodItemEntity savedItem = foodItemRepo.save(foodItem);
+        menuChangeListeners.forEach(listener -> listener.onFoodItemSaved(savedItem));
+        return savedItem;
     }
 
     /**
@@ -90,7 +117,7 @@ public class FoodItemService {
      * @return The updated food item
      */
     public FoodItemEntity updateFoodItem(FoodItemEntity foodItem) {
-        logger.info("Updating food item with ID: {}", foodItem.getItemId());
+        logger.debug("Updating food item with ID: {}", foodItem.getItemId());
         
         FoodItemEntity existingItem = getFoodItemById(foodItem.getItemId());
         if (existingItem == null) {
@@ -107,7 +134,9 @@ public class FoodItemService {
         }
         
         foodItem.updateTimestamp();
-        return foodItemRepo.save(foodItem);
+        FoodItemEntity savedItem = foodItemRepo.save(foodItem);
+        menuChangeListeners.forEach(listener -> listener.onFoodItemSaved(savedItem));
+        return savedItem;
     }
     
     /**
@@ -117,7 +146,7 @@ public class FoodItemService {
      * @return The updated food item
      */
     public FoodItemEntity updateFoodItemQuantity(Long itemId, int quantity) {
-        logger.info("Updating quantity for food item with ID: {} to {}", itemId, quantity);
+        logger.debug("Updating quantity for food item with ID: {} to {}", itemId, quantity);
         
         FoodItemEntity foodItem = getFoodItemById(itemId);
         if (foodItem == null) {
@@ -131,7 +160,9 @@ public class FoodItemService {
         foodItem.setAvailable(quantity > 0);
         
         foodItem.updateTimestamp();
-        return foodItemRepo.save(foodItem);
+        FoodItemEntity savedItem = foodItemRepo.save(foodItem);
+        menuChangeListeners.forEach(listener -> listener.onFoodItemSaved(savedItem));
+        return savedItem;
     }
     
     /**
@@ -141,19 +172,39 @@ public class FoodItemService {
      * @return The updated food item, or null if there's not enough quantity
      */
     public FoodItemEntity decreaseFoodItemQuantity(Long itemId, int amount) {
-        logger.info("Decreasing quantity for food item with ID: {} by {}", itemId, amount);
-        
-        FoodItemEntity foodItem = getFoodItemById(itemId);
-        if (foodItem == null) {
-            logger.error("Food item with ID {} not found", itemId);
-            throw new IllegalArgumentException("Food item not found");
-        }
-        
-        if (foodItem.decreaseQuantity(amount)) {
-            return foodItemRepo.save(foodItem);
-        } else {
-            logger.error("Not enough quantity for food item with ID: {}", itemId);
-            return null;
+        logger.debug("Decreasing quantity for food item with ID: {} by {}", itemId, amount);
+        StockDecreaseEvent event = new StockDecreaseEvent();
+        event.begin();
+        event.outcome = StockDecreaseEvent.OUTCOME_NOT_FOUND;
+        FoodItemEntity foodItem = null;
+        try {
+            foodItem = getFoodItemById(itemId);
+            if (foodItem == null) {
+                logger.error("Food item with ID {} not found", itemId);
+                throw new IllegalArgumentException("Food item not found");
+            }
+
+            if (foodItem.decreaseQuantity(amount)) {
+                FoodItemEntity savedItem = foodItemRepo.save(foodItem);
+                menuChangeListeners.forEach(listener -> listener.onFoodItemSaved(savedItem));
+                event.outcome = StockDecreaseEvent.OUTCOME_DECREASED;
+                return savedItem;
+            } else {
+                logger.error("Not enough quantity for food item with ID: {}", itemId);
+                event.outcome = StockDecreaseEvent.OUTCOME_INSUFFICIENT;
+                return null;
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.itemId = itemId == null ? 0 : itemId;
+                event.requested = amount;
+                if (foodItem != null) {
+                    event.remaining = foodItem.getQuantity() == null ? 0 : foodItem.getQuantity();
+                    event.shopId = foodItem.getShop() == null ? 0 : foodItem.getShop().getShopId();
+                }
+                event.commit();
+            }
         }
     }
 
@@ -162,8 +213,9 @@ public class FoodItemService {
      * @param id The ID of the food item to delete
      */
     public void deleteFoodItem(Long id) {
-        logger.info("Deleting food item with ID: {}", id);
+        logger.debug("Deleting food item with ID: {}", id);
         foodItemRepo.deleteById(id);
+        menuChangeListeners.forEach(listener -> listener.onFoodItemDeleted(id));
     }
     
     /**
@@ -172,6 +224,8 @@ public class FoodItemService {
      * @param shopId The ID of the shop
      * @return true if the food item belongs to the shop, false otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public boolean isFoodItemInShop(Long itemId, Long shopId) {
         FoodItemEntity foodItem = getFoodItemById(itemId);
         return foodItem != null && foodItem.getShop() != null && 
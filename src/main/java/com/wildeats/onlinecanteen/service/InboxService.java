@@ -0,0 +1,40 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.entity.InboxMessageEntity;
+import com.wildeats.onlinecanteen.repository.InboxMessageRepository;
+
+/**
+ * Reads the in-app inbox; messages are written by the notification pipeline
+ */
+@Service
+public class InboxService {
+
+    private final InboxMessageRepository inboxRepo;
+    private final int pageSize;
+
+    public InboxService(InboxMessageRepository inboxRepo,
+            @Value("${canteen.notifications.inbox.page-size:50}") int pageSize) {
+        this.inboxRepo = inboxRepo;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Get a user's most recent inbox messages
+     * @param userId The ID of the user
+     * @return Up to {@code page-size} messages, newest first
+     */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    public List<InboxMessageEntity> getInbox(Long userId) {
+        return inboxRepo.findByUserIdOrderByIdDesc(userId, PageRequest.of(0, pageSize));
+    }
+}
@@ -0,0 +1,126 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind buffer for {@code users.last_login}. Logins only record a timestamp in
+ * memory; repeated logins by the same user coalesce into one entry, and the buffer is
+ * written out periodically (and on shutdown) as batched {@code UPDATE}s. The update never
+ * moves a timestamp backwards, so a late flush cannot overwrite a newer value.
+ */
+@Service
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class LastLoginWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginWriteBehind.class);
+
+    static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: flushing does JDBC I/O, which would pin a virtual thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${canteen.auth.last-login.batch-size:500}")
+    private int batchSize = 500;
+
+    public LastLoginWriteBehind(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record a login; the newest timestamp per user wins
+     * @param userId The ID of the user that logged in
+     * @param loginTimeMillis The login time in epoch milliseconds
+     */
+    public void record(Long userId, long loginTimeMillis) {
+        pending.merge(userId, loginTimeMillis, Math::max);
+    }
+
+    /**
+     * @return The number of users with an unflushed login
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all buffered timestamps to the database
+     * @return The number of rows sent
+     */
+    @Scheduled(
+            initialDelayString = "${canteen.auth.last-login.flush-ms:5000}",
+            fixedDelayString = "${canteen.auth.last-login.flush-ms:5000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int sent = flush();
+        logger.info("Flushed {} last-login timestamps on shutdown", sent);
+    }
+
+    private int flushPending() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        int sent = 0;
+        for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            Long loginTime = entry.getValue();
+            // Only drop the entry if no newer login arrived meanwhile
+            if (!pending.remove(userId, loginTime)) {
+                continue;
+            }
+            Timestamp timestamp = new Timestamp(loginTime);
+            batch.add(new Object[] { timestamp, userId, timestamp });
+            if (batch.size() == batchSize) {
+                sent += write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sent += write(batch);
+        }
+
+        logger.debug("Flushed {} last-login timestamps", sent);
+        return sent;
+    }
+
+    private int write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (RuntimeException e) {
+            // Put the timestamps back so the next flush retries them
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).getTime());
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+}
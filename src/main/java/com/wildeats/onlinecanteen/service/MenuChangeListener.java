@@ -0,0 +1,36 @@
+package com.wildeats.onlinecanteen.service;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+
+/**
+ * Notified by {@link FoodItemService} and {@link ShopService} whenever the menu changes,
+ * so in-memory views of the menu can update incrementally. Implementations should defer
+ * their work with {@link AfterCommit}.
+ */
+public interface MenuChangeListener {
+
+    /**
+     * A food item was created or updated
+     * @param foodItem The saved food item
+     */
+    void onFoodItemSaved(FoodItemEntity foodItem);
+
+    /**
+     * A food item was deleted
+     * @param itemId The ID of the deleted food item
+     */
+    void onFoodItemDeleted(Long itemId);
+
+    /**
+     * A shop was updated or soft-deleted
+     * @param shop The saved shop
+     */
+    void onShopSaved(ShopEntity shop);
+
+    /**
+     * A shop was hard-deleted
+     * @param shopId The ID of the deleted shop
+     */
+    void onShopDeleted(Long shopId);
+}
@@ -0,0 +1,117 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.config.DemoDataSeededEvent;
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.dto.MenuSearchResult;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.search.MenuDocument;
+import com.wildeats.onlinecanteen.search.MenuSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the in-memory {@link MenuSearchIndex} in step with the menu. The index is built
+ * once the application is ready (and again after background demo seeding) and then
+ * updated through {@link MenuChangeListener} after each mutation commits.
+ */
+@Service
+public class MenuSearchService implements MenuChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(MenuSearchService.class);
+
+    private final MenuSearchIndex index = new MenuSearchIndex();
+    // Overlapping rebuilds (startup and background demo seeding) apply in the order they read
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Value("${canteen.search.max-results:50}")
+    private int maxResults;
+
+    /**
+     * Build the index from the database
+     */
+    @UseBulkhead(Bulkhead.BACKGROUND)
+    @EventListener({ ApplicationReadyEvent.class, DemoDataSeededEvent.class })
+    public void rebuildIndex() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            List<MenuDocument> documents = new ArrayList<>();
+            for (FoodItemEntity foodItem : foodItemRepo.findAll()) {
+                documents.add(MenuDocument.of(foodItem));
+            }
+            index.rebuild(documents);
+            logger.info("Menu search index built with {} items in {} ms",
+                    documents.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Search available items of active shops by name and description
+     * @param query The free-text query
+     * @param limit The maximum number of results
+     * @return Ranked search results
+     */
+    public List<MenuSearchResult> search(String query, int limit) {
+        List<MenuSearchResult> results = new ArrayList<>();
+        for (MenuSearchIndex.Hit hit : index.search(query, Math.min(limit, maxResults))) {
+            MenuDocument document = hit.document();
+            results.add(new MenuSearchResult(
+                    document.itemId(),
+                    document.name(),
+                    document.description(),
+                    document.price(),
+                    document.imageUrl(),
+                    document.shopId(),
+                    document.shopName(),
+                    hit.score()));
+        }
+        return results;
+    }
+
+    @Override
+    public void onFoodItemSaved(FoodItemEntity foodItem) {
+        if (foodItem == null || foodItem.getItemId() == null) {
+            return;
+        }
+        MenuDocument document = MenuDocument.of(foodItem);
+        AfterCommit.run(() -> index.upsert(document));
+    }
+
+    @Override
+    public void onFoodItemDeleted(Long itemId) {
+        AfterCommit.run(() -> index.remove(itemId));
+    }
+
+    @Override
+    public void onShopSaved(ShopEntity shop) {
+        if (shop == null || shop.getShopId() == null) {
+            return;
+        }
+        Long shopId = shop.getShopId();
+        String name = shop.getName();
+        boolean active = shop.isActive();
+        AfterCommit.run(() -> index.updateShop(shopId, name, active));
+    }
+
+    @Override
+    public void onShopDeleted(Long shopId) {
+        AfterCommit.run(() -> index.removeShop(shopId));
+    }
+}
@@ -0,0 +1,149 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves terminal orders out of the live {@code orders} / {@code order_items} tables into
+ * their archive counterparts. Each chunk is copied and deleted in its own short
+ * transaction so row locks are held only briefly and checkout is never stalled.
+ */
+@Service
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class OrderArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    /**
+     * Orders in these statuses never change again and can be archived
+     */
+    static final Set<OrderEntity.Status> TERMINAL_STATUSES =
+            EnumSet.of(OrderEntity.Status.COMPLETED, OrderEntity.Status.CANCELLED);
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepo;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${canteen.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${canteen.archive.min-age-days:30}")
+    private int minAgeDays;
+
+    @Value("${canteen.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${canteen.archive.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${canteen.archive.pause-between-chunks-ms:50}")
+    private long pauseBetweenChunksMs;
+
+    public OrderArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check whether an order status is terminal
+     * @param status The status to check
+     * @return true if orders in this status may live in the archive
+     */
+    public static boolean isTerminal(OrderEntity.Status status) {
+        return TERMINAL_STATUSES.contains(status);
+    }
+
+    /**
+     * Scheduled entry point; archives up to {@code max-chunks-per-run} chunks
+     */
+    @Scheduled(
+            initialDelayString = "${canteen.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${canteen.archive.interval-ms:3600000}")
+    public void archiveTerminalOrders() {
+        if (!enabled) {
+            return;
+        }
+
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(minAgeDays));
+        int archived = archiveOrdersBefore(cutoff);
+        if (archived > 0) {
+            logger.info("Archived {} terminal orders last updated before {}", archived, cutoff);
+        }
+    }
+
+    /**
+     * Archive terminal orders last updated before a cutoff, in bounded chunks
+     * @param cutoff Only orders updated before this time are archived
+     * @return The number of orders archived
+     */
+    public int archiveOrdersBefore(Date cutoff) {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+
+            if (moved < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int archiveChunk(Date cutoff) {
+        List<Long> orderIds = orderRepo.findIdsByStatusInAndUpdatedAtBefore(
+                TERMINAL_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        // Parents first on the way in, children first on the way out
+        archivedOrderRepo.copyOrders(orderIds);
+        archivedOrderRepo.copyOrderItems(orderIds);
+        archivedOrderRepo.deleteLiveOrderItems(orderIds);
+        int deleted = archivedOrderRepo.deleteLiveOrders(orderIds);
+
+        logger.debug("Archived chunk of {} orders (IDs {}..{})",
+                deleted, orderIds.get(0), orderIds.get(orderIds.size() - 1));
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (pauseBetweenChunksMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunksMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
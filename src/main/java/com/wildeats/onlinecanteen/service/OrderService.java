@@ -1,5 +1,6 @@
 package com.wildeats.onlinecanteen.service;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
@@ -8,13 +9,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.ReadYourWritesTracker;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.entity.ArchivedOrderEntity;
 import com.wildeats.onlinecanteen.entity.OrderEntity;
 import com.wildeats.onlinecanteen.entity.OrderItemEntity;
 import com.wildeats.onlinecanteen.entity.FoodItemEntity;
 import com.wildeats.onlinecanteen.entity.ShopEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.jfr.OrderPlacementEvent;
+import com.wildeats.onlinecanteen.jfr.OrderStatusChangeEvent;
+import com.wildeats.onlinecanteen.metrics.CanteenMetrics;
+import com.wildeats.onlinecanteen.outbox.OrderCreated;
+import com.wildeats.onlinecanteen.outbox.OrderOutbox;
+import com.wildeats.onlinecanteen.outbox.OrderStatusChanged;
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
 import com.wildeats.onlinecanteen.repository.OrderRepository;
 import com.wildeats.onlinecanteen.repository.OrderItemRepository;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +41,9 @@ public class OrderService {
     @Autowired
     private OrderItemRepository orderItemRepo;
     
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepo;
+    
     @Autowired
     private FoodItemService foodItemService;
     
@@ -36,45 +52,77 @@ public class OrderService {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private ShopAnalyticsService shopAnalyticsService;
+    
+    @Autowired
+    private AutocompleteService autocompleteService;
+    
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    
+    @Autowired
+    private CanteenMetrics metrics;
+    
+    @Autowired
+    private OrderOutbox orderOutbox;
 
     /**
      * Get all orders
      * @return List of all orders
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<OrderEntity> getAllOrders() {
-        logger.info("Fetching all orders");
+        logger.debug("Fetching all orders");
         return orderRepo.findAll();
     }
 
     /**
-     * Get an order by its ID
+     * Get an order by its ID, looking in the archive if it is no longer live
      * @param id The order ID
      * @return The order if found, null otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public OrderEntity getOrderById(Long id) {
-        logger.info("Fetching order with ID: {}", id);
+        logger.debug("Fetching order with ID: {}", id);
         Optional<OrderEntity> order = orderRepo.findById(id);
-        return order.orElse(null);
+        if (order.isPresent()) {
+            return order.get();
+        }
+        return archivedOrderRepo.findWithItemsByOrderId(id)
+                .map(ArchivedOrderEntity::toOrderEntity)
+                .orElse(null);
     }
     
     /**
-     * Get all orders for a specific customer
+     * Get all orders for a specific customer, including archived ones
      * @param customerId The ID of the customer
      * @return List of orders for the customer
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<OrderEntity> getOrdersByCustomerId(Long customerId) {
-        logger.info("Fetching orders for customer with ID: {}", customerId);
-        return orderRepo.findByCustomerIdOrderByCreatedAtDesc(customerId);
+        logger.debug("Fetching orders for customer with ID: {}", customerId);
+        return mergeNewestFirst(
+                orderRepo.findByCustomerIdOrderByCreatedAtDesc(customerId),
+                archivedOrderRepo.findByCustomerIdOrderByCreatedAtDesc(customerId));
     }
     
     /**
-     * Get all orders for a specific shop
+     * Get all orders for a specific shop, including archived ones
      * @param shopId The ID of the shop
      * @return List of orders for the shop
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<OrderEntity> getOrdersByShopId(Long shopId) {
-        logger.info("Fetching orders for shop with ID: {}", shopId);
-        return orderRepo.findByShopShopIdOrderByCreatedAtDesc(shopId);
+        logger.debug("Fetching orders for shop with ID: {}", shopId);
+        return mergeNewestFirst(
+                orderRepo.findByShopShopIdOrderByCreatedAtDesc(shopId),
+                archivedOrderRepo.findByShopShopIdOrderByCreatedAtDesc(shopId));
     }
     
     /**
@@ -83,9 +131,15 @@ public class OrderService {
      * @param status The status of the orders
      * @return List of orders for the shop with the specified status
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<OrderEntity> getOrdersByShopIdAndStatus(Long shopId, OrderEntity.Status status) {
-        logger.info("Fetching orders for shop with ID: {} and status: {}", shopId, status);
-        return orderRepo.findByShopShopIdAndStatusOrderByCreatedAtDesc(shopId, status);
+        logger.debug("Fetching orders for shop with ID: {} and status: {}", shopId, status);
+        List<OrderEntity> live = orderRepo.findByShopShopIdAndStatusOrderByCreatedAtDesc(shopId, status);
+        if (!OrderArchiveService.isTerminal(status)) {
+            return live;
+        }
+        return mergeNewestFirst(live, archivedOrderRepo.findByShopShopIdAndStatusOrderByCreatedAtDesc(shopId, status));
     }
     
     /**
@@ -94,9 +148,35 @@ public class OrderService {
      * @param status The status of the orders
      * @return List of orders for the customer with the specified status
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<OrderEntity> getOrdersByCustomerIdAndStatus(Long customerId, OrderEntity.Status status) {
-        logger.info("Fetching orders for customer with ID: {} and status: {}", customerId, status);
-        return orderRepo.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status);
+        logger.debug("Fetching orders for customer with ID: {} and status: {}", customerId, status);
+        List<OrderEntity> live = orderRepo.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status);
+        if (!OrderArchiveService.isTerminal(status)) {
+            return live;
+        }
+        return mergeNewestFirst(live, archivedOrderRepo.findByCustomerIdAndStatusOrderByCreatedAtDesc(customerId, status));
+    }
+    
+    /**
+     * Combine live and archived orders into one list, newest first
+     * @param live Live orders
+     * @param archived Archived orders
+     * @return The combined list
+     */
+    private List<OrderEntity> mergeNewestFirst(List<OrderEntity> live, List<ArchivedOrderEntity> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<OrderEntity> merged = new ArrayList<>(live.size() + archived.size());
+        merged.addAll(live);
+        for (ArchivedOrderEntity archivedOrder : archived) {
+            merged.add(archivedOrder.toOrderEntity());
+        }
+        merged.sort(Comparator.comparing(OrderEntity::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
     }
 
     /**
@@ -107,10 +187,40 @@ public class OrderService {
      * @param notes Any notes for the order
      * @return The created order
      */
+    @UseBulkhead(Bulkhead.CHECKOUT)
     @Transactional
     public OrderEntity createOrder(Long customerId, Long shopId, List<OrderItemEntity> orderItems, String notes) {
-        logger.info("Creating new order for customer with ID: {} at shop with ID: {}", customerId, shopId);
-        
+        logger.debug("Creating new order for customer with ID: {} at shop with ID: {}", customerId, shopId);
+        Timer.Sample total = metrics.start();
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        event.begin();
+        String outcome = CanteenMetrics.OUTCOME_ERROR;
+        OrderEntity savedOrder = null;
+        try {
+            savedOrder = placeOrder(customerId, shopId, orderItems, notes, event);
+            outcome = CanteenMetrics.OUTCOME_SUCCESS;
+            return savedOrder;
+        } catch (IllegalArgumentException e) {
+            outcome = CanteenMetrics.OUTCOME_REJECTED;
+            throw e;
+        } finally {
+            total.stop(metrics.orderCreate(outcome));
+            event.end();
+            if (event.shouldCommit()) {
+                event.customerId = customerId == null ? 0 : customerId;
+                event.shopId = shopId == null ? 0 : shopId;
+                event.lineCount = orderItems == null ? 0 : orderItems.size();
+                event.outcome = outcome;
+                event.orderId = savedOrder == null ? 0 : savedOrder.getOrderId();
+                event.commit();
+            }
+        }
+    }
+
+    private OrderEntity placeOrder(Long customerId, Long shopId, List<OrderItemEntity> orderItems, String notes,
+            OrderPlacementEvent event) {
+        // Validation: customer, shop, items and stock levels
+        Timer.Sample phase = metrics.start();
         UserEntity customer = userService.getUserById(customerId);
         if (customer == null) {
             logger.error("Customer with ID {} not found", customerId);
@@ -132,7 +242,7 @@ public class OrderService {
         order.setCreatedAt(new java.util.Date());
         order.setUpdatedAt(new java.util.Date());
         
-        // Add order items and decrease food item quantities
+        // Add order items
         for (OrderItemEntity item : orderItems) {
             FoodItemEntity foodItem = foodItemService.getFoodItemById(item.getFoodItem().getItemId());
             if (foodItem == null) {
@@ -150,6 +260,9 @@ public class OrderService {
             // Check if there's enough quantity
             if (foodItem.getQuantity() < item.getQuantity()) {
                 logger.error("Not enough quantity for food item with ID: {}", foodItem.getItemId());
+                metrics.recordInsufficientStock();
+                event.stockCheck = OrderPlacementEvent.STOCK_INSUFFICIENT;
+                event.shortItemId = foodItem.getItemId();
                 throw new IllegalArgumentException("Not enough quantity for " + foodItem.getName());
             }
             
@@ -160,18 +273,42 @@ public class OrderService {
             
             // Add to order
             order.addOrderItem(item);
-            
-            // Decrease food item quantity
-            foodItemService.decreaseFoodItemQuantity(foodItem.getItemId(), item.getQuantity());
         }
+        phase.stop(metrics.orderCreatePhase(CanteenMetrics.PHASE_VALIDATION));
+        
+        // Stock: decrease food item quantities; an item listed twice can still run out here
+        phase = metrics.start();
+        for (OrderItemEntity item : order.getOrderItems()) {
+            FoodItemEntity foodItem = item.getFoodItem();
+            if (foodItemService.decreaseFoodItemQuantity(foodItem.getItemId(), item.getQuantity()) == null) {
+                metrics.recordInsufficientStock();
+                event.stockCheck = OrderPlacementEvent.STOCK_RAN_OUT;
+                event.shortItemId = foodItem.getItemId();
+                throw new IllegalArgumentException("Not enough quantity for " + foodItem.getName());
+            }
+        }
+        phase.stop(metrics.orderCreatePhase(CanteenMetrics.PHASE_STOCK));
+        event.stockCheck = OrderPlacementEvent.STOCK_OK;
         
         // Calculate total amount
         order.calculateTotalAmount();
         
-        // Save the order
+        // Persist: save the order
+        phase = metrics.start();
         OrderEntity savedOrder = orderRepo.save(order);
+        phase.stop(metrics.orderCreatePhase(CanteenMetrics.PHASE_PERSIST));
+        
+        // The customer's next reads go to the primary until the replica has the order
+        readYourWritesTracker.recordWrite(customerId);
+        
+        // Feed the trending / unique-customer sketches and suggestion weights once the order commits
+        shopAnalyticsService.recordOrder(savedOrder);
+        autocompleteService.recordOrder(savedOrder);
         
-        logger.info("Order created with ID: {}", savedOrder.getOrderId());
+        // Other reactions to the order (notifications, dashboards) run from the outbox after commit
+        orderOutbox.append(OrderCreated.of(savedOrder));
+        
+        logger.debug("Order created with ID: {}", savedOrder.getOrderId());
         return savedOrder;
     }
 
@@ -181,29 +318,68 @@ public class OrderService {
      * @param status The new status
      * @return The updated order
      */
+    @UseBulkhead(Bulkhead.CHECKOUT)
     @Transactional
     public OrderEntity updateOrderStatus(Long orderId, OrderEntity.Status status) {
-        logger.info("Updating status for order with ID: {} to {}", orderId, status);
-        
-        OrderEntity order = getOrderById(orderId);
+        logger.debug("Updating status for order with ID: {} to {}", orderId, status);
+        Timer.Sample sample = metrics.start();
+        OrderStatusChangeEvent event = new OrderStatusChangeEvent();
+        event.begin();
+        event.outcome = CanteenMetrics.OUTCOME_ERROR;
+        try {
+            OrderEntity updated = changeStatus(orderId, status, event);
+            event.outcome = CanteenMetrics.OUTCOME_SUCCESS;
+            return updated;
+        } catch (IllegalArgumentException e) {
+            event.outcome = CanteenMetrics.OUTCOME_REJECTED;
+            throw e;
+        } finally {
+            sample.stop(metrics.orderStatusUpdate(String.valueOf(status)));
+            event.end();
+            if (event.shouldCommit()) {
+                event.orderId = orderId == null ? 0 : orderId;
+                event.toStatus = String.valueOf(status);
+                event.commit();
+            }
+        }
+    }
+
+    private OrderEntity changeStatus(Long orderId, OrderEntity.Status status, OrderStatusChangeEvent event) {
+        // Only live orders can change; archived ones are terminal by definition
+        OrderEntity order = orderRepo.findById(orderId).orElse(null);
         if (order == null) {
+            if (archivedOrderRepo.existsById(orderId)) {
+                logger.error("Order with ID {} is archived and cannot be modified", orderId);
+                throw new IllegalArgumentException("Archived orders cannot be modified");
+            }
             logger.error("Order with ID {} not found", orderId);
             throw new IllegalArgumentException("Order not found");
         }
         
+        event.shopId = order.getShop() == null ? 0 : order.getShop().getShopId();
+        event.fromStatus = String.valueOf(order.getStatus());
+        event.lineCount = order.getOrderItems().size();
+
         // If cancelling an order, restore food item quantities
         if (status == OrderEntity.Status.CANCELLED && order.getStatus() != OrderEntity.Status.CANCELLED) {
             for (OrderItemEntity item : order.getOrderItems()) {
                 FoodItemEntity foodItem = item.getFoodItem();
                 foodItem.increaseQuantity(item.getQuantity());
                 foodItemService.updateFoodItem(foodItem);
+                metrics.recordCancellationRestock();
+                event.restockedLines++;
             }
         }
         
+        OrderEntity.Status fromStatus = order.getStatus();
         order.setStatus(status);
         order.updateTimestamp();
         
-        return orderRepo.save(order);
+        OrderEntity saved = orderRepo.save(order);
+        if (fromStatus != status) {
+            orderOutbox.append(OrderStatusChanged.of(saved, fromStatus));
+        }
+        return saved;
     }
 
     /**
@@ -211,9 +387,10 @@ public class OrderService {
      * @param orderId The ID of the order to cancel
      * @return The cancelled order
      */
+    @UseBulkhead(Bulkhead.CHECKOUT)
     @Transactional
     public OrderEntity cancelOrder(Long orderId) {
-        logger.info("Cancelling order with ID: {}", orderId);
+        logger.debug("Cancelling order with ID: {}", orderId);
         return updateOrderStatus(orderId, OrderEntity.Status.CANCELLED);
     }
     
@@ -223,6 +400,8 @@ public class OrderService {
      * @param customerId The ID of the customer
      * @return true if the order belongs to the customer, false otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public boolean isOrderOwnedByCustomer(Long orderId, Long customerId) {
         OrderEntity order = getOrderById(orderId);
         return order != null && order.getCustomer() != null && 
@@ -235,6 +414,8 @@ public class OrderService {
      * @param shopId The ID of the shop
      * @return true if the order is from the shop, false otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public boolean isOrderFromShop(Long orderId, Long shopId) {
         OrderEntity order = getOrderById(orderId);
         return order != null && order.getShop() != null && 
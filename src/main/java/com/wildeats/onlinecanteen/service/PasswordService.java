@@ -0,0 +1,115 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hashes and verifies passwords with BCrypt. Verification runs on the bounded
+ * {@code passwordHashingExecutor} so request threads are never tied up computing hashes;
+ * when that pool is saturated the returned future fails with a
+ * {@link RejectedExecutionException}.
+ *
+ * Rows created before hashing was introduced still hold the plaintext password. They are
+ * compared in constant time and reported by {@link #needsRehash(String)} so the caller
+ * can upgrade them on the next successful login.
+ */
+@Service
+public class PasswordService {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final Executor executor;
+    private final String dummyHash;
+
+    public PasswordService(BCryptPasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor) {
+        this.encoder = passwordEncoder;
+        this.executor = passwordHashingExecutor;
+        this.dummyHash = passwordEncoder.encode("canteen-dummy-password");
+    }
+
+    /**
+     * Hash a password on the calling thread
+     * @param rawPassword The plaintext password
+     * @return The BCrypt hash
+     */
+    public String hash(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    /**
+     * Hash a password on the hashing pool
+     * @param rawPassword The plaintext password
+     * @return A future with the BCrypt hash
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password against a stored value on the hashing pool
+     * @param rawPassword The password supplied by the user
+     * @param storedPassword The stored hash (or legacy plaintext); null to burn the same
+     *        time as a real check, e.g. for unknown accounts
+     * @return A future that completes with true if the password matches
+     */
+    public CompletableFuture<Boolean> verifyAsync(String rawPassword, String storedPassword) {
+        return submit(() -> matches(rawPassword, storedPassword));
+    }
+
+    /**
+     * Check a password against a stored value on the calling thread
+     * @param rawPassword The password supplied by the user
+     * @param storedPassword The stored hash (or legacy plaintext)
+     * @return true if the password matches
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null) {
+            return false;
+        }
+        if (storedPassword == null) {
+            encoder.matches(rawPassword, dummyHash);
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return encoder.matches(rawPassword, storedPassword);
+    }
+
+    /**
+     * @param storedPassword The stored password value
+     * @return true if the value is plaintext or hashed with a lower cost than configured
+     */
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @param storedPassword The stored password value
+     * @return true if the value is a BCrypt hash
+     */
+    public static boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT.matcher(storedPassword).matches();
+    }
+}
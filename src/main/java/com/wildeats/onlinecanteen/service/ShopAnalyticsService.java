@@ -0,0 +1,127 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.wildeats.onlinecanteen.analytics.HyperLogLog;
+import com.wildeats.onlinecanteen.analytics.SpaceSavingTopK;
+import com.wildeats.onlinecanteen.dto.TrendingItem;
+import com.wildeats.onlinecanteen.dto.UniqueCustomersResponse;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-shop streaming analytics kept in bounded memory: a Space-Saving sketch of the most
+ * ordered food items and a daily HyperLogLog of distinct customers. Both are updated when
+ * an order commits and answer queries without touching the database.
+ */
+@Service
+public class ShopAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(ShopAnalyticsService.class);
+
+    private final Map<Long, SpaceSavingTopK<Long>> trendingByShop = new ConcurrentHashMap<>();
+    private final Map<Long, DailyCustomers> customersByShop = new ConcurrentHashMap<>();
+    private final Map<Long, String> itemNames = new ConcurrentHashMap<>();
+
+    @Value("${canteen.analytics.trending.capacity:64}")
+    private int trendingCapacity = 64;
+
+    @Value("${canteen.analytics.unique-customers.precision:12}")
+    private int uniqueCustomersPrecision = 12;
+
+    /**
+     * Record a newly created order. When called inside a transaction the sketches are
+     * only updated after the transaction commits, so rolled-back orders are never counted.
+     * @param order The order that was placed
+     */
+    public void recordOrder(OrderEntity order) {
+        if (order.getShop() == null || order.getCustomer() == null) {
+            return;
+        }
+
+        // Copy what we need now; the entity may be detached by the time the commit fires
+        Long shopId = order.getShop().getShopId();
+        Long customerId = order.getCustomer().getId();
+        List<long[]> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItemEntity item : order.getOrderItems()) {
+            if (item.getFoodItem() == null || item.getFoodItem().getItemId() == null) {
+                continue;
+            }
+            itemNames.put(item.getFoodItem().getItemId(), item.getFoodItem().getName());
+            lines.add(new long[] { item.getFoodItem().getItemId(), item.getQuantity() });
+        }
+
+        AfterCommit.run(() -> apply(shopId, customerId, lines));
+    }
+
+    /**
+     * Get the most ordered food items of a shop
+     * @param shopId The ID of the shop
+     * @param limit The maximum number of items to return, clamped to [1, trending capacity]
+     * @return Trending items ordered by descending estimated quantity
+     */
+    public List<TrendingItem> getTrendingItems(Long shopId, int limit) {
+        SpaceSavingTopK<Long> sketch = trendingByShop.get(shopId);
+        if (sketch == null) {
+            return List.of();
+        }
+
+        int k = Math.max(1, Math.min(limit, trendingCapacity));
+        List<TrendingItem> result = new ArrayList<>();
+        for (SpaceSavingTopK.Estimate<Long> estimate : sketch.top(k)) {
+            result.add(new TrendingItem(
+                    estimate.item(),
+                    itemNames.get(estimate.item()),
+                    estimate.count(),
+                    estimate.error()));
+        }
+        return result;
+    }
+
+    /**
+     * Get the estimated number of distinct customers who ordered from a shop today
+     * @param shopId The ID of the shop
+     * @return The estimate together with its relative standard error
+     */
+    public UniqueCustomersResponse getUniqueCustomersToday(Long shopId) {
+        LocalDate today = LocalDate.now();
+        DailyCustomers daily = customersByShop.get(shopId);
+        HyperLogLog sketch = daily != null && daily.day.equals(today)
+                ? daily.sketch
+                : new HyperLogLog(uniqueCustomersPrecision);
+
+        return new UniqueCustomersResponse(
+                shopId,
+                today.toString(),
+                sketch.cardinality(),
+                sketch.relativeStandardError());
+    }
+
+    private void apply(Long shopId, Long customerId, List<long[]> lines) {
+        SpaceSavingTopK<Long> trending = trendingByShop.computeIfAbsent(
+                shopId, id -> new SpaceSavingTopK<>(trendingCapacity));
+        for (long[] line : lines) {
+            trending.offer(line[0], line[1]);
+        }
+
+        LocalDate today = LocalDate.now();
+        DailyCustomers daily = customersByShop.compute(shopId, (id, current) ->
+                current != null && current.day.equals(today)
+                        ? current
+                        : new DailyCustomers(today, new HyperLogLog(uniqueCustomersPrecision)));
+        daily.sketch.add(customerId);
+
+        logger.debug("Recorded order analytics for shop with ID: {}", shopId);
+    }
+
+    private record DailyCustomers(LocalDate day, HyperLogLog sketch) {
+    }
+}
@@ -5,7 +5,10 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
 import com.wildeats.onlinecanteen.entity.ShopEntity;
 import com.wildeats.onlinecanteen.entity.UserEntity;
 import com.wildeats.onlinecanteen.repository.ShopRepository;
@@ -18,13 +21,18 @@ public class ShopService {
 
     @Autowired
     private ShopRepository shopRepo;
+    
+    @Autowired
+    private List<MenuChangeListener> menuChangeListeners;
 
     /**
      * Get all active shops
      * @return List of all active shops
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<ShopEntity> getAllShops() {
-        logger.info("Fetching all shops");
+        logger.debug("Fetching all shops");
         return shopRepo.findByIsActiveTrue();
     }
 
@@ -33,8 +41,10 @@ public class ShopService {
      * @param id The shop ID
      * @return The shop if found, null otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public ShopEntity getShopById(Long id) {
-        logger.info("Fetching shop with ID: {}", id);
+        logger.debug("Fetching shop with ID: {}", id);
         Optional<ShopEntity> shop = shopRepo.findById(id);
         return shop.orElse(null);
     }
@@ -44,8 +54,10 @@ public class ShopService {
      * @param userId The ID of the shop owner
      * @return List of shops owned by the user
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public List<ShopEntity> getShopsByOwnerId(Long userId) {
-        logger.info("Fetching shops for owner with ID: {}", userId);
+        logger.debug("Fetching shops for owner with ID: {}", userId);
         return shopRepo.findByOwnerIdAndIsActiveTrue(userId);
     }
     
@@ -55,6 +67,8 @@ public class ShopService {
      * @param shopId The ID of the shop
      * @return true if the user owns the shop, false otherwise
      */
+    @UseBulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
     public boolean isShopOwnedByUser(Long userId, Long shopId) {
         ShopEntity shop = getShopById(shopId);
         return shop != null && shop.getOwner() != null && shop.getOwner().getId().equals(userId);
@@ -67,12 +81,14 @@ public class ShopService {
      * @return The created shop with generated ID
      */
     public ShopEntity createShop(ShopEntity shop, UserEntity owner) {
-        logger.info("Creating new shop: {} with owner ID: {}", shop.getName(), owner.getId());
+        logger.debug("Creating new shop: {} with owner ID: {}", shop.getName(), owner.getId());
         shop.setOwner(owner);
         shop.setCreatedAt(new java.util.Date());
         shop.setUpdatedAt(new java.util.Date());
         shop.setActive(true);
-        return shopRepo.save(shop);
+        ShopEntity savedShop = shopRepo.save(shop);
+        menuChangeListeners.forEach(listener -> listener.onShopSaved(savedShop));
+        return savedShop;
     }
     
     /**
@@ -81,12 +97,14 @@ public class ShopService {
      * @return The created shop with generated ID
      */
     public ShopEntity createShop(ShopEntity shop) {
-        logger.info("Creating new shop: {}", shop.getName());
+        logger.debug("Creating new shop: {}", shop.getName());
         if (shop.getCreatedAt() == null) {
             shop.setCreatedAt(new java.util.Date());
         }
         shop.setUpdatedAt(new java.util.Date());
-        return shopRepo.save(shop);
+        ShopEntity savedShop = shopRepo.save(shop);
+        menuChangeListeners.forEach(listener -> listener.onShopSaved(savedShop));
+        return savedShop;
     }
 
     /**
@@ -95,9 +113,11 @@ public class ShopService {
      * @return The updated shop
      */
     public ShopEntity updateShop(ShopEntity shop) {
-        logger.info("Updating shop with ID: {}", shop.getShopId());
+        logger.debug("Updating shop with ID: {}", shop.getShopId());
         shop.updateTimestamp();
-        return shopRepo.save(shop);
+        ShopEntity savedShop = shopRepo.save(shop);
+        menuChangeListeners.forEach(listener -> listener.onShopSaved(savedShop));
+        return savedShop;
     }
 
     /**
@@ -105,12 +125,13 @@ public class ShopService {
      * @param id The ID of the shop to delete
      */
     public void softDeleteShop(Long id) {
-        logger.info("Soft deleting shop with ID: {}", id);
+        logger.debug("Soft deleting shop with ID: {}", id);
         ShopEntity shop = getShopById(id);
         if (shop != null) {
             shop.setActive(false);
             shop.updateTimestamp();
-            shopRepo.save(shop);
+            ShopEntity savedShop = shopRepo.save(shop);
+            menuChangeListeners.forEach(listener -> listener.onShopSaved(savedShop));
         }
     }
     
@@ -119,7 +140,8 @@ public class ShopService {
      * @param id The ID of the shop to delete
      */
     public void deleteShop(Long id) {
-        logger.info("Hard deleting shop with ID: {}", id);
+        logger.debug("Hard deleting shop with ID: {}", id);
         shopRepo.deleteById(id);
+        menuChangeListeners.forEach(listener -> listener.onShopDeleted(id));
     }
 }
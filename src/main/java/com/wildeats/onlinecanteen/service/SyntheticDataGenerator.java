@@ -0,0 +1,571 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk-loads a synthetic campus for scale tests: sellers and shops, menus, customers and
+ * months of completed order history.
+ *
+ * Orders follow a canteen day (breakfast, a lunch peak around noon, an afternoon snack),
+ * quieter weekends and a few popular stalls. Everything is written with batched JDBC
+ * inserts (multi-row with {@code rewriteBatchedStatements=true}); order IDs are assigned
+ * up front so days load in parallel and {@code order_items} never waits on generated keys.
+ * In {@code LOAD_DATA} mode orders and their items go through
+ * {@code LOAD DATA LOCAL INFILE} instead, which needs {@code allowLoadLocalInfile=true} on
+ * the JDBC URL and {@code local_infile} on the server.
+ *
+ * The load is not one transaction, so it writes a row to {@code synthetic_loads} as its
+ * last step and only that marker counts as loaded. Synthetic rows without one are left
+ * from an interrupted load; they are removed before loading again.
+ *
+ * Synthetic accounts use the {@value #EMAIL_DOMAIN} domain and the password
+ * {@value #PASSWORD}; the startup load is skipped once loaded. It runs on
+ * {@link ApplicationReadyEvent} ahead of the search and email index rebuilds, after
+ * {@code DataInitializer}, so the demo accounts stay.
+ */
+@Service
+public class SyntheticDataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final String EMAIL_DOMAIN = "synthetic.campus.edu";
+    public static final String PASSWORD = "password123";
+
+    public enum Mode {
+        BATCH,
+        LOAD_DATA
+    }
+
+    /**
+     * What to generate
+     * @param shops Number of shops, each with its own seller
+     * @param itemsPerShop Menu size per shop
+     * @param customers Number of customers
+     * @param months Months of order history, ending yesterday
+     * @param ordersPerDay Mean orders on a weekday across the campus
+     * @param maxLinesPerOrder Upper bound on lines per order
+     * @param dishes Menu item names, rotated per shop and numbered once a menu outgrows them
+     */
+    public record Plan(int shops, int itemsPerShop, int customers, int months, int ordersPerDay, int maxLinesPerOrder,
+            List<String> dishes) {
+
+        /**
+         * A plan with the built-in canteen dishes
+         */
+        public Plan(int shops, int itemsPerShop, int customers, int months, int ordersPerDay, int maxLinesPerOrder) {
+            this(shops, itemsPerShop, customers, months, ordersPerDay, maxLinesPerOrder, List.of(DISHES));
+        }
+    }
+
+    public record Summary(long users, long shops, long foodItems, long orders, long orderItems, long elapsedMs) {
+    }
+
+    /**
+     * A loaded campus, as {@link #campus()} reads it back
+     * @param shops Shops in ID order
+     * @param customerIds Customer IDs in ID order
+     */
+    public record Campus(List<Shop> shops, long[] customerIds) {
+    }
+
+    /**
+     * @param menu Item IDs by name, in ID order
+     */
+    public record Shop(long shopId, long sellerId, Map<String, Long> menu) {
+    }
+
+    // Share of a weekday's orders per hour, 7:00 to 19:00
+    private static final int FIRST_HOUR = 7;
+    private static final double[] HOUR_WEIGHTS = { 6, 8, 4, 5, 14, 22, 12, 5, 7, 6, 5, 4, 2 };
+    private static final double[] HOUR_CUMULATIVE = cumulative(HOUR_WEIGHTS);
+
+    private static final String[] DISHES = { "Chicken Adobo", "Pork Sisig", "Beef Tapa", "Pancit Canton",
+            "Lumpia", "Siomai Rice", "Fried Chicken", "Spaghetti", "Burger", "Fries", "Iced Coffee", "Milk Tea",
+            "Turon", "Halo-Halo", "Tuna Sandwich", "Chicken Curry", "Bangus", "Arroz Caldo", "Hotdog Sandwich",
+            "Mango Shake", "Cheese Bread", "Chopsuey", "Sinigang", "Longganisa" };
+
+    private static final String USER_INSERT =
+            "INSERT INTO users (name, email, password, role, is_active, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SHOP_INSERT = "INSERT INTO shop_entity (name, description, location, phone, email,"
+            + " opening_hours, owner_id, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ITEM_INSERT = "INSERT INTO food_items (name, description, price, image_url, quantity,"
+            + " is_available, shop_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ORDER_COLUMNS =
+            "order_id, customer_id, shop_id, total_amount, status, notes, created_at, updated_at";
+    private static final String ORDER_INSERT =
+            "INSERT INTO orders (" + ORDER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ORDER_ITEM_COLUMNS = "order_id, food_item_id, quantity, price, subtotal";
+    private static final String ORDER_ITEM_INSERT =
+            "INSERT INTO order_items (" + ORDER_ITEM_COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String MARKER_INSERT = "INSERT INTO synthetic_loads (users, shops, food_items, orders,"
+            + " order_items, completed_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SYNTHETIC_SHOP_IDS = "SELECT shop_id FROM shop_entity WHERE email LIKE ?";
+    private static final String SYNTHETIC_USER_IDS = "SELECT id FROM users WHERE email LIKE ?";
+
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordService passwordService;
+    private final boolean enabled;
+    private final Plan startupPlan;
+    private final Mode mode;
+    private final int threads;
+    private final int batchSize;
+    private final long randomSeed;
+
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            PasswordService passwordService,
+            @Value("${canteen.seed.synthetic.enabled:false}") boolean enabled,
+            @Value("${canteen.seed.synthetic.shops:50}") int shops,
+            @Value("${canteen.seed.synthetic.items-per-shop:20}") int itemsPerShop,
+            @Value("${canteen.seed.synthetic.customers:5000}") int customers,
+            @Value("${canteen.seed.synthetic.months:3}") int months,
+            @Value("${canteen.seed.synthetic.orders-per-day:2000}") int ordersPerDay,
+            @Value("${canteen.seed.synthetic.max-lines-per-order:5}") int maxLinesPerOrder,
+            @Value("${canteen.seed.synthetic.mode:BATCH}") Mode mode,
+            @Value("${canteen.seed.synthetic.threads:4}") int threads,
+            @Value("${canteen.seed.synthetic.batch-size:5000}") int batchSize,
+            @Value("${canteen.seed.synthetic.random-seed:42}") long randomSeed) {
+        if (batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("Synthetic data batch size and threads must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordService = passwordService;
+        this.enabled = enabled;
+        this.startupPlan = new Plan(shops, itemsPerShop, customers, months, ordersPerDay, maxLinesPerOrder);
+        this.mode = mode;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * Load the configured plan once the application is up, unless already loaded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void generateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        if (isLoaded()) {
+            logger.info("Synthetic data already present, skipping generation");
+            return;
+        }
+        Summary summary = generate(startupPlan);
+        logger.info("Generated {} users, {} shops, {} food items, {} orders and {} order items in {} ms",
+                summary.users(), summary.shops(), summary.foodItems(), summary.orders(), summary.orderItems(),
+                summary.elapsedMs());
+    }
+
+    /**
+     * @return true if a load has run to completion
+     */
+    public boolean isLoaded() {
+        Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM synthetic_loads", Integer.class);
+        return found != null && found > 0;
+    }
+
+    /**
+     * Generate and load a campus, first removing what an interrupted load left behind
+     * @param plan What to generate
+     * @return Row counts and elapsed time
+     * @throws IllegalStateException if a load has already completed
+     */
+    public Summary generate(Plan plan) {
+        if (plan.shops() < 1 || plan.itemsPerShop() < 1 || plan.customers() < 1 || plan.maxLinesPerOrder() < 1
+                || plan.dishes().isEmpty()) {
+            throw new IllegalArgumentException("Synthetic plan needs at least one shop, item, customer, line and dish");
+        }
+        if (isLoaded()) {
+            throw new IllegalStateException("Synthetic data is already loaded");
+        }
+        long start = System.nanoTime();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        removeLeftovers();
+
+        List<Long> sellerIds = insertUsers(plan, now);
+        long[] customerIds = customerIds();
+        List<Long> shopIds = insertShops(sellerIds, now);
+        Menu[] menus = insertMenus(shopIds, plan.itemsPerShop(), plan.dishes(), now);
+        logger.info("Synthetic campus: {} shops, {} items, {} customers in {} ms; loading order history",
+                shopIds.size(), (long) shopIds.size() * plan.itemsPerShop(), customerIds.length,
+                (System.nanoTime() - start) / 1_000_000);
+
+        long[] orderAndItemCounts = insertOrderHistory(plan, customerIds, menus);
+
+        Summary summary = new Summary(sellerIds.size() + customerIds.length, shopIds.size(),
+                (long) shopIds.size() * plan.itemsPerShop(), orderAndItemCounts[0], orderAndItemCounts[1],
+                (System.nanoTime() - start) / 1_000_000);
+        jdbcTemplate.update(MARKER_INSERT, summary.users(), summary.shops(), summary.foodItems(), summary.orders(),
+                summary.orderItems(), new Timestamp(System.currentTimeMillis()));
+        return summary;
+    }
+
+    /**
+     * Read back the loaded campus, e.g. to drive load tests against it
+     * @return The synthetic shops with their sellers and menus, and the customers
+     */
+    public Campus campus() {
+        Map<Long, Map<String, Long>> menus = new HashMap<>();
+        jdbcTemplate.query("SELECT f.item_id, f.name, f.shop_id FROM food_items f"
+                        + " JOIN shop_entity s ON s.shop_id = f.shop_id WHERE s.email LIKE ? ORDER BY f.item_id",
+                row -> {
+                    menus.computeIfAbsent(row.getLong("shop_id"), id -> new LinkedHashMap<>())
+                            .put(row.getString("name"), row.getLong("item_id"));
+                }, "%@" + EMAIL_DOMAIN);
+        List<Shop> shops = jdbcTemplate.query(
+                "SELECT shop_id, owner_id FROM shop_entity WHERE email LIKE ? ORDER BY shop_id",
+                (row, rowNum) -> new Shop(row.getLong("shop_id"), row.getLong("owner_id"),
+                        menus.getOrDefault(row.getLong("shop_id"), Map.of())),
+                "%@" + EMAIL_DOMAIN);
+        return new Campus(shops, customerIds());
+    }
+
+    private long[] customerIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE ? AND role = 'CUSTOMER' ORDER BY id", Long.class,
+                "%@" + EMAIL_DOMAIN).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void removeLeftovers() {
+        // Children first; only the tables the load writes reference synthetic rows
+        String domain = "%@" + EMAIL_DOMAIN;
+        int items = jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (SELECT order_id FROM orders"
+                + " WHERE shop_id IN (" + SYNTHETIC_SHOP_IDS + ") OR customer_id IN (" + SYNTHETIC_USER_IDS + "))"
+                + " OR food_item_id IN (SELECT item_id FROM food_items WHERE shop_id IN (" + SYNTHETIC_SHOP_IDS + "))",
+                domain, domain, domain);
+        int orders = jdbcTemplate.update("DELETE FROM orders WHERE shop_id IN (" + SYNTHETIC_SHOP_IDS + ")"
+                + " OR customer_id IN (" + SYNTHETIC_USER_IDS + ")", domain, domain);
+        int foodItems = jdbcTemplate.update(
+                "DELETE FROM food_items WHERE shop_id IN (" + SYNTHETIC_SHOP_IDS + ")", domain);
+        int shops = jdbcTemplate.update("DELETE FROM shop_entity WHERE email LIKE ?", domain);
+        int users = jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", domain);
+        if (items + orders + foodItems + shops + users > 0) {
+            logger.info("Removed an interrupted synthetic load: {} users, {} shops, {} food items, {} orders"
+                    + " and {} order items", users, shops, foodItems, orders, items);
+        }
+    }
+
+    private List<Long> insertUsers(Plan plan, Timestamp now) {
+        // One hash for everyone; hashing per user would take longer than the whole load
+        String hash = passwordService.hash(PASSWORD);
+        List<Object[]> rows = new ArrayList<>(Math.min(batchSize, plan.shops() + plan.customers()));
+        for (int i = 0; i < plan.shops(); i++) {
+            rows.add(new Object[] { "Seller " + i, sellerEmail(i), hash, "SELLER", true, now });
+            rows = flushIfFull(USER_INSERT, rows);
+        }
+        for (int i = 0; i < plan.customers(); i++) {
+            rows.add(new Object[] { "Student " + i, customerEmail(i), hash, "CUSTOMER", true, now });
+            rows = flushIfFull(USER_INSERT, rows);
+        }
+        batch(USER_INSERT, rows);
+
+        Map<String, Long> idsByEmail = new HashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM users WHERE role = 'SELLER' AND email LIKE ?",
+                row -> {
+                    idsByEmail.put(row.getString("email"), row.getLong("id"));
+                }, "%@" + EMAIL_DOMAIN);
+        List<Long> sellerIds = new ArrayList<>(plan.shops());
+        for (int i = 0; i < plan.shops(); i++) {
+            sellerIds.add(idsByEmail.get(sellerEmail(i)));
+        }
+        return sellerIds;
+    }
+
+    private List<Long> insertShops(List<Long> sellerIds, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(Math.min(batchSize, sellerIds.size()));
+        for (int i = 0; i < sellerIds.size(); i++) {
+            rows.add(new Object[] { "Stall " + i, "Rice meals, snacks and drinks", "Canteen block " + (i % 12),
+                    String.format(Locale.ROOT, "0917%07d", i), "stall" + i + "@" + EMAIL_DOMAIN,
+                    "7:00 AM - 7:00 PM", sellerIds.get(i), true, now, now });
+            rows = flushIfFull(SHOP_INSERT, rows);
+        }
+        batch(SHOP_INSERT, rows);
+        return jdbcTemplate.queryForList("SELECT shop_id FROM shop_entity WHERE email LIKE ? ORDER BY shop_id",
+                Long.class, "%@" + EMAIL_DOMAIN);
+    }
+
+    private Menu[] insertMenus(List<Long> shopIds, int itemsPerShop, List<String> dishes, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int s = 0; s < shopIds.size(); s++) {
+            for (int i = 0; i < itemsPerShop; i++) {
+                String name = dishes.get((s + i) % dishes.size())
+                        + (i < dishes.size() ? "" : " " + (i / dishes.size() + 1));
+                rows.add(new Object[] { name, "House special", price(s, i), null, 1_000_000, true, shopIds.get(s),
+                        now, now });
+                rows = flushIfFull(ITEM_INSERT, rows);
+            }
+        }
+        batch(ITEM_INSERT, rows);
+
+        Map<Long, Integer> shopIndex = new HashMap<>();
+        for (int s = 0; s < shopIds.size(); s++) {
+            shopIndex.put(shopIds.get(s), s);
+        }
+        Menu[] menus = new Menu[shopIds.size()];
+        for (int s = 0; s < menus.length; s++) {
+            menus[s] = new Menu(shopIds.get(s), new long[itemsPerShop], new double[itemsPerShop]);
+        }
+        int[] filled = new int[menus.length];
+        jdbcTemplate.query("SELECT f.item_id, f.shop_id, f.price FROM food_items f"
+                        + " JOIN shop_entity s ON s.shop_id = f.shop_id WHERE s.email LIKE ? ORDER BY f.item_id",
+                row -> {
+                    int s = shopIndex.get(row.getLong("shop_id"));
+                    menus[s].itemIds()[filled[s]] = row.getLong("item_id");
+                    menus[s].prices()[filled[s]] = row.getDouble("price");
+                    filled[s]++;
+                }, "%@" + EMAIL_DOMAIN);
+        return menus;
+    }
+
+    /**
+     * @return Orders and order items inserted
+     */
+    private long[] insertOrderHistory(Plan plan, long[] customerIds, Menu[] menus) {
+        LocalDate firstDay = LocalDate.now().minusMonths(plan.months());
+        LocalDate lastDay = LocalDate.now().minusDays(1);
+
+        // Per-day counts first, so each day gets a fixed block of order IDs
+        List<LocalDate> days = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        Random sizing = new Random(randomSeed);
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            days.add(day);
+            counts.add((int) Math.round(plan.ordersPerDay() * dayFactor(day) * (0.85 + 0.3 * sizing.nextDouble())));
+        }
+        long nextOrderId = nextOrderId();
+        long[] firstIds = new long[days.size()];
+        for (int d = 0; d < days.size(); d++) {
+            firstIds[d] = nextOrderId;
+            nextOrderId += counts.get(d);
+        }
+
+        AtomicLong orders = new AtomicLong();
+        AtomicLong items = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(days.size());
+            for (int d = 0; d < days.size(); d++) {
+                int dayIndex = d;
+                futures.add(workers.submit(() -> {
+                    long[] loaded = loadDay(days.get(dayIndex), counts.get(dayIndex), firstIds[dayIndex],
+                            new Random(randomSeed * 31 + dayIndex), plan, customerIds, menus);
+                    long total = orders.addAndGet(loaded[0]);
+                    items.addAndGet(loaded[1]);
+                    if (dayIndex % 30 == 29) {
+                        logger.info("Synthetic order history: {} orders loaded", total);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Synthetic order history load failed", e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        restartOrderIdentity(nextOrderId);
+        return new long[] { orders.get(), items.get() };
+    }
+
+    private long[] loadDay(LocalDate day, int count, long firstOrderId, Random random, Plan plan,
+            long[] customerIds, Menu[] menus) throws IOException {
+        List<Object[]> orderRows = new ArrayList<>(Math.min(count, batchSize));
+        List<Object[]> itemRows = new ArrayList<>(batchSize);
+        long itemCount = 0;
+        for (int n = 0; n < count; n++) {
+            long orderId = firstOrderId + n;
+            // Squaring skews picks towards the first stalls, so a few are much busier
+            double pick = random.nextDouble();
+            Menu menu = menus[(int) (pick * pick * menus.length)];
+            long customerId = customerIds[random.nextInt(customerIds.length)];
+            LocalDateTime placedAt = day.atTime(hour(random), random.nextInt(60), random.nextInt(60));
+            LocalDateTime updatedAt = placedAt.plusMinutes(5 + random.nextInt(20));
+
+            int lines = Math.min(plan.maxLinesPerOrder(), lineCount(random));
+            double total = 0;
+            for (int l = 0; l < lines; l++) {
+                int item = random.nextInt(menu.itemIds().length);
+                int quantity = 1 + (random.nextInt(10) == 0 ? 1 : 0);
+                double price = menu.prices()[item];
+                total += price * quantity;
+                itemRows.add(new Object[] { orderId, menu.itemIds()[item], quantity, price, price * quantity });
+            }
+            itemCount += lines;
+            String status = random.nextInt(100) < 6 ? "CANCELLED" : "COMPLETED";
+            orderRows.add(new Object[] { orderId, customerId, menu.shopId(), total, status, null,
+                    Timestamp.valueOf(placedAt), Timestamp.valueOf(updatedAt) });
+
+            if (itemRows.size() >= batchSize) {
+                writeOrders(orderRows, itemRows);
+                orderRows.clear();
+                itemRows.clear();
+            }
+        }
+        writeOrders(orderRows, itemRows);
+        return new long[] { count, itemCount };
+    }
+
+    private void writeOrders(List<Object[]> orderRows, List<Object[]> itemRows) throws IOException {
+        if (orderRows.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.LOAD_DATA) {
+            loadData("orders", ORDER_COLUMNS, orderRows);
+            loadData("order_items", ORDER_ITEM_COLUMNS, itemRows);
+        } else {
+            batch(ORDER_INSERT, orderRows);
+            batch(ORDER_ITEM_INSERT, itemRows);
+        }
+    }
+
+    private void loadData(String table, String columns, List<Object[]> rows) throws IOException {
+        Path file = Files.createTempFile("canteen-" + table + "-", ".csv");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        out.write(csv(row[i]));
+                    }
+                    out.write('\n');
+                }
+            }
+            jdbcTemplate.execute("LOAD DATA LOCAL INFILE '" + file.toAbsolutePath().toString().replace("\\", "/")
+                    + "' INTO TABLE " + table + " FIELDS TERMINATED BY ',' LINES TERMINATED BY '\\n' (" + columns + ")");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().format(CSV_TIMESTAMP);
+        }
+        return value.toString();
+    }
+
+    private long nextOrderId() {
+        // Archived orders keep their IDs, so new ones must not reuse them
+        Long live = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(order_id), 0) FROM orders", Long.class);
+        Long archived = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(order_id), 0) FROM orders_archive", Long.class);
+        return Math.max(live == null ? 0 : live, archived == null ? 0 : archived) + 1;
+    }
+
+    private void restartOrderIdentity(long nextOrderId) {
+        // MySQL moves AUTO_INCREMENT past explicit IDs by itself; H2 does not
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (product != null && product.startsWith("H2")) {
+            jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN order_id RESTART WITH " + nextOrderId);
+        }
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() < batchSize) {
+            return rows;
+        }
+        batch(sql, rows);
+        return new ArrayList<>(batchSize);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    static double dayFactor(LocalDate day) {
+        DayOfWeek dayOfWeek = day.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SUNDAY ? 0.1 : dayOfWeek == DayOfWeek.SATURDAY ? 0.35 : 1.0;
+    }
+
+    static int hour(Random random) {
+        double roll = random.nextDouble();
+        for (int h = 0; h < HOUR_CUMULATIVE.length; h++) {
+            if (roll < HOUR_CUMULATIVE[h]) {
+                return FIRST_HOUR + h;
+            }
+        }
+        return FIRST_HOUR + HOUR_CUMULATIVE.length - 1;
+    }
+
+    private static int lineCount(Random random) {
+        // About 45% single-line orders, then each extra line half as likely
+        int lines = 1;
+        while (lines < 8 && random.nextDouble() < (lines == 1 ? 0.55 : 0.45)) {
+            lines++;
+        }
+        return lines;
+    }
+
+    private static double price(int shop, int item) {
+        return 35.0 + ((shop * 7 + item * 13) % 20) * 5;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        double[] cumulative = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / sum;
+        }
+        return cumulative;
+    }
+
+    private static String sellerEmail(int index) {
+        return "shop.stall" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    private static String customerEmail(int index) {
+        return "student" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    private record Menu(long shopId, long[] itemIds, double[] prices) {
+    }
+}
@@ -0,0 +1,391 @@
+package com.wildeats.onlinecanteen.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.datasource.Bulkhead;
+import com.wildeats.onlinecanteen.datasource.UseBulkhead;
+import com.wildeats.onlinecanteen.dto.UserImportError;
+import com.wildeats.onlinecanteen.dto.UserImportResult;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams users from CSV or NDJSON into the {@code users} table.
+ *
+ * The input is read line by line and inserted in JDBC batches, so only one batch is held
+ * in memory at a time. Each batch is deduplicated, checked against existing emails (using
+ * the {@link EmailRegistry} to skip the query where possible), hashed on the password
+ * hashing pool and inserted in its own transaction. At most {@code max-concurrent-hashes}
+ * hashes are in flight so logins keep most of the pool; when the pool is full anyway the
+ * importing thread hashes the row itself, which also slows the import down. Rows that fail are reported by line number; the
+ * report is capped so a bad file cannot grow the response without bound.
+ *
+ * CSV needs a header row naming {@code name}, {@code email} and {@code password};
+ * quoted fields are supported but may not span lines. Passwords that are already BCrypt
+ * hashes are stored as-is, which is the fast path for large imports.
+ */
+@Service
+@UseBulkhead(Bulkhead.BACKGROUND)
+public class UserImportService {
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    static final String INSERT_SQL =
+            "INSERT INTO users (name, email, password, role, is_active, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepo;
+    private final EmailRegistry emailRegistry;
+    private final PasswordService passwordService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int maxConcurrentHashes;
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            UserRepository userRepo,
+            EmailRegistry emailRegistry,
+            PasswordService passwordService,
+            ObjectMapper objectMapper,
+            @Value("${canteen.users.import.batch-size:1000}") int batchSize,
+            @Value("${canteen.users.import.max-reported-errors:1000}") int maxReportedErrors,
+            @Value("${canteen.users.import.max-concurrent-hashes:4}") int maxConcurrentHashes) {
+        if (batchSize < 1 || maxConcurrentHashes < 1) {
+            throw new IllegalArgumentException("Import batch size and hash concurrency must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepo = userRepo;
+        this.emailRegistry = emailRegistry;
+        this.passwordService = passwordService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxConcurrentHashes = maxConcurrentHashes;
+    }
+
+    /**
+     * Import users from a stream
+     * @param input The CSV or NDJSON body
+     * @param format The format of the body
+     * @return Counts and the per-row error report
+     * @throws IOException If the stream cannot be read
+     */
+    public UserImportResult importUsers(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        Report report = new Report(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        int[] columns = null;
+        List<Row> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+
+            report.rowsRead++;
+            Row row;
+            try {
+                row = format == Format.CSV ? parseCsvRow(lineNumber, line, columns) : parseJsonRow(lineNumber, line);
+                validate(row);
+            } catch (IllegalArgumentException e) {
+                report.fail(lineNumber, null, e.getMessage());
+                continue;
+            }
+
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                insertBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, report);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} of {} users in {} ms ({} failed)",
+                report.imported, report.rowsRead, elapsedMs, report.failed);
+        return new UserImportResult(report.rowsRead, report.imported, report.failed, elapsedMs,
+                report.truncated, report.errors);
+    }
+
+    private void insertBatch(List<Row> batch, Report report) {
+        // Duplicates within the batch; earlier batches are already in the database
+        Map<String, Row> unique = new LinkedHashMap<>();
+        for (Row row : batch) {
+            if (unique.putIfAbsent(row.emailKey(), row) != null) {
+                report.fail(row.line, row.email, "Duplicate email in import");
+            }
+        }
+
+        List<String> toCheck = new ArrayList<>();
+        for (Row row : unique.values()) {
+            if (emailRegistry.mightBeRegistered(row.email)) {
+                toCheck.add(row.email);
+            }
+        }
+        if (!toCheck.isEmpty()) {
+            Set<String> existing = new HashSet<>();
+            for (String email : userRepo.findEmailsIn(toCheck)) {
+                existing.add(email.toLowerCase(Locale.ROOT));
+            }
+            unique.values().removeIf(row -> {
+                if (existing.contains(row.emailKey())) {
+                    report.fail(row.line, row.email, "Email already in use");
+                    return true;
+                }
+                return false;
+            });
+        }
+        if (unique.isEmpty()) {
+            return;
+        }
+
+        List<Row> rows = new ArrayList<>(unique.values());
+        hashPasswords(rows);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    rows.stream().map(row -> insertArgs(row, now)).toList()));
+            rows.forEach(row -> emailRegistry.add(row.email));
+            report.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another insert; retry one by one to find the offending rows
+            for (Row row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, insertArgs(row, now));
+                    emailRegistry.add(row.email);
+                    report.imported++;
+                } catch (DataIntegrityViolationException rowError) {
+                    if (userRepo.findEmailsIn(List.of(row.email)).isEmpty()) {
+                        logger.warn("Import of line {} violated a constraint other than the unique email",
+                                row.line, rowError);
+                        report.fail(row.line, row.email, "Row violates a database constraint");
+                    } else {
+                        report.fail(row.line, row.email, "Email already in use");
+                    }
+                }
+            }
+        }
+    }
+
+    private void hashPasswords(List<Row> rows) {
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(maxConcurrentHashes);
+        for (Row row : rows) {
+            if (PasswordService.isHashed(row.password)) {
+                row.passwordHash = row.password;
+                continue;
+            }
+            inFlight.add(passwordService.hashAsync(row.password)
+                    // Rejected by a full pool: hash here instead of failing the row
+                    .exceptionally(error -> passwordService.hash(row.password))
+                    .thenAccept(hash -> row.passwordHash = hash));
+            if (inFlight.size() == maxConcurrentHashes) {
+                CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+                inFlight.clear();
+            }
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static Object[] insertArgs(Row row, Timestamp now) {
+        return new Object[] {
+                row.name,
+                row.email,
+                row.passwordHash,
+                UserService.roleForEmail(row.email).name(),
+                true,
+                now
+        };
+    }
+
+    private static void validate(Row row) {
+        if (row.name == null || row.name.isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (row.name.length() > 100) {
+            throw new IllegalArgumentException("Name is longer than 100 characters");
+        }
+        if (row.email == null || !EMAIL.matcher(row.email).matches()) {
+            throw new IllegalArgumentException("Invalid email");
+        }
+        if (row.email.length() > 100) {
+            throw new IllegalArgumentException("Email is longer than 100 characters");
+        }
+        if (row.password == null || row.password.isEmpty()) {
+            throw new IllegalArgumentException("Password is required");
+        }
+        if (!PasswordService.isHashed(row.password) && row.password.getBytes(StandardCharsets.UTF_8).length > 72) {
+            throw new IllegalArgumentException("Password is longer than 72 bytes");
+        }
+    }
+
+    private static int[] parseHeader(String line) {
+        List<String> header = splitCsv(line);
+        int[] columns = { -1, -1, -1 };
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> columns[0] = i;
+                case "email" -> columns[1] = i;
+                case "password" -> columns[2] = i;
+                default -> {
+                }
+            }
+        }
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new IllegalArgumentException("CSV header must include name, email and password");
+        }
+        return columns;
+    }
+
+    private static Row parseCsvRow(long line, String text, int[] columns) {
+        List<String> fields = splitCsv(text);
+        return new Row(line, field(fields, columns[0]), field(fields, columns[1]), field(fields, columns[2]));
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Row parseJsonRow(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return new Row(line, text(node, "name"), text(node, "email"), text(node, "password"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText().trim();
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     * @param line The line to split
+     * @return The fields, unquoted
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static final class Row {
+        private final long line;
+        private final String name;
+        private final String email;
+        private final String password;
+        private String passwordHash;
+
+        private Row(long line, String name, String email, String password) {
+            this.line = line;
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+
+        private String emailKey() {
+            return email.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+        private boolean truncated;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportError(line, email, message));
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
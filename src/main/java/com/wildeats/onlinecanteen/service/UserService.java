@@ -2,12 +2,19 @@ package com.wildeats.onlinecanteen.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.metrics.CanteenMetrics;
 import com.wildeats.onlinecanteen.repository.UserRepository;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,12 +25,37 @@ public class UserService {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private PasswordService passwordService;
+
+    @Autowired
+    @Qualifier("passwordWriteExecutor")
+    private Executor passwordWriteExecutor;
+
+    @Autowired
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
+    @Autowired
+    private EmailRegistry emailRegistry;
+
+    @Autowired
+    private CanteenMetrics metrics;
+
+    /**
+     * Determine the role of a new account: emails starting with "shop." belong to sellers
+     * @param email The email address of the account
+     * @return The role to assign
+     */
+    public static UserEntity.Role roleForEmail(String email) {
+        return email.startsWith("shop.") ? UserEntity.Role.SELLER : UserEntity.Role.CUSTOMER;
+    }
+
     /**
      * Get all users from the database
      * @return List of all users
      */
     public List<UserEntity> getAllUsers() {
-        logger.info("Fetching all users");
+        logger.debug("Fetching all users");
         return userRepo.findAll();
     }
 
@@ -33,7 +65,7 @@ public class UserService {
      * @return The user if found, null otherwise
      */
     public UserEntity getUserById(Long id) {
-        logger.info("Fetching user with ID: {}", id);
+        logger.debug("Fetching user with ID: {}", id);
         Optional<UserEntity> user = userRepo.findById(id);
         return user.orElse(null);
     }
@@ -44,18 +76,50 @@ public class UserService {
      * @return The user if found, null otherwise
      */
     public UserEntity findByEmail(String email) {
-        logger.info("Finding user by email: {}", email);
+        logger.debug("Finding user by email: {}", email);
         return userRepo.findByEmail(email);
     }
 
+    /**
+     * Check whether an email is already registered. The email filter answers the common
+     * "definitely new" case without a query.
+     * @param email The email address to check
+     * @return true if a user with this email exists
+     */
+    public boolean isEmailRegistered(String email) {
+        return emailRegistry.mightBeRegistered(email) && userRepo.findByEmail(email) != null;
+    }
+
     /**
      * Create a new user
      * @param user The user entity to create
      * @return The created user with generated ID
      */
     public UserEntity createUser(UserEntity user) {
-        logger.info("Creating new user with email: {}", user.getEmail());
-        return userRepo.save(user);
+        logger.debug("Creating new user with email: {}", user.getEmail());
+        if (user.getPassword() != null && !PasswordService.isHashed(user.getPassword())) {
+            user.setPassword(passwordService.hash(user.getPassword()));
+        }
+        UserEntity savedUser = userRepo.save(user);
+        emailRegistry.add(savedUser.getEmail());
+        return savedUser;
+    }
+
+    /**
+     * Create a new user without blocking the caller: the password is hashed on the hashing
+     * pool and the row is saved on the password write pool
+     * @param user The user entity to create, with a plaintext password
+     * @return A future with the created user; fails with a {@link RejectedExecutionException}
+     *         when either pool is saturated
+     */
+    public CompletableFuture<UserEntity> createUserAsync(UserEntity user) {
+        CompletableFuture<UserEntity> hashed = user.getPassword() == null || PasswordService.isHashed(user.getPassword())
+                ? CompletableFuture.completedFuture(user)
+                : passwordService.hashAsync(user.getPassword()).thenApply(hash -> {
+                    user.setPassword(hash);
+                    return user;
+                });
+        return hashed.thenApplyAsync(this::createUser, passwordWriteExecutor);
     }
 
     /**
@@ -64,7 +128,7 @@ public class UserService {
      * @return The updated user
      */
     public UserEntity updateUser(UserEntity user) {
-        logger.info("Updating user with ID: {}", user.getId());
+        logger.debug("Updating user with ID: {}", user.getId());
         return userRepo.save(user);
     }
     
@@ -75,15 +139,20 @@ public class UserService {
      * @return The updated user
      */
     public UserEntity updateUser(Long id, UserEntity updatedUser) {
-        logger.info("Updating user with ID: {}", id);
+        logger.debug("Updating user with ID: {}", id);
         return userRepo.findById(id).map(user -> {
             user.setName(updatedUser.getName());
             user.setEmail(updatedUser.getEmail());
-            user.setPassword(updatedUser.getPassword());
+            String password = updatedUser.getPassword();
+            if (password != null && !password.equals(user.getPassword())) {
+                user.setPassword(PasswordService.isHashed(password) ? password : passwordService.hash(password));
+            }
             if (updatedUser.getRole() != null) {
                 user.setRole(updatedUser.getRole());
             }
-            return userRepo.save(user);
+            UserEntity savedUser = userRepo.save(user);
+            emailRegistry.add(savedUser.getEmail());
+            return savedUser;
         }).orElse(null);
     }
 
@@ -101,23 +170,56 @@ public class UserService {
     }
     
     /**
-     * Check if the provided credentials are valid
+     * Check if the provided credentials are valid. The hash comparison runs on the
+     * password hashing pool; legacy plaintext or low-cost hashes are upgraded on success,
+     * with the new hash written from the password write pool.
+     * The login time is buffered by {@link LastLoginWriteBehind}, so a successful login
+     * does not write to the database unless the password hash was upgraded.
      * @param email The user's email
      * @param password The user's password
-     * @return The authenticated user if credentials are valid, null otherwise
+     * @return A future with the authenticated user if credentials are valid, null otherwise
      */
-    public UserEntity authenticate(String email, String password) {
-        logger.info("Authenticating user with email: {}", email);
+    public CompletableFuture<UserEntity> authenticate(String email, String password) {
+        logger.debug("Authenticating user with email: {}", email);
+        Timer.Sample sample = metrics.start();
         UserEntity user = findByEmail(email);
-        
-        if (user != null && user.getPassword().equals(password)) {
-            // Update last login time
-            user.setLastLogin(new java.util.Date());
-            updateUser(user);
+        String storedPassword = user != null ? user.getPassword() : null;
+
+        return passwordService.verifyAsync(password, storedPassword).thenCompose(matches -> {
+            if (!matches || user == null) {
+                return CompletableFuture.<UserEntity>completedFuture(null);
+            }
+            lastLoginWriteBehind.record(user.getId(), System.currentTimeMillis());
+            if (passwordService.needsRehash(storedPassword)) {
+                return upgradePassword(user, storedPassword, password);
+            }
+            return CompletableFuture.completedFuture(user);
+        }).whenComplete((authenticated, error) -> sample.stop(metrics.login(loginOutcome(authenticated, error))));
+    }
+
+    private CompletableFuture<UserEntity> upgradePassword(UserEntity user, String storedPassword, String password) {
+        return passwordService.hashAsync(password).thenApplyAsync(upgraded -> {
+            // Only the hash is written, and only if it is still the one verified; saving the
+            // entity read before hashing would undo changes made meanwhile
+            if (userRepo.updatePasswordIfUnchanged(user.getId(), storedPassword, upgraded) == 1) {
+                logger.info("Upgraded password hash for user with ID: {}", user.getId());
+                user.setPassword(upgraded);
+            } else {
+                logger.info("Password of user with ID {} changed during login; hash not upgraded", user.getId());
+            }
             return user;
+        }, passwordWriteExecutor).exceptionally(error -> {
+            // The login itself succeeded; the upgrade is retried on the next one
+            logger.warn("Could not upgrade password hash for user with ID: {}", user.getId(), error);
+            return user;
+        });
+    }
+
+    private static String loginOutcome(UserEntity authenticated, Throwable error) {
+        if (error == null) {
+            return authenticated != null ? CanteenMetrics.OUTCOME_SUCCESS : CanteenMetrics.OUTCOME_FAILURE;
         }
-        
-        return null;
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RejectedExecutionException ? CanteenMetrics.OUTCOME_REJECTED : CanteenMetrics.OUTCOME_ERROR;
     }
 }
-
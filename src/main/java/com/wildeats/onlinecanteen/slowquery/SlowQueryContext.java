@@ -0,0 +1,79 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.lang.reflect.Method;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The watched call bound to the current thread by {@link SlowQueryInterceptor}; statements
+ * are only timed while one is bound. The innermost call wins, so a repository call inside a
+ * service method names the repository, while statements the service runs outside any
+ * repository call (Hibernate's flush at commit) are charged to the service method.
+ */
+public final class SlowQueryContext {
+
+    private static final ThreadLocal<Origin> current = new ThreadLocal<>();
+
+    private SlowQueryContext() {
+    }
+
+    /**
+     * A repository or service method; described lazily, since only slow statements need the text
+     * @param type The repository interface or service class
+     * @param method The invoked method
+     */
+    public record Origin(Class<?> type, Method method) {
+
+        public String describe() {
+            return type.getSimpleName() + "." + method.getName();
+        }
+    }
+
+    /**
+     * @return The current thread's innermost watched call, or null outside one
+     */
+    public static Origin current() {
+        return current.get();
+    }
+
+    /**
+     * Bind a watched call for the current thread
+     * @param origin The call to bind
+     * @return The call bound before, to pass to {@link #restore} when this one returns
+     */
+    public static Origin enter(Origin origin) {
+        Origin outer = current.get();
+        current.set(origin);
+        return outer;
+    }
+
+    /**
+     * Rebind the call that was current before {@link #enter}
+     * @param outer The call {@link #enter} returned; null unbinds
+     */
+    public static void restore(Origin outer) {
+        if (outer == null) {
+            current.remove();
+        } else {
+            current.set(outer);
+        }
+    }
+
+    /**
+     * @return The handling endpoint, e.g. {@code GET /api/orders/{id}}, or null outside a request
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,85 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times JDBC statements for {@link SlowQueryLog}. Statements created while a watched call
+ * is bound ({@link SlowQueryContext}) are wrapped in a {@link TimedStatement} or
+ * {@link TimedPreparedStatement}, plain delegating classes, so getters on their result sets
+ * cost one extra virtual call. All other statements, and stored-procedure calls, are
+ * returned unwrapped; the only cost for them is one proxy per borrowed connection.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog log;
+
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog log) {
+        super(targetDataSource);
+        this.log = log;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            SlowQueryContext.Origin origin = SlowQueryContext.current();
+            if (origin == null || !(result instanceof Statement statement) || result instanceof CallableStatement) {
+                return result;
+            }
+            // prepareStatement carries the SQL up front; plain statements pass it to execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return statement instanceof PreparedStatement prepared
+                    ? new TimedPreparedStatement(prepared, sql, origin, log)
+                    : new TimedStatement(statement, sql, origin, log);
+        }
+    }
+}
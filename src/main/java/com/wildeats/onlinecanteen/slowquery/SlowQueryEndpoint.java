@@ -0,0 +1,35 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code GET /actuator/slowqueries} returns the top slow statements by total time;
+ * {@code DELETE} clears them, e.g. after a fix is deployed
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog log;
+    private final int top;
+
+    /**
+     * @param log The recorded statements
+     * @param top Entries returned by a read
+     */
+    public SlowQueryEndpoint(SlowQueryLog log, int top) {
+        this.log = log;
+        this.top = top;
+    }
+
+    @ReadOperation
+    public SlowQueryLog.Report slowQueries() {
+        return log.report(top);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        log.reset();
+    }
+}
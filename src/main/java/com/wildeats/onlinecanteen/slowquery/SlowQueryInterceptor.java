@@ -0,0 +1,51 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+
+/**
+ * Binds a {@link SlowQueryContext.Origin} for the duration of a call on one of the watched
+ * repositories or services; the innermost watched call wins until it returns
+ */
+public class SlowQueryInterceptor implements MethodInterceptor {
+
+    private final List<Class<?>> watched;
+
+    /**
+     * @param watched The watched repository interfaces and service classes
+     */
+    public SlowQueryInterceptor(List<Class<?>> watched) {
+        this.watched = List.copyOf(watched);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // Spring Data's target is SimpleJpaRepository; only the proxy implements the interface
+        Object proxy = invocation instanceof ProxyMethodInvocation proxyInvocation
+                ? proxyInvocation.getProxy()
+                : invocation.getThis();
+        Class<?> type = resolve(proxy);
+        if (type == null) {
+            return invocation.proceed();
+        }
+        SlowQueryContext.Origin outer = SlowQueryContext.enter(
+                new SlowQueryContext.Origin(type, invocation.getMethod()));
+        try {
+            return invocation.proceed();
+        } finally {
+            SlowQueryContext.restore(outer);
+        }
+    }
+
+    private Class<?> resolve(Object target) {
+        for (Class<?> type : watched) {
+            if (type.isInstance(target)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Slow statements aggregated by normalized SQL: literals become {@code ?} and IN lists of
+ * any length collapse to one shape, so the same query with different arguments lands in
+ * one entry. Each entry keeps counts and times plus the context of its slowest run.
+ *
+ * The number of distinct statements is capped; once full, statements not seen before are
+ * only counted as dropped.
+ */
+public class SlowQueryLog {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\?(?:, ?\\?)*\\)");
+    private static final int MAX_ENDPOINTS = 5;
+
+    private final long thresholdNanos;
+    private final int maxStatements;
+    private final ConcurrentMap<String, Stats> statements = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param thresholdMs Statements taking at least this long are recorded
+     * @param maxStatements Distinct normalized statements kept
+     */
+    public SlowQueryLog(long thresholdMs, int maxStatements) {
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("Slow-query threshold must not be negative");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * @return true if a statement that took this long should be recorded
+     */
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Record one slow statement
+     * @param sql The SQL as executed
+     * @param nanos Execution time, including reading the result set
+     * @param rows Rows read or updated, or -1 if unknown
+     * @param parameters The bind parameter types, e.g. {@code [Long, String]}
+     * @param origin The repository method that ran it
+     * @param endpoint The HTTP endpoint, or null outside a request
+     */
+    public void record(String sql, long nanos, long rows, String parameters, String origin, String endpoint) {
+        String key = normalize(sql);
+        Stats stats = statements.get(key);
+        if (stats == null) {
+            if (statements.size() >= maxStatements) {
+                dropped.increment();
+                return;
+            }
+            stats = statements.computeIfAbsent(key, ignored -> new Stats());
+        }
+        stats.add(nanos, rows, new Sample(toMillis(nanos), rows, parameters, origin, endpoint));
+    }
+
+    /**
+     * @param limit Maximum entries to return
+     * @return The statements with the most total time first
+     */
+    public Report report(int limit) {
+        List<Entry> entries = new ArrayList<>();
+        statements.forEach((sql, stats) -> entries.add(stats.entry(sql)));
+        entries.sort(Comparator.comparingDouble(Entry::totalMs).reversed());
+        return new Report(toMillis(thresholdNanos), statements.size(), dropped.sum(),
+                entries.subList(0, Math.min(limit, entries.size())));
+    }
+
+    /**
+     * Forget everything recorded so far
+     */
+    public void reset() {
+        statements.clear();
+        dropped.reset();
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("in (?...)");
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @param thresholdMs The recording threshold
+     * @param statements Distinct statements recorded
+     * @param dropped Slow statements not recorded because the log was full
+     * @param top The statements with the most total time
+     */
+    public record Report(double thresholdMs, int statements, long dropped, List<Entry> top) {
+    }
+
+    /**
+     * @param sql The normalized SQL
+     * @param count Slow executions
+     * @param totalMs Their total time
+     * @param maxMs The slowest execution
+     * @param maxRows The most rows any execution read or updated
+     * @param slowest Context of the slowest execution
+     * @param endpoints The first few endpoints it was seen from
+     */
+    public record Entry(String sql, long count, double totalMs, double maxMs, long maxRows, Sample slowest,
+            List<String> endpoints) {
+    }
+
+    /**
+     * @param durationMs Execution time
+     * @param rows Rows read or updated, or -1 if unknown
+     * @param parameters The bind parameter types
+     * @param origin The repository method
+     * @param endpoint The HTTP endpoint, or null outside a request
+     */
+    public record Sample(double durationMs, long rows, String parameters, String origin, String endpoint) {
+    }
+
+    private static final class Stats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos = -1;
+        private long maxRows = -1;
+        private Sample slowest;
+        private final Set<String> endpoints = new LinkedHashSet<>();
+
+        synchronized void add(long nanos, long rows, Sample sample) {
+            count++;
+            totalNanos += nanos;
+            maxRows = Math.max(maxRows, rows);
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+                slowest = sample;
+            }
+            if (sample.endpoint() != null && endpoints.size() < MAX_ENDPOINTS) {
+                endpoints.add(sample.endpoint());
+            }
+        }
+
+        synchronized Entry entry(String sql) {
+            return new Entry(sql, count, toMillis(totalNanos), toMillis(maxNanos), maxRows, slowest,
+                    List.copyOf(endpoints));
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * A {@link TimedStatement} that also notes the type of each bind parameter as it is set
+ */
+class TimedPreparedStatement extends TimedStatement implements PreparedStatement {
+
+    private final PreparedStatement delegate;
+    private Class<?>[] parameters = new Class<?>[8];
+    private int parameterCount;
+
+    TimedPreparedStatement(PreparedStatement delegate, String sql, SlowQueryContext.Origin origin, SlowQueryLog log) {
+        super(delegate, sql, origin, log);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        started(null);
+        try {
+            return results(delegate.executeQuery());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        started(null);
+        try {
+            return updated(delegate.executeUpdate());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        parameter(parameterIndex, Void.class);
+        delegate.setNull(parameterIndex, sqlType);
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        parameter(parameterIndex, Boolean.class);
+        delegate.setBoolean(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        parameter(parameterIndex, Byte.class);
+        delegate.setByte(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        parameter(parameterIndex, Short.class);
+        delegate.setShort(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        parameter(parameterIndex, Integer.class);
+        delegate.setInt(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        parameter(parameterIndex, Long.class);
+        delegate.setLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        parameter(parameterIndex, Float.class);
+        delegate.setFloat(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        parameter(parameterIndex, Double.class);
+        delegate.setDouble(parameterIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBigDecimal(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setString(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBytes(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setDate(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setTime(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setTimestamp(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setAsciiStream(parameterIndex, x, length);
+    }
+
+    @Override
+    @Deprecated
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setUnicodeStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBinaryStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        parameterCount = 0;
+        delegate.clearParameters();
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setObject(parameterIndex, x);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        started(null);
+        try {
+            return executed(delegate.execute());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        delegate.addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setRef(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBlob(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setClob(parameterIndex, x);
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setArray(parameterIndex, x);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return delegate.getMetaData();
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setDate(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setTime(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setTimestamp(parameterIndex, x, cal);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        parameter(parameterIndex, Void.class);
+        delegate.setNull(parameterIndex, sqlType, typeName);
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setURL(parameterIndex, x);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return delegate.getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setRowId(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        parameter(parameterIndex, value == null ? Void.class : value.getClass());
+        delegate.setNString(parameterIndex, value);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        parameter(parameterIndex, value == null ? Void.class : value.getClass());
+        delegate.setNCharacterStream(parameterIndex, value, length);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        parameter(parameterIndex, value == null ? Void.class : value.getClass());
+        delegate.setNClob(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setClob(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        parameter(parameterIndex, inputStream == null ? Void.class : inputStream.getClass());
+        delegate.setBlob(parameterIndex, inputStream, length);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setNClob(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        parameter(parameterIndex, xmlObject == null ? Void.class : xmlObject.getClass());
+        delegate.setSQLXML(parameterIndex, xmlObject);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setAsciiStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBinaryStream(parameterIndex, x, length);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setCharacterStream(parameterIndex, reader, length);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setAsciiStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setBinaryStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setCharacterStream(parameterIndex, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        parameter(parameterIndex, value == null ? Void.class : value.getClass());
+        delegate.setNCharacterStream(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setClob(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        parameter(parameterIndex, inputStream == null ? Void.class : inputStream.getClass());
+        delegate.setBlob(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        parameter(parameterIndex, reader == null ? Void.class : reader.getClass());
+        delegate.setNClob(parameterIndex, reader);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        parameter(parameterIndex, x == null ? Void.class : x.getClass());
+        delegate.setObject(parameterIndex, x, targetSqlType);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        started(null);
+        try {
+            return updated(delegate.executeLargeUpdate());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    private void parameter(int index, Class<?> type) {
+        if (index > parameters.length) {
+            parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+        }
+        parameters[index - 1] = type;
+        parameterCount = Math.max(parameterCount, index);
+    }
+
+    @Override
+    String describeParameters() {
+        StringBuilder shape = new StringBuilder("[");
+        for (int i = 0; i < parameterCount; i++) {
+            Class<?> type = parameters[i];
+            shape.append(i == 0 ? "" : ", ")
+                    .append(type == null ? "?" : type == Void.class ? "null" : type.getSimpleName());
+        }
+        return shape.append(']').toString();
+    }
+}
@@ -0,0 +1,472 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * A statement created during a watched call ({@link SlowQueryContext}), timed for
+ * {@link SlowQueryLog}. The time runs from execute until the result set (or the statement)
+ * is closed, so slow fetches count too. Only executing, fetching results and closing are
+ * intercepted; every other call goes straight to the driver's statement.
+ */
+class TimedStatement implements Statement {
+
+    private final Statement delegate;
+    private final SlowQueryContext.Origin origin;
+    private final SlowQueryLog log;
+    private String sql;
+    private long started;
+    private TimedResultSet openResults;
+
+    TimedStatement(Statement delegate, String sql, SlowQueryContext.Origin origin, SlowQueryLog log) {
+        this.delegate = delegate;
+        this.sql = sql;
+        this.origin = origin;
+        this.log = log;
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        started(sql);
+        try {
+            return results(delegate.executeQuery(sql));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeUpdate(sql));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closeResults();
+        delegate.close();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return delegate.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        delegate.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return delegate.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        delegate.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        delegate.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return delegate.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        delegate.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        delegate.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        delegate.setCursorName(name);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        started(sql);
+        try {
+            return executed(delegate.execute(sql));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return results(delegate.getResultSet());
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return delegate.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return delegate.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        delegate.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return delegate.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        delegate.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return delegate.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return delegate.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return delegate.getResultSetType();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        delegate.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        delegate.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        started(null);
+        try {
+            return updated(delegate.executeBatch());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return delegate.getConnection();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return delegate.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return delegate.getGeneratedKeys();
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeUpdate(sql, columnIndexes));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeUpdate(sql, columnNames));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        started(sql);
+        try {
+            return executed(delegate.execute(sql, autoGeneratedKeys));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        started(sql);
+        try {
+            return executed(delegate.execute(sql, columnIndexes));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        started(sql);
+        try {
+            return executed(delegate.execute(sql, columnNames));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return delegate.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        delegate.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return delegate.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        delegate.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return delegate.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return delegate.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        delegate.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return delegate.getLargeMaxRows();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        started(null);
+        try {
+            return updated(delegate.executeLargeBatch());
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeLargeUpdate(sql));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeLargeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeLargeUpdate(sql, columnIndexes));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        started(sql);
+        try {
+            return updated(delegate.executeLargeUpdate(sql, columnNames));
+        } catch (SQLException | RuntimeException e) {
+            failed();
+            throw e;
+        }
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return delegate.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return delegate.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return delegate.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return delegate.enquoteNCharLiteral(val);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    final void started(String text) {
+        if (text != null) {
+            sql = text;
+        }
+        closeResults();
+        started = System.nanoTime();
+    }
+
+    final void failed() {
+        finish(System.nanoTime() - started, -1);
+    }
+
+    final ResultSet results(ResultSet resultSet) {
+        if (resultSet == null) {
+            return null;
+        }
+        openResults = new TimedResultSet(resultSet, this);
+        return openResults;
+    }
+
+    final int updated(int count) {
+        finish(System.nanoTime() - started, count);
+        return count;
+    }
+
+    final long updated(long count) {
+        finish(System.nanoTime() - started, count);
+        return count;
+    }
+
+    final int[] updated(int[] counts) {
+        finish(System.nanoTime() - started, Arrays.stream(counts).asLongStream().sum());
+        return counts;
+    }
+
+    final long[] updated(long[] counts) {
+        finish(System.nanoTime() - started, Arrays.stream(counts).sum());
+        return counts;
+    }
+
+    final boolean executed(boolean hasResults) throws SQLException {
+        // With a result set, timing continues in getResultSet
+        if (!hasResults) {
+            finish(System.nanoTime() - started, delegate.getUpdateCount());
+        }
+        return hasResults;
+    }
+
+    final long startedAt() {
+        return started;
+    }
+
+    final void finish(long nanos, long rows) {
+        openResults = null;
+        if (sql == null || !log.isSlow(nanos)) {
+            return;
+        }
+        log.record(sql, nanos, rows, describeParameters(), origin.describe(), SlowQueryContext.currentEndpoint());
+    }
+
+    String describeParameters() {
+        return "[]";
+    }
+
+    private void closeResults() {
+        if (openResults != null) {
+            openResults.finish();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.wildeats.onlinecanteen.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Charges a method call to a {@link RequestTimings.Phase}
+ */
+public class PhaseTimingInterceptor implements MethodInterceptor {
+
+    private final RequestTimings.Phase phase;
+
+    public PhaseTimingInterceptor(RequestTimings.Phase phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return invocation.proceed();
+        }
+        timings.start(phase);
+        try {
+            return invocation.proceed();
+        } finally {
+            timings.stop(phase);
+        }
+    }
+}
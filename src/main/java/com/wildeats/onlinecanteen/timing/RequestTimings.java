@@ -0,0 +1,116 @@
+package com.wildeats.onlinecanteen.timing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Per-request timing recorder behind the {@code Server-Timing} header.
+ *
+ * Phases nest (controller calls service calls repository), and each phase is charged only
+ * its own time: while a service method runs, the controller's clock is paused. The phase
+ * durations therefore add up to the handler time, and whatever remains of the total is
+ * spent in filters and the servlet container. Transaction commit, and with it the JPA
+ * flush, runs inside the service call and is charged to the service.
+ *
+ * A recorder is bound to the request thread by {@link ServerTimingFilter}; work handed to
+ * other threads is not recorded.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        CONTROLLER,
+        SERVICE,
+        REPOSITORY,
+        SERIALIZATION
+    }
+
+    private static final ThreadLocal<RequestTimings> current = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] selfNanos = new long[Phase.values().length];
+    private final Deque<Phase> open = new ArrayDeque<>();
+    private long markNanos;
+    private int sqlStatements;
+
+    /**
+     * @return The recorder of the request on this thread, or null
+     */
+    public static RequestTimings current() {
+        return current.get();
+    }
+
+    static void bind(RequestTimings timings) {
+        current.set(timings);
+    }
+
+    static void unbind() {
+        current.remove();
+    }
+
+    /**
+     * Enter a phase, pausing the enclosing one
+     * @param phase The phase entered
+     */
+    public void start(Phase phase) {
+        long now = System.nanoTime();
+        if (!open.isEmpty()) {
+            selfNanos[open.peek().ordinal()] += now - markNanos;
+        }
+        open.push(phase);
+        markNanos = now;
+    }
+
+    /**
+     * Leave a phase, resuming the enclosing one; ignored unless it is the innermost
+     * @param phase The phase left
+     */
+    public void stop(Phase phase) {
+        if (open.peek() != phase) {
+            return;
+        }
+        long now = System.nanoTime();
+        selfNanos[phase.ordinal()] += now - markNanos;
+        open.pop();
+        markNanos = now;
+    }
+
+    public void countStatement() {
+        sqlStatements++;
+    }
+
+    /**
+     * @param phase A phase
+     * @return The time charged to the phase so far, in nanoseconds
+     */
+    public long getSelfNanos(Phase phase) {
+        return selfNanos[phase.ordinal()];
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    /**
+     * Render the {@code Server-Timing} header value; phases still open are closed first
+     * @return e.g. {@code controller;dur=0.4, service;dur=2.1, ..., sql;desc="3 statements", total;dur=5.0}
+     */
+    public String toHeader() {
+        while (!open.isEmpty()) {
+            stop(open.peek());
+        }
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(phase.name().toLowerCase(Locale.ROOT))
+                    .append(";dur=").append(millis(selfNanos[phase.ordinal()]))
+                    .append(", ");
+        }
+        header.append("sql;desc=\"").append(sqlStatements).append(sqlStatements == 1 ? " statement" : " statements")
+                .append("\", total;dur=").append(millis(System.nanoTime() - startNanos));
+        return header.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.wildeats.onlinecanteen.timing;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds a {@link RequestTimings} to the request and writes the {@code Server-Timing}
+ * header. The body is buffered so the header can still be set after serialization; for
+ * async requests (login, the reactive API) the header is written on the final dispatch.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final String timingAllowOrigin;
+
+    /**
+     * @param timingAllowOrigin Value of {@code Timing-Allow-Origin}, so a frontend on another
+     *                          origin can read the timings; blank to omit
+     */
+    public ServerTimingFilter(String timingAllowOrigin) {
+        this.timingAllowOrigin = timingAllowOrigin;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = (RequestTimings) request.getAttribute(ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings();
+            request.setAttribute(ATTRIBUTE, timings);
+        }
+        ContentCachingResponseWrapper wrapper = response instanceof ContentCachingResponseWrapper cached
+                ? cached
+                : new ContentCachingResponseWrapper(response);
+
+        RequestTimings.bind(timings);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.unbind();
+            if (!isAsyncStarted(request)) {
+                wrapper.setHeader(HEADER, timings.toHeader());
+                if (timingAllowOrigin != null && !timingAllowOrigin.isBlank()) {
+                    wrapper.setHeader("Timing-Allow-Origin", timingAllowOrigin);
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+}
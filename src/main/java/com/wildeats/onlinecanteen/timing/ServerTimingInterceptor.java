@@ -0,0 +1,43 @@
+package com.wildeats.onlinecanteen.timing;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times the controller phase; {@link ServerTimingResponseBodyAdvice} ends it where
+ * serialization begins
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.start(RequestTimings.Phase.CONTROLLER);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        finish();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        finish();
+    }
+
+    private static void finish() {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.stop(RequestTimings.Phase.SERIALIZATION);
+            timings.stop(RequestTimings.Phase.CONTROLLER);
+        }
+    }
+}
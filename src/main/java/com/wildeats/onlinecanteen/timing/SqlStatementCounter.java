@@ -0,0 +1,18 @@
+package com.wildeats.onlinecanteen.timing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current request
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.countStatement();
+        }
+        return sql;
+    }
+}
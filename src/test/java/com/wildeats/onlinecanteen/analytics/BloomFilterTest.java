@@ -0,0 +1,54 @@
+package com.wildeats.onlinecanteen.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("student" + i + "@cit.edu");
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("student" + i + "@cit.edu"));
+        }
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheTarget() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put("student" + i + "@cit.edu");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("freshman" + i + "@cit.edu")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+
+        assertTrue(observed < 0.015, "observed false-positive rate " + observed);
+        assertTrue(Math.abs(filter.expectedFpp() - 0.01) < 0.005, "estimated " + filter.expectedFpp());
+    }
+
+    @Test
+    void reportsSaturationAndRejectsBadSizes() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        for (int i = 0; i < 11; i++) {
+            filter.put("user" + i);
+        }
+        assertTrue(filter.isSaturated());
+
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
@@ -0,0 +1,58 @@
+package com.wildeats.onlinecanteen.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchCountsZero() {
+        assertEquals(0, new HyperLogLog(12).cardinality());
+    }
+
+    @Test
+    void duplicatesAreNotCounted() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(i % 100);
+        }
+        assertEquals(100, sketch.cardinality(), 2);
+    }
+
+    @Test
+    void estimateStaysWithinErrorBoundAgainstExactCounts() {
+        Random random = new Random(7);
+        for (int precision : new int[] { 10, 12, 14 }) {
+            for (int distinct : new int[] { 500, 5_000, 50_000 }) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                Set<Long> exact = new HashSet<>();
+                while (exact.size() < distinct) {
+                    long customerId = random.nextInt(10_000_000);
+                    exact.add(customerId);
+                    // Repeat customers within the day
+                    sketch.add(customerId);
+                    sketch.add(customerId);
+                }
+
+                double relativeError = Math.abs(sketch.cardinality() - exact.size()) / (double) exact.size();
+                // Four standard errors keeps the test deterministic-enough across seeds
+                assertTrue(relativeError <= 4 * sketch.relativeStandardError(),
+                        "p=" + precision + " n=" + distinct + " error=" + relativeError);
+            }
+        }
+    }
+
+    @Test
+    void memoryIsBoundedByPrecision() {
+        assertEquals(4096, new HyperLogLog(12).sizeInBytes());
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+    }
+}
@@ -0,0 +1,65 @@
+package com.wildeats.onlinecanteen.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void isExactWhileDistinctItemsFitInCapacity() {
+        SpaceSavingTopK<Long> sketch = new SpaceSavingTopK<>(8);
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 3);
+        sketch.offer(1L, 2);
+        sketch.offer(3L);
+
+        List<SpaceSavingTopK.Estimate<Long>> top = sketch.top(2);
+        assertEquals(2, top.size());
+        assertEquals(1L, top.get(0).item());
+        assertEquals(7, top.get(0).count());
+        assertEquals(0, top.get(0).error());
+        assertEquals(2L, top.get(1).item());
+        assertEquals(11, sketch.getTotalWeight());
+        assertTrue(sketch.top(0).isEmpty());
+        assertTrue(sketch.top(-1).isEmpty());
+    }
+
+    @Test
+    void errorStaysWithinBoundAgainstExactCounts() {
+        int capacity = 32;
+        SpaceSavingTopK<Long> sketch = new SpaceSavingTopK<>(capacity);
+        Map<Long, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        // Zipf-like menu popularity over 500 items
+        for (int i = 0; i < 200_000; i++) {
+            long item = (long) Math.floor(Math.pow(500, random.nextDouble()));
+            long quantity = 1 + random.nextInt(3);
+            sketch.offer(item, quantity);
+            exact.merge(item, quantity, Long::sum);
+        }
+
+        long maxError = sketch.getMaxError();
+        for (SpaceSavingTopK.Estimate<Long> estimate : sketch.top(capacity)) {
+            long truth = exact.get(estimate.item());
+            assertTrue(estimate.count() >= truth, "count must never underestimate");
+            assertTrue(estimate.count() - estimate.error() <= truth, "lower bound must hold");
+            assertTrue(estimate.error() <= maxError, "error must be within N/capacity");
+        }
+
+        // Every item above the N/capacity threshold must be tracked
+        for (Map.Entry<Long, Long> entry : exact.entrySet()) {
+            if (entry.getValue() > maxError) {
+                assertNotNull(sketch.estimate(entry.getKey()), "heavy hitter " + entry.getKey() + " missing");
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.wildeats.onlinecanteen.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.service.OrderService;
+import com.wildeats.onlinecanteen.service.ShopService;
+import ch.qos.logback.classic.Level;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The per-request checks the controllers run before a seller or customer action: the role
+ * check and the shop / order ownership lookups. Repositories are in-memory stubs, so this
+ * measures the service code, not the database; logging is raised to WARN so console
+ * output does not dominate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private UserEntity seller;
+    private ShopService shopService;
+    private OrderService orderService;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        OrderEntity order = CanteenFixtures.order(3);
+        ShopEntity shop = order.getShop();
+        seller = shop.getOwner();
+
+        shopService = new ShopService();
+        ReflectionTestUtils.setField(shopService, "shopRepo", stub(ShopRepository.class, "findById", shop));
+        orderService = new OrderService();
+        ReflectionTestUtils.setField(orderService, "orderRepo", stub(OrderRepository.class, "findById", order));
+        ReflectionTestUtils.setField(orderService, "archivedOrderRepo",
+                stub(ArchivedOrderRepository.class, "findWithItemsByOrderId", null));
+    }
+
+    @Benchmark
+    public boolean sellerRole() {
+        return seller.isSeller();
+    }
+
+    @Benchmark
+    public boolean shopOwnership() {
+        return shopService.isShopOwnedByUser(2L, 1L);
+    }
+
+    @Benchmark
+    public boolean orderOwnership() {
+        return orderService.isOrderOwnedByCustomer(42L, 1L);
+    }
+
+    private static <T> T stub(Class<T> repository, String finder, Object result) {
+        Optional<Object> found = Optional.ofNullable(result);
+        Object proxy = Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+                (instance, method, args) -> {
+                    if (method.getName().equals(finder)) {
+                        return found;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return repository.cast(proxy);
+    }
+}
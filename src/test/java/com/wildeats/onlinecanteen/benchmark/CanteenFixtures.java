@@ -0,0 +1,102 @@
+package com.wildeats.onlinecanteen.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+
+/**
+ * Detached entity graphs shaped like what the JPA repositories return, with the eager
+ * associations (shop owner, item shop, order customer) filled in
+ */
+final class CanteenFixtures {
+
+    private CanteenFixtures() {
+    }
+
+    /**
+     * @return A mapper configured like Spring Boot's auto-configured one
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static UserEntity user(long id, UserEntity.Role role) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail((role == UserEntity.Role.SELLER ? "shop.user" : "user") + id + "@cit.edu");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3kX8jUQK9e6a0yBz8u3kL1u");
+        user.setRole(role);
+        return user;
+    }
+
+    static ShopEntity shop(long id, UserEntity owner) {
+        ShopEntity shop = new ShopEntity();
+        shop.setShopId(id);
+        shop.setName("Shop " + id);
+        shop.setDescription("Rice meals, snacks and drinks near the engineering building");
+        shop.setLocation("Ground floor, canteen block " + id);
+        shop.setPhone("0917 555 01" + id);
+        shop.setEmail("shop" + id + "@cit.edu");
+        shop.setOpeningHours("7:00 AM - 7:00 PM");
+        shop.setOwner(owner);
+        return shop;
+    }
+
+    static List<FoodItemEntity> menu(ShopEntity shop, int size) {
+        List<FoodItemEntity> menu = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FoodItemEntity item = new FoodItemEntity();
+            item.setItemId(shop.getShopId() * 1_000 + i);
+            item.setName("Menu item " + i);
+            item.setDescription("Served with rice and a drink; ask for extra sauce");
+            item.setPrice(45.0 + (i % 7) * 10);
+            item.setImageUrl("https://cdn.example.com/menu/" + item.getItemId() + ".jpg");
+            item.setQuantity(50);
+            item.setAvailable(true);
+            item.setShop(shop);
+            menu.add(item);
+        }
+        return menu;
+    }
+
+    /**
+     * @param lines Number of order lines
+     * @return A priced order from the first {@code lines} items of a fresh menu
+     */
+    static OrderEntity order(int lines) {
+        ShopEntity shop = shop(1, user(2, UserEntity.Role.SELLER));
+        OrderEntity order = new OrderEntity();
+        order.setOrderId(42L);
+        order.setCustomer(user(1, UserEntity.Role.CUSTOMER));
+        order.setShop(shop);
+        order.setStatus(OrderEntity.Status.PENDING);
+        order.setNotes("No onions please");
+        List<FoodItemEntity> menu = menu(shop, lines);
+        for (int i = 0; i < lines; i++) {
+            order.addOrderItem(line(menu.get(i), 1 + i % 3));
+        }
+        order.calculateTotalAmount();
+        return order;
+    }
+
+    static OrderItemEntity line(FoodItemEntity foodItem, int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setOrderItemId(foodItem.getItemId());
+        item.setFoodItem(foodItem);
+        item.setPrice(foodItem.getPrice());
+        item.setQuantity(quantity);
+        return item;
+    }
+}
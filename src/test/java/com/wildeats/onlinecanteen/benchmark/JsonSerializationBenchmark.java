@@ -0,0 +1,77 @@
+package com.wildeats.onlinecanteen.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.dto.CreateOrderRequest;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+
+/**
+ * Jackson cost of the busiest payloads: an order with its customer, shop and priced lines
+ * (each line repeats its food item, shop and owner), a shop menu, and the
+ * {@link CreateOrderRequest} body of {@code POST /api/orders}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "5", "50" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private OrderEntity order;
+    private List<FoodItemEntity> menu;
+    private String createOrderJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = CanteenFixtures.objectMapper();
+        order = CanteenFixtures.order(size);
+        menu = CanteenFixtures.menu(CanteenFixtures.shop(1, CanteenFixtures.user(2, UserEntity.Role.SELLER)), size);
+
+        StringBuilder json = new StringBuilder("{\"shopId\":1,\"notes\":\"No onions please\",\"orderItems\":[");
+        for (int i = 0; i < size; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"foodItem\":{\"itemId\":").append(1_000 + i).append("},\"quantity\":").append(1 + i % 3)
+                    .append('}');
+        }
+        createOrderJson = json.append("]}").toString();
+        // Fail fast on a mapping error rather than benchmarking the exception path
+        objectMapper.readValue(createOrderJson, CreateOrderRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeMenu() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public CreateOrderRequest deserializeCreateOrderRequest() throws JsonProcessingException {
+        return objectMapper.readValue(createOrderJson, CreateOrderRequest.class);
+    }
+}
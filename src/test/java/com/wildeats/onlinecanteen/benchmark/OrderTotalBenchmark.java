@@ -0,0 +1,69 @@
+package com.wildeats.onlinecanteen.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+
+/**
+ * Pricing an order: {@link OrderItemEntity} subtotals (recomputed on every price or
+ * quantity change) and {@link OrderEntity#calculateTotalAmount()}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({ "1", "5", "20" })
+    public int lines;
+
+    private OrderEntity order;
+    private List<FoodItemEntity> menu;
+
+    @Setup
+    public void setUp() {
+        order = CanteenFixtures.order(lines);
+        menu = order.getOrderItems().stream().map(OrderItemEntity::getFoodItem).toList();
+    }
+
+    @Benchmark
+    public double calculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    /**
+     * Building and pricing the lines as {@code OrderService.createOrder} does
+     */
+    @Benchmark
+    public OrderEntity priceNewOrder() {
+        OrderEntity fresh = new OrderEntity();
+        for (int i = 0; i < menu.size(); i++) {
+            FoodItemEntity foodItem = menu.get(i);
+            OrderItemEntity item = new OrderItemEntity();
+            item.setFoodItem(foodItem);
+            item.setPrice(foodItem.getPrice());
+            item.setQuantity(1 + i % 3);
+            fresh.addOrderItem(item);
+        }
+        fresh.calculateTotalAmount();
+        return fresh;
+    }
+}
@@ -0,0 +1,108 @@
+package com.wildeats.onlinecanteen.benchmark;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryContext;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryDataSource;
+import com.wildeats.onlinecanteen.slowquery.SlowQueryLog;
+
+/**
+ * Cost of {@link SlowQueryDataSource} on a fast menu query (in-memory H2, 20 rows): the
+ * plain connection, a wrapped connection outside a watched repository call (statements
+ * pass through unwrapped), and a watched call (statement timed, below the threshold)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlowQueryOverheadBenchmark {
+
+    private static final String MENU_SQL = "SELECT item_id, name, price FROM food_items WHERE shop_id = ?";
+
+    private Connection plain;
+    private Connection wrapped;
+    private SlowQueryContext.Origin origin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query-benchmark;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS food_items (item_id BIGINT PRIMARY KEY, name VARCHAR(100),"
+                    + " price DOUBLE, shop_id BIGINT)");
+            statement.execute("DELETE FROM food_items");
+            for (int i = 0; i < 20; i++) {
+                statement.execute("INSERT INTO food_items VALUES (" + i + ", 'Item " + i + "', 50.0, 1)");
+            }
+        }
+        DataSource slowQueries = new SlowQueryDataSource(h2, new SlowQueryLog(100, 500));
+        plain = h2.getConnection();
+        wrapped = slowQueries.getConnection();
+        Method method = FoodItemRepository.class.getMethod("findByShopShopIdAndIsAvailableTrue", Long.class);
+        origin = new SlowQueryContext.Origin(FoodItemRepository.class, method);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        plain.close();
+        wrapped.close();
+    }
+
+    @Benchmark
+    public long plainConnection() throws SQLException {
+        return readMenu(plain);
+    }
+
+    @Benchmark
+    public long unwatchedCall() throws SQLException {
+        return readMenu(wrapped);
+    }
+
+    @Benchmark
+    public long watchedCall() throws SQLException {
+        SlowQueryContext.Origin outer = SlowQueryContext.enter(origin);
+        try {
+            return readMenu(wrapped);
+        } finally {
+            SlowQueryContext.restore(outer);
+        }
+    }
+
+    private static long readMenu(Connection connection) throws SQLException {
+        long sum = 0;
+        try (PreparedStatement statement = connection.prepareStatement(MENU_SQL)) {
+            statement.setLong(1, 1L);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    sum += rows.getLong(1);
+                }
+            }
+        }
+        return sum;
+    }
+}
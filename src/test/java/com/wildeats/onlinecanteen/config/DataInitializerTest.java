@@ -0,0 +1,46 @@
+package com.wildeats.onlinecanteen.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wildeats.onlinecanteen.service.AutocompleteService;
+import com.wildeats.onlinecanteen.service.EmailRegistry;
+import com.wildeats.onlinecanteen.service.MenuSearchService;
+
+// Own database, so the demo data is seeded by this context's background thread
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seeding;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.seed.demo.background=true",
+        "canteen.outbox.dispatcher.enabled=false" })
+@ActiveProfiles("test")
+class DataInitializerTest {
+
+    @Autowired
+    private MenuSearchService menuSearch;
+
+    @Autowired
+    private AutocompleteService autocomplete;
+
+    @Autowired
+    private EmailRegistry emailRegistry;
+
+    @Test
+    void indexesPickUpDemoDataSeededInTheBackground() throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!indexed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(indexed());
+    }
+
+    // The last rows the seeder writes; the indexes rebuild after them
+    private boolean indexed() {
+        return !menuSearch.search("chips", 10).isEmpty()
+                && !autocomplete.suggest("potato", 10).isEmpty()
+                && emailRegistry.mightBeRegistered("jane.smith@example.com");
+    }
+}
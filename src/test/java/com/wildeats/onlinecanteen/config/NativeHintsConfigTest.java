@@ -0,0 +1,30 @@
+package com.wildeats.onlinecanteen.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.wildeats.onlinecanteen.dto.AuthResponse;
+import com.wildeats.onlinecanteen.dto.CreateOrderRequest;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+
+class NativeHintsConfigTest {
+
+    @Test
+    void registersEntitiesDtosAndJfrSettings() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.CanteenRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (Class<?> type : new Class<?>[] { OrderEntity.class, UserEntity.Role.class, AuthResponse.class,
+                CreateOrderRequest.class }) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(OrderEntity.class, "getOrderItems").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("jfr/canteen.jfc").test(hints));
+    }
+}
@@ -0,0 +1,96 @@
+package com.wildeats.onlinecanteen.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.dto.LoginRequest;
+import com.wildeats.onlinecanteen.dto.RegisterRequest;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.PasswordService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private PasswordService passwordService;
+
+    @Test
+    void registersWithAHashedPasswordAndRejectsDuplicates() throws Exception {
+        String email = "register-" + UUID.randomUUID() + "@example.com";
+        RegisterRequest registration = new RegisterRequest("New Customer", email, "s3cret-pass");
+
+        assertEquals(201, perform("/api/auth/register", registration).getStatus());
+        String stored = userRepo.findByEmail(email).getPassword();
+        assertTrue(PasswordService.isHashed(stored));
+        assertTrue(passwordService.matches("s3cret-pass", stored));
+
+        assertEquals(400, perform("/api/auth/register", registration).getStatus());
+    }
+
+    @Test
+    void upgradesALegacyPasswordOnLogin() throws Exception {
+        String email = "legacy-" + UUID.randomUUID() + "@example.com";
+        // Saved through the repository, so the plaintext is stored as-is
+        userRepo.save(new UserEntity("Legacy Customer", email, "old-plaintext", UserEntity.Role.CUSTOMER));
+
+        assertEquals(200, perform("/api/auth/login", new LoginRequest(email, "old-plaintext")).getStatus());
+        String stored = userRepo.findByEmail(email).getPassword();
+        assertTrue(PasswordService.isHashed(stored));
+        assertTrue(passwordService.matches("old-plaintext", stored));
+    }
+
+    @Test
+    void upgradeLeavesAPasswordChangedMeanwhile() {
+        String email = "legacy-" + UUID.randomUUID() + "@example.com";
+        UserEntity user = userRepo.save(new UserEntity("Legacy Customer", email, "old-plaintext",
+                UserEntity.Role.CUSTOMER));
+        String changed = passwordService.hash("changed-meanwhile");
+        user.setPassword(changed);
+        userRepo.save(user);
+
+        assertEquals(0, userRepo.updatePasswordIfUnchanged(user.getId(), "old-plaintext",
+                passwordService.hash("old-plaintext")));
+        assertEquals(changed, userRepo.findByEmail(email).getPassword());
+        assertEquals(1, userRepo.updatePasswordIfUnchanged(user.getId(), changed, "upgraded"));
+        assertEquals("upgraded", userRepo.findByEmail(email).getPassword());
+    }
+
+    private MockHttpServletResponse perform(String path, Object body) throws Exception {
+        MvcResult result = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result.getAsyncResult(10_000);
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+}
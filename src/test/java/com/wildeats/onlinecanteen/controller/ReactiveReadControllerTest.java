@@ -0,0 +1,156 @@
+package com.wildeats.onlinecanteen.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+
+/**
+ * Contract test: every /api/reactive route must answer exactly like its MVC twin.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveReadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ShopEntity shop;
+    private UserEntity customer;
+    private UserEntity otherCustomer;
+    private UserEntity otherSeller;
+    private OrderEntity order;
+
+    @BeforeEach
+    void setUp() {
+        shop = shopRepo.findByIsActiveTrue().get(0);
+        customer = userRepo.findByEmail("john.doe@example.com");
+        otherCustomer = userRepo.findByEmail("jane.smith@example.com");
+        otherSeller = shopRepo.findByIsActiveTrue().stream()
+                .map(ShopEntity::getOwner)
+                .filter(owner -> !owner.getId().equals(shop.getOwner().getId()))
+                .findFirst()
+                .orElseThrow();
+
+        FoodItemEntity foodItem = foodItemRepo.findByShopShopIdAndIsAvailableTrue(shop.getShopId()).get(0);
+        order = new OrderEntity();
+        order.setCustomer(customer);
+        order.setShop(shop);
+        order.setStatus(OrderEntity.Status.PENDING);
+        order.setNotes("Less sugar");
+        order.setCreatedAt(new Date());
+        order.setUpdatedAt(new Date());
+        OrderItemEntity item = new OrderItemEntity();
+        item.setFoodItem(foodItem);
+        item.setQuantity(2);
+        item.setPrice(foodItem.getPrice());
+        item.setSubtotal(foodItem.getPrice() * 2);
+        order.addOrderItem(item);
+        order.setTotalAmount(item.getSubtotal());
+        order = orderRepo.save(order);
+    }
+
+    @Test
+    void shopsMatchMvc() throws Exception {
+        assertSameResponse("/shop");
+    }
+
+    @Test
+    void foodItemsMatchMvc() throws Exception {
+        assertSameResponse("/food/shop/" + shop.getShopId());
+        assertSameResponse("/food/shop/999999");
+    }
+
+    @Test
+    void ordersMatchMvc() throws Exception {
+        Long id = order.getOrderId();
+        assertSameResponse("/orders/" + id + "?userId=" + customer.getId());
+        assertSameResponse("/orders/" + id + "?userId=" + shop.getOwner().getId());
+        assertSameResponse("/orders/" + id + "?userId=" + otherCustomer.getId());
+        assertSameResponse("/orders/" + id + "?userId=" + otherSeller.getId());
+        assertSameResponse("/orders/999999?userId=" + customer.getId());
+        assertSameResponse("/orders/" + id + "?userId=999999");
+    }
+
+    @Test
+    void archivedOrdersWithDeletedReferencesMatchMvc() throws Exception {
+        // The archive has no foreign keys: one order lost its shop and food item, one its customer
+        archive(990001L, customer.getId(), 999998L, 999997L);
+        archive(990002L, 999996L, shop.getShopId(),
+                foodItemRepo.findByShopShopIdAndIsAvailableTrue(shop.getShopId()).get(0).getItemId());
+
+        assertSameResponse("/orders/990001?userId=" + customer.getId());
+        assertSameResponse("/orders/990001?userId=" + otherCustomer.getId());
+        assertSameResponse("/orders/990001?userId=" + shop.getOwner().getId());
+        assertSameResponse("/orders/990002?userId=" + shop.getOwner().getId());
+        assertSameResponse("/orders/990002?userId=" + otherSeller.getId());
+        assertSameResponse("/orders/990002?userId=" + customer.getId());
+    }
+
+    private void archive(Long orderId, Long customerId, Long shopId, Long foodItemId) {
+        jdbcTemplate.update("INSERT INTO orders_archive (order_id, customer_id, shop_id, total_amount, status, notes,"
+                + " created_at, updated_at, archived_at) VALUES (?, ?, ?, 90.0, 'COMPLETED', NULL, ?, ?, ?)",
+                orderId, customerId, shopId, new Date(), new Date(), new Date());
+        jdbcTemplate.update("INSERT INTO order_items_archive (order_item_id, order_id, food_item_id, quantity, price,"
+                + " subtotal) VALUES (?, ?, ?, 2, 45.0, 90.0)", orderId, orderId, foodItemId);
+    }
+
+    private void assertSameResponse(String path) throws Exception {
+        MockHttpServletResponse mvc = mockMvc.perform(get("/api" + path)).andReturn().getResponse();
+
+        MvcResult started = mockMvc.perform(get("/api/reactive" + path))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse reactive = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+
+        assertEquals(mvc.getStatus(), reactive.getStatus(), path);
+        JsonNode expected = objectMapper.readTree(mvc.getContentAsString());
+        assertFalse(expected.isEmpty(), path);
+        assertEquals(expected, objectMapper.readTree(reactive.getContentAsString()), path);
+    }
+}
@@ -0,0 +1,140 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class BulkheadRoutingDataSourceTest {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private BulkheadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<Bulkhead, DataSource> bulkheads = new EnumMap<>(Bulkhead.class);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            bulkheads.put(bulkhead, pool(bulkhead.poolName()));
+        }
+        dataSource = new BulkheadRoutingDataSource(pool("primary"), bulkheads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BulkheadContext.clear();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void exhaustedBrowsePoolDoesNotBlockCheckout() throws Exception {
+        BulkheadContext.enter(Bulkhead.BROWSE);
+        try (Connection browsing = dataSource.getConnection()) {
+            assertThrows(SQLException.class, dataSource::getConnection);
+
+            String checkoutPool = CompletableFuture.supplyAsync(() -> {
+                BulkheadContext.enter(Bulkhead.CHECKOUT);
+                try (Connection checkout = dataSource.getConnection()) {
+                    return poolOf(checkout);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    BulkheadContext.clear();
+                }
+            }).get(1, TimeUnit.SECONDS);
+
+            assertEquals("browse", poolOf(browsing));
+            assertEquals("checkout", checkoutPool);
+        }
+    }
+
+    @Test
+    void unboundWorkUsesTheSharedPool() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals("primary", poolOf(connection));
+        }
+    }
+
+    @Test
+    void outermostAnnotatedCallPicksTheBulkhead() {
+        Jobs jobs = proxy(new Jobs());
+
+        assertEquals(Bulkhead.BACKGROUND, jobs.classDefault());
+        assertEquals(Bulkhead.CHECKOUT, jobs.checkout());
+        assertEquals(Bulkhead.CHECKOUT, jobs.checkoutThenBrowse(proxy(new Jobs())));
+        assertNull(BulkheadContext.current());
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        pool.setConnectionInitSql("CREATE TABLE IF NOT EXISTS pool_name AS SELECT '" + name + "' AS name");
+        pools.add(pool);
+        return pool;
+    }
+
+    private static String poolOf(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT name FROM pool_name")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static Jobs proxy(Jobs target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new DefaultPointcutAdvisor(
+                new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(UseBulkhead.class))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(UseBulkhead.class)),
+                new BulkheadInterceptor()));
+        return (Jobs) factory.getProxy();
+    }
+
+    @UseBulkhead(Bulkhead.BACKGROUND)
+    static class Jobs {
+
+        public Bulkhead classDefault() {
+            return BulkheadContext.current();
+        }
+
+        @UseBulkhead(Bulkhead.CHECKOUT)
+        public Bulkhead checkout() {
+            return BulkheadContext.current();
+        }
+
+        @UseBulkhead(Bulkhead.CHECKOUT)
+        public Bulkhead checkoutThenBrowse(Jobs other) {
+            return other.browse();
+        }
+
+        @UseBulkhead(Bulkhead.BROWSE)
+        public Bulkhead browse() {
+            return BulkheadContext.current();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CheckoutBulkheadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void placingAnOrderTakesACheckoutConnection() throws Exception {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        ShopEntity shop = shopRepo.findByName("Coffee Haven");
+        FoodItemEntity food = foodItemRepo.findByShopShopId(shop.getShopId()).get(0);
+        long before = acquisitions("checkout");
+
+        // The user lookup runs first, outside any bulkhead; the order must still get its own connection
+
+        mockMvc.perform(post("/api/orders")
+                        .param("userId", customerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shopId\":" + shop.getShopId() + ",\"orderItems\":[{\"foodItem\":{\"itemId\":"
+                                + food.getItemId() + "},\"quantity\":1}]}"))
+                .andExpect(status().isCreated());
+
+        assertTrue(acquisitions("checkout") > before);
+    }
+
+    private long acquisitions(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,130 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each holds a row naming
+ * itself, so a query shows where it was routed. "Replication" of the heartbeat is done by
+ * hand to control the lag.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong wallClock = new AtomicLong(1_000_000);
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        primaryJdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+
+        lagMonitor = new ReplicaLagMonitor(primary, replica, 5_000, wallClock::get);
+        tracker = new ReadYourWritesTracker(10_000, 100, nanoClock::get);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, lagMonitor, tracker));
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryJdbc.execute("SHUTDOWN");
+        replicaJdbc.execute("SHUTDOWN");
+        tracker.clearCurrentUser();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToAFreshReplica() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaLags() {
+        // No heartbeat on the replica yet
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replicate();
+        wallClock.addAndGet(6_000);
+        lagMonitor.check();
+        assertEquals(6_000, lagMonitor.getLagMillis());
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replicate();
+        lagMonitor.check();
+        assertEquals(0, lagMonitor.getLagMillis());
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void pinsAUserToThePrimaryRightAfterTheyWrite() {
+        lagMonitor.check();
+        replicate();
+        lagMonitor.check();
+
+        tracker.recordWrite(7L);
+        tracker.bindCurrentUser(7L);
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        tracker.bindCurrentUser(8L);
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        tracker.bindCurrentUser(7L);
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    /**
+     * Copy the primary's heartbeat to the replica, as replication would
+     */
+    private void replicate() {
+        Long beat = primaryJdbc.queryForObject(ReplicaLagMonitor.SELECT_SQL, Long.class);
+        replicaJdbc.execute(ReplicaLagMonitor.CREATE_SQL);
+        if (replicaJdbc.update(ReplicaLagMonitor.UPDATE_SQL, beat) == 0) {
+            replicaJdbc.update(ReplicaLagMonitor.INSERT_SQL, beat);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.wildeats.onlinecanteen.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.OrderService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The replica pool points at the primary's own database, so replication is instant and the
+ * pools' acquire counts show where each transaction of a request went.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.datasource.replica.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.datasource.replica.username=sa",
+        "canteen.datasource.replica.password=",
+        "canteen.outbox.dispatcher.enabled=false" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void writeAfterAReadInTheSameRequestGoesToThePrimary() throws Exception {
+        ShopEntity shop = shopRepo.findByName("Coffee Haven");
+        Long sellerId = userRepo.findByEmail("shop.coffee@example.com").getId();
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        FoodItemEntity food = foodItemRepo.findByShopShopId(shop.getShopId()).get(0);
+        OrderEntity order = placeOrder(customerId, food);
+
+        // First check writes the heartbeat, the second reads it back from the "replica"
+        lagMonitor.check();
+        lagMonitor.check();
+        long replicaBefore = acquisitions("replica");
+        long checkoutBefore = acquisitions("checkout");
+
+        // Reads the seller, the order and the shop (read-only), then updates the order
+        mockMvc.perform(put("/api/orders/" + order.getOrderId() + "/status")
+                        .param("userId", sellerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PREPARING\"}"))
+                .andExpect(status().isOk());
+
+        assertTrue(acquisitions("replica") > replicaBefore, "reads should use the replica");
+        assertTrue(acquisitions("checkout") > checkoutBefore, "the update should take a primary connection");
+        assertEquals(OrderEntity.Status.PREPARING, orderRepo.findById(order.getOrderId()).orElseThrow().getStatus());
+    }
+
+    private OrderEntity placeOrder(Long customerId, FoodItemEntity food) {
+        OrderItemEntity line = new OrderItemEntity();
+        line.setFoodItem(food);
+        line.setQuantity(1);
+        List<OrderItemEntity> lines = new ArrayList<>();
+        lines.add(line);
+        return orderService.createOrder(customerId, food.getShop().getShopId(), lines, null);
+    }
+
+    private long acquisitions(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,99 @@
+package com.wildeats.onlinecanteen.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.OrderService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest(properties = "canteen.jfr.continuous.enabled=true")
+@ActiveProfiles("test")
+class ContinuousRecordingTest {
+
+    @Autowired
+    private ContinuousRecording recording;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Test
+    void recordsOrderPlacementStockAndStatusEvents(@TempDir Path dir) throws Exception {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        ShopEntity shop = shopRepo.findByIsActiveTrue().get(0);
+        FoodItemEntity foodItem = foodItemRepo.findByShopShopIdAndIsAvailableTrue(shop.getShopId()).get(0);
+
+        OrderEntity order = orderService.createOrder(customerId, shop.getShopId(), List.of(line(foodItem, 1)), null);
+        orderService.cancelOrder(order.getOrderId());
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(customerId, shop.getShopId(),
+                List.of(line(foodItem, foodItem.getQuantity() + 1)), null));
+
+        Path file = dir.resolve("canteen.jfr");
+        recording.dump(file);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.wildeats.canteen."))
+                .toList();
+
+        List<RecordedEvent> placements = named(events, "com.wildeats.canteen.OrderPlacement");
+        assertEquals(2, placements.size());
+        RecordedEvent placed = placements.get(0);
+        assertEquals(shop.getShopId(), placed.getLong("shopId"));
+        assertEquals(1, placed.getInt("lineCount"));
+        assertEquals(OrderPlacementEvent.STOCK_OK, placed.getString("stockCheck"));
+        assertEquals("success", placed.getString("outcome"));
+        assertEquals(order.getOrderId(), placed.getLong("orderId"));
+        RecordedEvent rejected = placements.get(1);
+        assertEquals(OrderPlacementEvent.STOCK_INSUFFICIENT, rejected.getString("stockCheck"));
+        assertEquals(foodItem.getItemId(), rejected.getLong("shortItemId"));
+        assertEquals("rejected", rejected.getString("outcome"));
+
+        RecordedEvent decrease = named(events, "com.wildeats.canteen.StockDecrease").get(0);
+        assertEquals(foodItem.getItemId(), decrease.getLong("itemId"));
+        assertEquals(StockDecreaseEvent.OUTCOME_DECREASED, decrease.getString("outcome"));
+        assertTrue(decrease.getStackTrace() != null);
+
+        RecordedEvent cancel = named(events, "com.wildeats.canteen.OrderStatusChange").get(0);
+        assertEquals("PENDING", cancel.getString("fromStatus"));
+        assertEquals("CANCELLED", cancel.getString("toStatus"));
+        assertEquals(1, cancel.getInt("restockedLines"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    private static OrderItemEntity line(FoodItemEntity foodItem, int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        FoodItemEntity ref = new FoodItemEntity();
+        ref.setItemId(foodItem.getItemId());
+        item.setFoodItem(ref);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,73 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-endpoint latency and error counts; a request is an error unless it returned 2xx
+ */
+class LoadReport {
+
+    private final ConcurrentMap<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, ok);
+    }
+
+    /**
+     * @param elapsedNanos Wall time of the run
+     * @return One row per endpoint, in endpoint order
+     */
+    Map<String, Row> rows(long elapsedNanos) {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        endpoints.keySet().stream().sorted().forEach(name -> rows.put(name, endpoints.get(name).row(elapsedNanos)));
+        return rows;
+    }
+
+    String format(long elapsedNanos) {
+        StringBuilder out = new StringBuilder(String.format("%-36s %8s %9s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms"));
+        rows(elapsedNanos).forEach((name, row) -> out.append(String.format("%-36s %8d %9.1f %7.2f%% %8.1f %8.1f %8.1f%n",
+                name, row.requests(), row.throughput(), row.errorRate() * 100, row.p50Millis(), row.p99Millis(),
+                row.p999Millis())));
+        return out.toString();
+    }
+
+    record Row(long requests, long errors, double throughput, double errorRate, double p50Millis, double p99Millis,
+            double p999Millis) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1_024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long latency, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Row row(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Row(count, errors, count / (elapsedNanos / 1e9), count == 0 ? 0 : (double) errors / count,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.OnlinecanteenApplication;
+import com.wildeats.onlinecanteen.service.SyntheticDataGenerator;
+
+/**
+ * Throughput of the same browse-and-order mix under the old logging setup (synchronous
+ * console, DEBUG for web and the app, {@code show-sql}) and the current one (async
+ * appender, INFO, sampled request summaries, slow-query-only SQL). Prints both reports
+ * and writes them to {@code target/loadtest/logging-overhead.json}.
+ *
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=LoggingOverheadLoadTest -Dloadtest=true}. Sizes can be overridden
+ * with {@code -Dloadtest.clients} and {@code -Dloadtest.requests-per-client}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoggingOverheadLoadTest {
+
+    private static final int SHOPS = 50;
+    private static final int ITEMS_PER_SHOP = 20;
+    private static final int CUSTOMERS = 2_000;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 300);
+
+    private static final String[] BEFORE = {
+            "--logging.config=classpath:logback-sync.xml",
+            "--logging.level.org.springframework.web=DEBUG",
+            "--logging.level.com.wildeats.onlinecanteen=DEBUG",
+            "--spring.jpa.show-sql=true",
+            "--spring.jpa.properties.hibernate.log_slow_query=0",
+            "--canteen.request-log.enabled=false"
+    };
+
+    @Test
+    void asyncSampledLoggingOutperformsVerboseLogging() throws Exception {
+        Map<String, Map<String, LoadReport.Row>> results = new LinkedHashMap<>();
+        double before = run("before", BEFORE, results);
+        double after = run("after", new String[0], results);
+
+        System.out.printf("Throughput: %.1f req/s before, %.1f req/s after (%+.1f%%)%n",
+                before, after, (after / before - 1) * 100);
+        Path out = Path.of("target", "loadtest", "logging-overhead.json");
+        Files.createDirectories(out.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), results);
+
+        assertTrue(after > before, "after " + after + " req/s, before " + before + " req/s");
+    }
+
+    private double run(String label, String[] logging, Map<String, Map<String, LoadReport.Row>> results)
+            throws Exception {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--server.tomcat.threads.max=200"));
+        args.addAll(List.of(logging));
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                OnlinecanteenApplication.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+            generator.generate(new SyntheticDataGenerator.Plan(SHOPS, ITEMS_PER_SHOP, CUSTOMERS, 0, 0, 1));
+            SyntheticDataGenerator.Campus campus = generator.campus();
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            for (int i = 0; i < 200; i++) {
+                step(http, baseUrl, campus, new Random(i), new LoadReport());
+            }
+
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        step(http, baseUrl, campus, random, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println("Logging " + label + ":");
+            System.out.print(report.format(elapsed));
+            results.put(label, report.rows(elapsed));
+            long requests = report.rows(elapsed).values().stream().mapToLong(LoadReport.Row::requests).sum();
+            return requests / (elapsed / 1e9);
+        }
+    }
+
+    // 60% menus, 25% shop list, 15% orders
+    private static void step(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus, Random random,
+            LoadReport report) throws Exception {
+        SyntheticDataGenerator.Shop shop = campus.shops().get(random.nextInt(campus.shops().size()));
+        int roll = random.nextInt(100);
+        HttpRequest request;
+        String endpoint;
+        if (roll < 60) {
+            endpoint = "GET /api/food/shop/{id}";
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/food/shop/" + shop.shopId())).GET().build();
+        } else if (roll < 85) {
+            endpoint = "GET /api/shop";
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/shop")).GET().build();
+        } else {
+            endpoint = "POST /api/orders";
+            long itemId = shop.menu().values().iterator().next();
+            long customerId = campus.customerIds()[random.nextInt(campus.customerIds().length)];
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders?userId=" + customerId))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"shopId\":" + shop.shopId()
+                            + ",\"orderItems\":[{\"foodItem\":{\"itemId\":" + itemId + "},\"quantity\":1}]}"))
+                    .build();
+        }
+
+        long begin = System.nanoTime();
+        boolean ok = false;
+        try {
+            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        } catch (Exception e) {
+            // Counted as an error
+        }
+        report.record(endpoint, System.nanoTime() - begin, ok);
+    }
+}
@@ -0,0 +1,253 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.OnlinecanteenApplication;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.service.SyntheticDataGenerator;
+
+/**
+ * End-to-end noon rush against the full application on in-memory H2: seeds a synthetic
+ * campus, then has concurrent clients browse menus, place orders, move them through the
+ * seller statuses and cancel some. Orders replay the dishes and final statuses in
+ * {@code orders.json}. Prints throughput, p50/p99/p999 and error rate per endpoint and
+ * writes them to {@code target/loadtest/lunch-rush.json}.
+ *
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=LunchRushLoadTest -Dloadtest=true}. Sizes can be overridden with
+ * {@code -Dloadtest.shops}, {@code .items-per-shop}, {@code .customers}, {@code .clients}
+ * and {@code .requests-per-client}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LunchRushLoadTest {
+
+    private static final int SHOPS = Integer.getInteger("loadtest.shops", 300);
+    private static final int ITEMS_PER_SHOP = Integer.getInteger("loadtest.items-per-shop", 20);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 20_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 50);
+
+    // Mix, in percent: browse shops, browse a menu, place an order, seller status update, cancel
+    private static final int[] MIX = { 20, 45, 20, 10, 5 };
+    private static final List<OrderEntity.Status> SELLER_FLOW =
+            List.of(OrderEntity.Status.PREPARING, OrderEntity.Status.READY, OrderEntity.Status.COMPLETED);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void noonRush() throws Exception {
+        List<OrderTemplate> templates = templates();
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                OnlinecanteenApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, so they win over application-test.properties
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=200",
+                        "--logging.level.com.wildeats.onlinecanteen=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            List<String> dishes = new ArrayList<>(new LinkedHashSet<>(
+                    templates.stream().flatMap(template -> template.dishes().stream()).toList()));
+            long seedStart = System.nanoTime();
+            SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+            generator.generate(new SyntheticDataGenerator.Plan(SHOPS, ITEMS_PER_SHOP, CUSTOMERS, 0, 0, 1, dishes));
+            SyntheticDataGenerator.Campus campus = generator.campus();
+            System.out.printf("Seeded %d shops, %d items, %d customers in %d ms%n", SHOPS, SHOPS * ITEMS_PER_SHOP,
+                    CUSTOMERS, (System.nanoTime() - seedStart) / 1_000_000);
+
+            Rush rush = new Rush(http, "http://localhost:" + context.getWebServer().getPort(), campus, templates);
+            for (int i = 0; i < 100; i++) {
+                rush.step(new Random(i), new LoadReport());
+            }
+
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        rush.step(random, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.print(report.format(elapsed));
+            Path out = Path.of("target", "loadtest", "lunch-rush.json");
+            Files.createDirectories(out.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report.rows(elapsed));
+
+            report.rows(elapsed).forEach((endpoint, row) ->
+                    assertTrue(row.errorRate() < 0.01, endpoint + " error rate " + row.errorRate()));
+        }
+    }
+
+    private List<OrderTemplate> templates() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/orders.json")) {
+            List<OrderTemplate> templates = new ArrayList<>();
+            for (JsonNode order : objectMapper.readTree(in)) {
+                List<String> dishes = Arrays.stream(order.get("items").asText().split(",")).map(String::trim).toList();
+                templates.add(new OrderTemplate(dishes, finalStatus(order.get("status").asText())));
+            }
+            return templates;
+        }
+    }
+
+    private static OrderEntity.Status finalStatus(String status) {
+        try {
+            return OrderEntity.Status.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // orders.json predates the status enum: DELIVERED and the like mean done
+            return OrderEntity.Status.COMPLETED;
+        }
+    }
+
+    private record OrderTemplate(List<String> dishes, OrderEntity.Status finalStatus) {
+    }
+
+    private record PlacedOrder(long orderId, long customerId, SyntheticDataGenerator.Shop shop, OrderEntity.Status finalStatus,
+            int step) {
+    }
+
+    /**
+     * The scripted client behaviour; shared by all clients, with placed orders handed
+     * between them through a queue
+     */
+    private final class Rush {
+        private final HttpClient http;
+        private final String baseUrl;
+        private final SyntheticDataGenerator.Campus campus;
+        private final List<OrderTemplate> templates;
+        private final ConcurrentLinkedQueue<PlacedOrder> placed = new ConcurrentLinkedQueue<>();
+
+        private Rush(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus, List<OrderTemplate> templates) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.campus = campus;
+            this.templates = templates;
+        }
+
+        void step(Random random, LoadReport report) throws Exception {
+            int roll = random.nextInt(100);
+            if (roll < MIX[0]) {
+                send(report, "GET /api/shop", get("/api/shop"));
+            } else if ((roll -= MIX[0]) < MIX[1]) {
+                SyntheticDataGenerator.Shop shop = shop(random);
+                send(report, "GET /api/food/shop/{id}", get("/api/food/shop/" + shop.shopId()));
+            } else if ((roll -= MIX[1]) < MIX[2]) {
+                placeOrder(random, report);
+            } else if ((roll -= MIX[2]) < MIX[3]) {
+                advanceOrder(report);
+            } else {
+                cancelOrder(report);
+            }
+        }
+
+        private void placeOrder(Random random, LoadReport report) throws Exception {
+            OrderTemplate template = templates.get(random.nextInt(templates.size()));
+            SyntheticDataGenerator.Shop shop = shop(random);
+            long customerId = campus.customerIds()[random.nextInt(campus.customerIds().length)];
+            StringBuilder body = new StringBuilder("{\"shopId\":").append(shop.shopId()).append(",\"orderItems\":[");
+            for (int i = 0; i < template.dishes().size(); i++) {
+                body.append(i == 0 ? "" : ",").append("{\"foodItem\":{\"itemId\":")
+                        .append(shop.menu().get(template.dishes().get(i))).append("},\"quantity\":")
+                        .append(1 + random.nextInt(2)).append('}');
+            }
+            body.append("]}");
+
+            HttpResponse<String> response = send(report, "POST /api/orders", HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/orders?userId=" + customerId))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build());
+            if (response != null && response.statusCode() == 201) {
+                long orderId = objectMapper.readTree(response.body()).get("orderId").asLong();
+                placed.add(new PlacedOrder(orderId, customerId, shop, template.finalStatus(), 0));
+            }
+        }
+
+        private void advanceOrder(LoadReport report) throws Exception {
+            PlacedOrder order = placed.poll();
+            if (order == null) {
+                send(report, "GET /api/shop", get("/api/shop"));
+                return;
+            }
+            OrderEntity.Status next = SELLER_FLOW.get(order.step());
+            send(report, "PUT /api/orders/{id}/status", status(order.orderId(), order.shop().sellerId(), next));
+            if (next != order.finalStatus() && order.step() + 1 < SELLER_FLOW.size()) {
+                placed.add(new PlacedOrder(order.orderId(), order.customerId(), order.shop(), order.finalStatus(),
+                        order.step() + 1));
+            }
+        }
+
+        private void cancelOrder(LoadReport report) throws Exception {
+            PlacedOrder order = placed.poll();
+            if (order == null) {
+                send(report, "GET /api/shop", get("/api/shop"));
+                return;
+            }
+            send(report, "PUT /api/orders/{id}/status (cancel)",
+                    status(order.orderId(), order.customerId(), OrderEntity.Status.CANCELLED));
+        }
+
+        private SyntheticDataGenerator.Shop shop(Random random) {
+            return campus.shops().get(random.nextInt(campus.shops().size()));
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        }
+
+        private HttpRequest status(long orderId, long userId, OrderEntity.Status status) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId + "/status?userId=" + userId))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                    .build();
+        }
+
+        private HttpResponse<String> send(LoadReport report, String endpoint, HttpRequest request) {
+            long begin = System.nanoTime();
+            HttpResponse<String> response = null;
+            try {
+                response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (Exception e) {
+                // Counted as an error below
+            }
+            boolean ok = response != null && response.statusCode() / 100 == 2;
+            report.record(endpoint, System.nanoTime() - begin, ok);
+            return response;
+        }
+    }
+}
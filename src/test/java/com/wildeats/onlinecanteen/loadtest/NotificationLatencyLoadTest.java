@@ -0,0 +1,182 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.wildeats.onlinecanteen.OnlinecanteenApplication;
+import com.wildeats.onlinecanteen.service.SyntheticDataGenerator;
+
+/**
+ * Latency of {@code PUT /api/orders/{id}/status} moving orders to READY, with "order
+ * ready" notifications off and on (inbox plus email to a local SMTP stand-in). Every
+ * order is notified exactly once in the second run, and the run only ends once all the
+ * emails have arrived. Prints both reports and writes them to
+ * {@code target/loadtest/notification-latency.json}.
+ *
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=NotificationLatencyLoadTest -Dloadtest=true}. Sizes can be
+ * overridden with {@code -Dloadtest.clients} and {@code -Dloadtest.orders-per-client}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class NotificationLatencyLoadTest {
+
+    private static final String ENDPOINT = "PUT /api/orders/{id}/status";
+    private static final int SHOPS = 20;
+    private static final int ITEMS_PER_SHOP = 5;
+    private static final int CUSTOMERS = 500;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int ORDERS_PER_CLIENT = Integer.getInteger("loadtest.orders-per-client", 100);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readyNotificationsAddNoLatencyToStatusUpdates() throws Exception {
+        Map<String, Map<String, LoadReport.Row>> results = new LinkedHashMap<>();
+        LoadReport.Row off = run("off", null, results);
+
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        LoadReport.Row on;
+        try {
+            on = run("on", greenMail, results);
+        } finally {
+            greenMail.stop();
+        }
+
+        System.out.printf("Status update p50 %.2f ms off, %.2f ms on; p99 %.2f ms off, %.2f ms on%n",
+                off.p50Millis(), on.p50Millis(), off.p99Millis(), on.p99Millis());
+        Path out = Path.of("target", "loadtest", "notification-latency.json");
+        Files.createDirectories(out.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), results);
+
+        assertEquals(0, off.errors() + on.errors());
+        // Within run-to-run noise: the request path only gains the outbox row both runs write
+        assertTrue(on.p50Millis() <= off.p50Millis() * 1.15 + 0.5, "p50 " + on.p50Millis() + " vs " + off.p50Millis());
+        assertTrue(on.p99Millis() <= off.p99Millis() * 1.15 + 0.5, "p99 " + on.p99Millis() + " vs " + off.p99Millis());
+    }
+
+    private LoadReport.Row run(String label, GreenMail greenMail, Map<String, Map<String, LoadReport.Row>> results)
+            throws Exception {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--server.tomcat.threads.max=200"));
+        if (greenMail == null) {
+            args.add("--canteen.notifications.enabled=false");
+        } else {
+            args.add("--spring.mail.host=localhost");
+            args.add("--spring.mail.port=" + greenMail.getSmtp().getPort());
+        }
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                OnlinecanteenApplication.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+            generator.generate(new SyntheticDataGenerator.Plan(SHOPS, ITEMS_PER_SHOP, CUSTOMERS, 0, 0, 1));
+            SyntheticDataGenerator.Campus campus = generator.campus();
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+
+            // Orders to move along: a few for warm-up, then a fixed set per client
+            List<List<long[]>> work = new ArrayList<>(CLIENTS + 1);
+            for (int client = 0; client <= CLIENTS; client++) {
+                Random random = new Random(client);
+                int count = client == CLIENTS ? 200 : ORDERS_PER_CLIENT;
+                List<long[]> orders = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    orders.add(placeOrder(http, baseUrl, campus, random));
+                }
+                work.add(orders);
+            }
+            for (long[] order : work.get(CLIENTS)) {
+                markReady(http, baseUrl, order, new LoadReport());
+            }
+
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                List<long[]> orders = work.get(client);
+                futures.add(clients.submit(() -> {
+                    for (long[] order : orders) {
+                        markReady(http, baseUrl, order, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (greenMail != null) {
+                int expected = CLIENTS * ORDERS_PER_CLIENT + work.get(CLIENTS).size();
+                long waitStart = System.nanoTime();
+                assertTrue(greenMail.waitForIncomingEmail(120_000, expected),
+                        greenMail.getReceivedMessages().length + " of " + expected + " emails");
+                System.out.printf("All %d emails delivered %.1f s after the last status update%n",
+                        expected, (System.nanoTime() - waitStart) / 1e9);
+            }
+
+            System.out.println("Notifications " + label + ":");
+            System.out.print(report.format(elapsed));
+            results.put(label, report.rows(elapsed));
+            return report.rows(elapsed).get(ENDPOINT);
+        }
+    }
+
+    // Returns { orderId, sellerId }
+    private long[] placeOrder(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus, Random random)
+            throws Exception {
+        SyntheticDataGenerator.Shop shop = campus.shops().get(random.nextInt(campus.shops().size()));
+        long itemId = shop.menu().values().iterator().next();
+        long customerId = campus.customerIds()[random.nextInt(campus.customerIds().length)];
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders?userId=" + customerId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"shopId\":" + shop.shopId()
+                        + ",\"orderItems\":[{\"foodItem\":{\"itemId\":" + itemId + "},\"quantity\":1}]}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        JsonNode order = objectMapper.readTree(response.body());
+        return new long[] { order.get("orderId").asLong(), shop.sellerId() };
+    }
+
+    private static void markReady(HttpClient http, String baseUrl, long[] order, LoadReport report) {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders/" + order[0] + "/status?userId=" + order[1]))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"READY\"}"))
+                .build();
+        long begin = System.nanoTime();
+        boolean ok = false;
+        try {
+            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        } catch (Exception e) {
+            // Counted as an error
+        }
+        report.record(ENDPOINT, System.nanoTime() - begin, ok);
+    }
+}
@@ -0,0 +1,181 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.OnlinecanteenApplication;
+import com.wildeats.onlinecanteen.service.SyntheticDataGenerator;
+
+/**
+ * Compares the MVC read routes on Tomcat's 200-thread pool with their {@code /api/reactive}
+ * twins on 16 threads, serving the real application (test profile, in-memory H2 through
+ * JDBC and R2DBC) to many concurrent clients. Each run seeds a synthetic campus, places
+ * orders to read back, then replays a mix of the shop list, menus and single orders.
+ * Prints latency per route and the peak JVM thread count for both and writes them to
+ * {@code target/loadtest/reactive-reads.json}.
+ *
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=ReactiveReadLoadTest -Dloadtest=true}. Sizes can be overridden
+ * with {@code -Dloadtest.shops}, {@code .items-per-shop}, {@code .customers},
+ * {@code .clients} and {@code .requests-per-client}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ReactiveReadLoadTest {
+
+    private static final int SHOPS = Integer.getInteger("loadtest.shops", 100);
+    private static final int ITEMS_PER_SHOP = Integer.getInteger("loadtest.items-per-shop", 20);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 1_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 10);
+    private static final int ORDERS = 500;
+
+    // Mix, in percent: shop list, a menu, a single order
+    private static final int[] MIX = { 20, 50, 30 };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void reactiveReadsKeepLatencyWithFewerThreads() throws Exception {
+        Result mvc = run("/api", 200);
+        Result reactive = run("/api/reactive", 16);
+
+        System.out.printf("MVC, 200 threads: peak %d JVM threads%n%s", mvc.peakThreads(), mvc.report());
+        System.out.printf("reactive, 16 threads: peak %d JVM threads%n%s", reactive.peakThreads(), reactive.report());
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("mvc", mvc.rows());
+        results.put("reactive", reactive.rows());
+        Path out = Path.of("target", "loadtest", "reactive-reads.json");
+        Files.createDirectories(out.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), results);
+
+        // MVC requests that wait out the browse bulkhead's connection-timeout fail; those errors are part of the result
+        assertEquals(mvc.rows().keySet(), reactive.rows().keySet());
+        for (String route : mvc.rows().keySet()) {
+            assertTrue(reactive.rows().get(route).errorRate() < 0.01, "reactive " + route + " error rate");
+            assertTrue(reactive.rows().get(route).p99Millis() <= mvc.rows().get(route).p99Millis() * 1.1,
+                    route + " p99 " + reactive.rows().get(route).p99Millis() + " vs " + mvc.rows().get(route).p99Millis());
+        }
+        assertTrue(reactive.peakThreads() < mvc.peakThreads());
+    }
+
+    private Result run(String prefix, int serverThreads) throws Exception {
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                OnlinecanteenApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, so they win over application-test.properties
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + serverThreads,
+                        "--server.tomcat.threads.min-spare=" + serverThreads,
+                        "--server.tomcat.max-connections=10000",
+                        "--server.tomcat.accept-count=2000",
+                        "--logging.level.com.wildeats.onlinecanteen=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+            generator.generate(new SyntheticDataGenerator.Plan(SHOPS, ITEMS_PER_SHOP, CUSTOMERS, 0, 0, 1));
+            SyntheticDataGenerator.Campus campus = generator.campus();
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            List<long[]> orders = new ArrayList<>(ORDERS);
+            Random placing = new Random(0);
+            for (int i = 0; i < ORDERS; i++) {
+                orders.add(placeOrder(http, baseUrl, campus, placing));
+            }
+
+            Reads reads = new Reads(http, baseUrl + prefix, campus, orders);
+            for (int i = 0; i < 200; i++) {
+                reads.step(new Random(i), new LoadReport());
+            }
+            ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        reads.step(random, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            return new Result(report.rows(elapsed), report.format(elapsed),
+                    ManagementFactory.getThreadMXBean().getPeakThreadCount());
+        }
+    }
+
+    // Returns { orderId, customerId }
+    private long[] placeOrder(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus, Random random)
+            throws Exception {
+        SyntheticDataGenerator.Shop shop = campus.shops().get(random.nextInt(campus.shops().size()));
+        long itemId = shop.menu().values().iterator().next();
+        long customerId = campus.customerIds()[random.nextInt(campus.customerIds().length)];
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders?userId=" + customerId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"shopId\":" + shop.shopId()
+                        + ",\"orderItems\":[{\"foodItem\":{\"itemId\":" + itemId + "},\"quantity\":1}]}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        return new long[] { objectMapper.readTree(response.body()).get("orderId").asLong(), customerId };
+    }
+
+    private record Result(Map<String, LoadReport.Row> rows, String report, int peakThreads) {
+    }
+
+    private record Reads(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus, List<long[]> orders) {
+
+        void step(Random random, LoadReport report) {
+            int roll = random.nextInt(100);
+            if (roll < MIX[0]) {
+                send(report, "GET /shop", "/shop");
+            } else if (roll - MIX[0] < MIX[1]) {
+                SyntheticDataGenerator.Shop shop = campus.shops().get(random.nextInt(campus.shops().size()));
+                send(report, "GET /food/shop/{id}", "/food/shop/" + shop.shopId());
+            } else {
+                long[] order = orders.get(random.nextInt(orders.size()));
+                send(report, "GET /orders/{id}", "/orders/" + order[0] + "?userId=" + order[1]);
+            }
+        }
+
+        private void send(LoadReport report, String route, String path) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            long begin = System.nanoTime();
+            boolean ok = false;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                // Counted as an error
+            }
+            report.record(route, System.nanoTime() - begin, ok);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.wildeats.onlinecanteen.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.OnlinecanteenApplication;
+import com.wildeats.onlinecanteen.service.SyntheticDataGenerator;
+
+/**
+ * Compares Tomcat on its default 200-thread platform pool with virtual-thread mode,
+ * serving the real application (test profile, in-memory H2) to many concurrent clients.
+ * Each run seeds a synthetic campus and replays a browse-heavy mix: menus, order history
+ * and order placement. Prints throughput and latency per endpoint for both modes and
+ * writes them to {@code target/loadtest/virtual-threads.json}. Both modes share the same
+ * connection bulkheads, so the comparison shows what request threads add on top of them.
+ *
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true}. Sizes can be overridden
+ * with {@code -Dloadtest.shops}, {@code .items-per-shop}, {@code .customers},
+ * {@code .clients} and {@code .requests-per-client}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int SHOPS = Integer.getInteger("loadtest.shops", 100);
+    private static final int ITEMS_PER_SHOP = Integer.getInteger("loadtest.items-per-shop", 20);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 5_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests-per-client", 10);
+
+    // Mix, in percent: browse a menu, view own orders, place an order
+    private static final int[] MIX = { 60, 20, 20 };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Map<String, Map<String, LoadReport.Row>> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        Path out = Path.of("target", "loadtest", "virtual-threads.json");
+        Files.createDirectories(out.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), results);
+
+        // Requests that wait out a pool's connection-timeout fail, so a few errors are part of the result
+        results.forEach((mode, rows) -> rows.forEach((endpoint, row) ->
+                assertTrue(row.errorRate() < 0.05, mode + " " + endpoint + " error rate " + row.errorRate())));
+        assertTrue(throughput(results.get("virtual")) > throughput(results.get("platform")));
+    }
+
+    private static double throughput(Map<String, LoadReport.Row> rows) {
+        return rows.values().stream().mapToDouble(LoadReport.Row::throughput).sum();
+    }
+
+    private Map<String, LoadReport.Row> run(boolean virtualThreads) throws Exception {
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                OnlinecanteenApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, so they win over application-test.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=200",
+                        "--server.tomcat.max-connections=10000",
+                        "--server.tomcat.accept-count=2000",
+                        "--logging.level.com.wildeats.onlinecanteen=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+            generator.generate(new SyntheticDataGenerator.Plan(SHOPS, ITEMS_PER_SHOP, CUSTOMERS, 0, 0, 1));
+            SyntheticDataGenerator.Campus campus = generator.campus();
+            Traffic traffic = new Traffic(http, "http://localhost:" + context.getWebServer().getPort(), campus);
+            for (int i = 0; i < 200; i++) {
+                traffic.step(new Random(i), new LoadReport());
+            }
+
+            LoadReport report = new LoadReport();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int client = 0; client < CLIENTS; client++) {
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        traffic.step(random, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(virtualThreads ? "virtual threads:" : "platform threads (200):");
+            System.out.print(report.format(elapsed));
+            return report.rows(elapsed);
+        }
+    }
+
+    private record Traffic(HttpClient http, String baseUrl, SyntheticDataGenerator.Campus campus) {
+
+        void step(Random random, LoadReport report) {
+            SyntheticDataGenerator.Shop shop = campus.shops().get(random.nextInt(campus.shops().size()));
+            long customerId = campus.customerIds()[random.nextInt(campus.customerIds().length)];
+            int roll = random.nextInt(100);
+            if (roll < MIX[0]) {
+                send(report, "GET /api/food/shop/{id}", HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/food/shop/" + shop.shopId())).GET().build());
+            } else if (roll - MIX[0] < MIX[1]) {
+                send(report, "GET /api/orders/my-orders", HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders/my-orders?userId=" + customerId)).GET().build());
+            } else {
+                List<Long> menu = new ArrayList<>(shop.menu().values());
+                String body = "{\"shopId\":" + shop.shopId() + ",\"orderItems\":[{\"foodItem\":{\"itemId\":"
+                        + menu.get(random.nextInt(menu.size())) + "},\"quantity\":1}]}";
+                send(report, "POST /api/orders", HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders?userId=" + customerId))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+            }
+        }
+
+        private void send(LoadReport report, String endpoint, HttpRequest request) {
+            long begin = System.nanoTime();
+            boolean ok = false;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+            } catch (Exception e) {
+                // Counted as an error
+            }
+            report.record(endpoint, System.nanoTime() - begin, ok);
+        }
+    }
+}
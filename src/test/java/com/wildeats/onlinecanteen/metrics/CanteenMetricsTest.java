@@ -0,0 +1,38 @@
+package com.wildeats.onlinecanteen.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CanteenMetricsTest {
+
+    @Test
+    void capsDistinctShopTags() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CanteenMetrics metrics = new CanteenMetrics(registry, true, 2);
+
+        for (long shopId = 1; shopId <= 10; shopId++) {
+            metrics.menuRead(shopId).record(5, TimeUnit.MILLISECONDS);
+        }
+        metrics.menuRead(1L).record(5, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, registry.find("canteen.menu.read").timers().size());
+        assertEquals(2, registry.get("canteen.menu.read").tag("shop", "1").timer().count());
+        assertEquals(8, registry.get("canteen.menu.read").tag("shop", "other").timer().count());
+    }
+
+    @Test
+    void collapsesShopsWhenTheTagIsDisabled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CanteenMetrics metrics = new CanteenMetrics(registry, false, 50);
+
+        metrics.menuRead(1L).record(5, TimeUnit.MILLISECONDS);
+        metrics.menuRead(2L).record(5, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, registry.get("canteen.menu.read").tag("shop", "all").timer().count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.wildeats.onlinecanteen.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.FoodItemService;
+import com.wildeats.onlinecanteen.service.OrderService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Test
+    void exposesHotPathMetrics() throws Exception {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        ShopEntity shop = shopRepo.findByIsActiveTrue().get(0);
+        FoodItemEntity foodItem = foodItemRepo.findByShopShopIdAndIsAvailableTrue(shop.getShopId()).get(0);
+
+        foodItemService.getAvailableFoodItemsByShopId(shop.getShopId());
+        OrderEntity order = orderService.createOrder(customerId, shop.getShopId(), List.of(line(foodItem, 1)), null);
+        orderService.cancelOrder(order.getOrderId());
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(customerId, shop.getShopId(),
+                List.of(line(foodItem, foodItem.getQuantity() + 1)), null));
+
+        String body = mockMvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getContentAsString();
+
+        for (String phase : List.of("validation", "stock", "persist")) {
+            assertTrue(body.lines().anyMatch(line -> line.startsWith("canteen_orders_create_phase_seconds_bucket")
+                    && line.contains("phase=\"" + phase + "\"")), phase);
+        }
+        assertTrue(body.contains("canteen_orders_create_seconds_count{application=\"onlinecanteen\",outcome=\"success\"} 1"));
+        assertTrue(body.contains("canteen_orders_create_seconds_count{application=\"onlinecanteen\",outcome=\"rejected\"} 1"));
+        assertTrue(body.contains("canteen_orders_status_update_seconds_bucket"));
+        assertTrue(body.contains("canteen_menu_read_seconds_bucket"));
+        assertTrue(body.contains("canteen_orders_insufficient_stock_total{application=\"onlinecanteen\"} 1.0"));
+        assertTrue(body.contains("canteen_orders_cancellation_restocks_total{application=\"onlinecanteen\"} 1.0"));
+        assertTrue(body.contains("canteen_autocomplete_cache_total"));
+        assertEquals(1, body.lines().filter(line -> line.startsWith("canteen_menu_read_seconds_count")).count());
+    }
+
+    private static OrderItemEntity line(FoodItemEntity foodItem, int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        FoodItemEntity ref = new FoodItemEntity();
+        ref.setItemId(foodItem.getItemId());
+        item.setFoodItem(ref);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
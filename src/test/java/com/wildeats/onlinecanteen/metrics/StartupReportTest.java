@@ -0,0 +1,33 @@
+package com.wildeats.onlinecanteen.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+class StartupReportTest {
+
+    @Test
+    void reportsPhasesRefreshStepsAndBeans() {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.start("spring.boot.application.starting").end();
+        StartupStep refresh = startup.start(StartupReport.REFRESH_STEP);
+        startup.start("spring.context.beans.post-process").end();
+        startup.start("spring.context.beans.post-process").end();
+        StartupStep bean = startup.start(StartupReport.BEAN_STEP);
+        bean.tag("beanName", "orderService");
+        bean.end();
+        refresh.end();
+
+        String report = new StartupReport().format(startup.getBufferedTimeline());
+
+        assertTrue(report.contains("spring.boot.application.starting"), report);
+        assertTrue(report.contains("context refresh:"), report);
+        // Repeated refresh children are merged into one line
+        assertTrue(report.indexOf("spring.context.beans.post-process")
+                == report.lastIndexOf("spring.context.beans.post-process"), report);
+        assertTrue(report.contains("slowest beans (1 instantiated)"), report);
+        assertTrue(report.contains("orderService"), report);
+    }
+}
@@ -0,0 +1,183 @@
+package com.wildeats.onlinecanteen.nativeimage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smoke tests against the native binary: starts it, measures time to the first successful
+ * request and resident memory, then walks the login, browse and order flow so the JSON
+ * binding, JPA (including the build-time enhanced lazy associations) and JFR paths run at
+ * least once in the image.
+ *
+ * Not part of the regular build. Build the binary with {@code mvn -Pnative native:compile},
+ * then run {@code mvn test -Dtest=NativeSmokeTest -Dnative.binary=target/onlinecanteen}.
+ * The binary uses the database from {@code application.properties}; pass extra arguments
+ * (e.g. {@code --spring.datasource.url=...}) with {@code -Dnative.args}. Limits can be
+ * changed with {@code -Dnative.max-startup-ms} and {@code -Dnative.max-rss-mb}.
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NativeSmokeTest {
+
+    private static final long MAX_STARTUP_MS = Long.getLong("native.max-startup-ms", 1_000);
+    private static final long MAX_RSS_MB = Long.getLong("native.max-rss-mb", 256);
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient http = HttpClient.newHttpClient();
+
+    private static Process process;
+    private static String baseUrl;
+    private static long startupMs;
+    private static long customerId;
+    private static long orderId;
+
+    @BeforeAll
+    static void start() throws Exception {
+        Path binary = Path.of(System.getProperty("native.binary"));
+        assertTrue(Files.isExecutable(binary), binary + " is not an executable");
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port;
+
+        List<String> command = new ArrayList<>(List.of(binary.toString(), "--server.port=" + port,
+                "--canteen.seed.demo.background=false"));
+        String extraArgs = System.getProperty("native.args", "").trim();
+        if (!extraArgs.isEmpty()) {
+            command.addAll(Arrays.asList(extraArgs.split("\\s+")));
+        }
+
+        long begin = System.nanoTime();
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "native-smoke.log").toFile())
+                .start();
+        while (!healthy()) {
+            assertTrue(process.isAlive(), "binary exited with " + process.exitValue() + "; see target/native-smoke.log");
+            assertTrue(System.nanoTime() - begin < START_TIMEOUT.toNanos(), "binary did not become healthy");
+            Thread.sleep(10);
+        }
+        startupMs = (System.nanoTime() - begin) / 1_000_000;
+        System.out.printf("Native binary: first request after %d ms, %d MB resident%n", startupMs, residentMb());
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void startsFastAndSmall() throws Exception {
+        assertTrue(startupMs < MAX_STARTUP_MS, "first request after " + startupMs + " ms");
+        long rss = residentMb();
+        // Only measurable where /proc is available
+        assertTrue(rss < 0 || rss < MAX_RSS_MB, rss + " MB resident");
+    }
+
+    @Test
+    @Order(2)
+    void logsInDemoCustomer() throws Exception {
+        HttpResponse<String> response = post("/api/auth/login",
+                "{\"email\":\"john.doe@example.com\",\"password\":\"password123\"}");
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode user = objectMapper.readTree(response.body());
+        assertEquals("CUSTOMER", user.get("role").asText());
+        customerId = user.get("id").asLong();
+    }
+
+    @Test
+    @Order(3)
+    void placesAndCancelsAnOrder() throws Exception {
+        JsonNode shops = objectMapper.readTree(get("/api/shop").body());
+        assertFalse(shops.isEmpty());
+        long shopId = shops.get(0).get("shopId").asLong();
+        JsonNode items = objectMapper.readTree(get("/api/food/shop/" + shopId).body());
+        assertFalse(items.isEmpty());
+
+        HttpResponse<String> placed = post("/api/orders?userId=" + customerId, "{\"shopId\":" + shopId
+                + ",\"orderItems\":[{\"foodItem\":{\"itemId\":" + items.get(0).get("itemId").asLong()
+                + "},\"quantity\":1}]}");
+        assertEquals(201, placed.statusCode(), placed.body());
+        orderId = objectMapper.readTree(placed.body()).get("orderId").asLong();
+
+        // Read back through the enhanced entities; OrderItemEntity.order is lazy
+        HttpResponse<String> fetched = get("/api/orders/" + orderId + "?userId=" + customerId);
+        assertEquals(200, fetched.statusCode(), fetched.body());
+        assertEquals(1, objectMapper.readTree(fetched.body()).get("orderItems").size());
+
+        HttpResponse<String> cancelled = http.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/orders/" + orderId + "/status?userId=" + customerId))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"CANCELLED\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, cancelled.statusCode(), cancelled.body());
+    }
+
+    private static boolean healthy() {
+        try {
+            return get("/actuator/health").statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long residentMb() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+            }
+        }
+        return -1;
+    }
+
+    private static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
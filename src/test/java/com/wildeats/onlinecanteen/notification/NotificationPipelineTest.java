@@ -0,0 +1,229 @@
+package com.wildeats.onlinecanteen.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.wildeats.onlinecanteen.notification.NotificationDeadLetterStore.DeadLetter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Jobs are stored in an in-memory H2 table shaped like {@code notification_jobs}
+ */
+class NotificationPipelineTest {
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:jobs-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE"));
+    private final NotificationJobStore jobStore = new NotificationJobStore(jdbc);
+    private final RecordingChannel channel = new RecordingChannel();
+    private final List<DeadLetter> deadLetters = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean checkoutBusy = new AtomicBoolean();
+    private NotificationPipeline pipeline;
+
+    @BeforeEach
+    void createTable() {
+        jdbc.execute("CREATE TABLE notification_jobs (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                + " channel VARCHAR(20) NOT NULL, notification_key VARCHAR(100) NOT NULL, user_id BIGINT,"
+                + " order_id BIGINT, recipient VARCHAR(100), subject VARCHAR(200) NOT NULL, body VARCHAR(2000) NOT NULL,"
+                + " attempts INT NOT NULL, next_attempt_at TIMESTAMP NOT NULL, last_error VARCHAR(500),"
+                + " created_at TIMESTAMP NOT NULL, UNIQUE (notification_key, channel))");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void deliversInBatchesAndRetriesOnlyTheFailedNotifications() throws Exception {
+        pipeline = start(1_000, 3);
+        channel.failuresLeft.put("n1", 2);
+
+        CountDownLatch gate = channel.block();
+        assertTrue(pipeline.submitAll(notifications(0, 5)));
+        gate.countDown();
+
+        await(() -> pipeline.pendingCount() == 0);
+        assertEquals(List.of("n0", "n1", "n2", "n3", "n4"), channel.deliveredKeys().stream().sorted().toList());
+        assertTrue(channel.batchSizes.stream().anyMatch(size -> size > 1), channel.batchSizes.toString());
+        assertEquals(3, channel.attempts.get("n1"));
+        assertEquals(1, channel.attempts.get("n0"));
+        assertTrue(deadLetters.isEmpty());
+        assertEquals(2.0, meterRegistry.counter("canteen.notifications", "channel", "test", "outcome", "retried").count());
+    }
+
+    @Test
+    void deadLettersWhatKeepsFailing() throws Exception {
+        pipeline = start(1_000, 3);
+        channel.failuresLeft.put("n0", Integer.MAX_VALUE);
+
+        assertTrue(pipeline.submitAll(notifications(0, 2)));
+
+        await(() -> pipeline.pendingCount() == 0);
+        assertEquals(1, deadLetters.size());
+        DeadLetter deadLetter = deadLetters.get(0);
+        assertEquals("test", deadLetter.channel());
+        assertEquals("n0", deadLetter.notification().key());
+        assertEquals(3, deadLetter.attempts());
+        assertTrue(deadLetter.lastError().contains("SMTP down"), deadLetter.lastError());
+        assertEquals(List.of("n1"), channel.deliveredKeys());
+    }
+
+    @Test
+    void refusesWholeSubmissionsThatDoNotFit() throws Exception {
+        pipeline = start(3, 3);
+        CountDownLatch gate = channel.block();
+
+        assertTrue(pipeline.submitAll(notifications(0, 2)));
+        assertFalse(pipeline.submitAll(notifications(2, 2)));
+        assertTrue(pipeline.submitAll(notifications(4, 1)));
+        gate.countDown();
+
+        await(() -> pipeline.pendingCount() == 0);
+        assertEquals(List.of("n0", "n1", "n4"), channel.deliveredKeys().stream().sorted().toList());
+        assertEquals(2.0, meterRegistry.counter("canteen.notifications", "channel", "all", "outcome", "rejected").count());
+    }
+
+    @Test
+    void keepsStoredJobsForTheNextStartAndSkipsResubmissions() throws Exception {
+        // Accepted, then the process stops before any worker ran
+        NotificationPipeline stopped = pipeline(1_000, 3);
+        assertTrue(stopped.submitAll(notifications(0, 2)));
+        assertTrue(stopped.submitAll(notifications(1, 1)));
+        assertEquals(2, stopped.pendingCount());
+
+        pipeline = start(1_000, 3);
+        await(() -> pipeline.pendingCount() == 0);
+        assertEquals(List.of("n0", "n1"), channel.deliveredKeys().stream().sorted().toList());
+        assertTrue(deadLetters.isEmpty());
+    }
+
+    @Test
+    void holdsFreshJobsWhileRequestsAreBusy() throws Exception {
+        checkoutBusy.set(true);
+        pipeline = start(1_000, 3);
+
+        assertTrue(pipeline.submitAll(notifications(0, 3)));
+        // Many polls go by without a delivery
+        Thread.sleep(200);
+        assertTrue(channel.deliveredKeys().isEmpty());
+        assertEquals(3, pipeline.pendingCount());
+
+        checkoutBusy.set(false);
+        await(() -> pipeline.pendingCount() == 0);
+        assertEquals(List.of("n0", "n1", "n2"), channel.deliveredKeys().stream().sorted().toList());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        NotificationPipeline unstarted = new NotificationPipeline(List.of(channel), jobStore, store(), meterRegistry,
+                10, 10, 1, 10, 1_000, 5_000, 50, 60_000, () -> false, 0);
+        assertEquals(1_000, unstarted.backoffMillis(1));
+        assertEquals(2_000, unstarted.backoffMillis(2));
+        assertEquals(4_000, unstarted.backoffMillis(3));
+        assertEquals(5_000, unstarted.backoffMillis(4));
+    }
+
+    private NotificationPipeline start(int capacity, int maxAttempts) {
+        NotificationPipeline started = pipeline(capacity, maxAttempts);
+        started.start();
+        return started;
+    }
+
+    private NotificationPipeline pipeline(int capacity, int maxAttempts) {
+        return new NotificationPipeline(List.of(channel), jobStore, store(), meterRegistry,
+                capacity, 10, 1, maxAttempts, 5, 20, 10, 60_000, checkoutBusy::get, 60_000);
+    }
+
+    private NotificationDeadLetterStore store() {
+        return new NotificationDeadLetterStore(new JdbcTemplate()) {
+            @Override
+            public void store(List<DeadLetter> letters) {
+                deadLetters.addAll(letters);
+            }
+        };
+    }
+
+    private static List<Notification> notifications(int from, int count) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            notifications.add(new Notification("n" + i, (long) i, (long) i, "user" + i + "@cit.edu", "Ready", "Body"));
+        }
+        return notifications;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class RecordingChannel implements NotificationChannel {
+        private final List<Notification> delivered = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Integer> failuresLeft = new ConcurrentHashMap<>();
+        private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        // Hold the worker at its next delivery so submissions queue up behind it
+        CountDownLatch block() {
+            gate = new CountDownLatch(1);
+            return gate;
+        }
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public void deliver(List<Notification> batch) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(batch.size());
+            List<Notification> failed = new ArrayList<>();
+            for (Notification notification : batch) {
+                attempts.merge(notification.key(), 1, Integer::sum);
+                if (failuresLeft.getOrDefault(notification.key(), 0) > 0) {
+                    failuresLeft.merge(notification.key(), -1, Integer::sum);
+                    failed.add(notification);
+                } else {
+                    delivered.add(notification);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new NotificationDeliveryException("partial", failed, new IllegalStateException("SMTP down"));
+            }
+        }
+
+        List<String> deliveredKeys() {
+            return delivered.stream().map(Notification::key).toList();
+        }
+    }
+}
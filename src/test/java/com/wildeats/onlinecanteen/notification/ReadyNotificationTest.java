@@ -0,0 +1,130 @@
+package com.wildeats.onlinecanteen.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.OrderService;
+import jakarta.mail.internet.MimeMessage;
+
+// Own database so dispatchers in other cached test contexts cannot take these outbox rows
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notifications;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.outbox.poll-ms=50" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadyNotificationTest {
+
+    // SMTP stand-in on a free port
+    private static final GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        greenMail.start();
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+    }
+
+    @AfterAll
+    static void stopMailServer() {
+        greenMail.stop();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InboxChannel inboxChannel;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Test
+    void notifiesTheCustomerByEmailAndInboxWhenTheOrderIsReady() throws Exception {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        ShopEntity shop = shopRepo.findByName("Coffee Haven");
+        FoodItemEntity food = foodItemRepo.findByShopShopIdAndIsAvailableTrue(shop.getShopId()).get(0);
+        OrderItemEntity line = new OrderItemEntity();
+        line.setFoodItem(food);
+        line.setQuantity(1);
+        List<OrderItemEntity> lines = new ArrayList<>();
+        lines.add(line);
+        OrderEntity order = orderService.createOrder(customerId, shop.getShopId(), lines, null);
+
+        // Only READY notifies
+        assertEquals(200, updateStatus(order.getOrderId(), shop.getOwner().getId(), "PREPARING"));
+        assertEquals(200, updateStatus(order.getOrderId(), shop.getOwner().getId(), "READY"));
+
+        assertTrue(greenMail.waitForIncomingEmail(5_000, 1));
+        Thread.sleep(200);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("john.doe@example.com", received[0].getAllRecipients()[0].toString());
+        assertEquals("Your order #" + order.getOrderId() + " is ready", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("Coffee Haven"));
+
+        JsonNode inbox = null;
+        for (int i = 0; i < 100 && (inbox == null || inbox.isEmpty()); i++) {
+            inbox = objectMapper.readTree(mockMvc.perform(get("/api/users/" + customerId + "/inbox"))
+                    .andReturn().getResponse().getContentAsString());
+            Thread.sleep(20);
+        }
+        assertEquals(1, inbox.size(), inbox.toString());
+        assertEquals(order.getOrderId().longValue(), inbox.get(0).get("orderId").asLong());
+        assertEquals("Your order #" + order.getOrderId() + " is ready", inbox.get(0).get("title").asText());
+
+        // A redelivered notification is stored once
+        String key = inbox.get(0).get("notificationKey").asText();
+        inboxChannel.deliver(List.of(new Notification(key, customerId, order.getOrderId(), null, "Again", "Again")));
+        inbox = objectMapper.readTree(mockMvc.perform(get("/api/users/" + customerId + "/inbox"))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1, inbox.size(), inbox.toString());
+    }
+
+    private int updateStatus(Long orderId, Long sellerId, String status) throws Exception {
+        return mockMvc.perform(put("/api/orders/" + orderId + "/status")
+                        .param("userId", sellerId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"" + status + "\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,203 @@
+package com.wildeats.onlinecanteen.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import com.wildeats.onlinecanteen.service.OrderService;
+
+// Own database so dispatchers in other cached test contexts cannot drain this outbox
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.outbox.dispatcher.enabled=false",
+        "canteen.outbox.initial-backoff-ms=0" })
+@ActiveProfiles("test")
+class OrderOutboxTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private OrderOutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.dispatch();
+        listener.received.clear();
+        listener.failingOrders.clear();
+    }
+
+    @Test
+    void deliversOrderEventsInWriteOrderAndRemovesThem() {
+        OrderEntity order = placeOrder();
+        assertEquals(1, pending());
+
+        orderService.updateOrderStatus(order.getOrderId(), OrderEntity.Status.PREPARING);
+        // Same status again is not a change
+        orderService.updateOrderStatus(order.getOrderId(), OrderEntity.Status.PREPARING);
+        assertEquals(2, pending());
+        assertEquals(2, dispatcher.dispatch());
+
+        assertEquals(0, pending());
+        assertEquals(2, listener.received.size());
+        OrderCreated created = assertInstanceOf(OrderCreated.class, listener.received.get(0).event());
+        assertEquals(order.getOrderId(), created.orderId());
+        assertEquals(1, created.lineCount());
+        OrderStatusChanged changed = assertInstanceOf(OrderStatusChanged.class, listener.received.get(1).event());
+        assertEquals(OrderEntity.Status.PENDING, changed.fromStatus());
+        assertEquals(OrderEntity.Status.PREPARING, changed.toStatus());
+        assertTrue(listener.received.get(0).id() < listener.received.get(1).id());
+    }
+
+    @Test
+    void holdsBackLaterEventsOfAFailingOrderAndRetriesThem() {
+        OrderEntity failing = placeOrder();
+        orderService.cancelOrder(failing.getOrderId());
+        OrderEntity healthy = placeOrder();
+
+        listener.failingOrders.add(failing.getOrderId());
+        assertEquals(1, dispatcher.dispatch());
+        assertEquals(List.of(healthy.getOrderId()), orderIds(listener.received));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM order_outbox WHERE order_id = ? ORDER BY id LIMIT 1",
+                Integer.class, failing.getOrderId()));
+
+        listener.failingOrders.clear();
+        listener.received.clear();
+        assertEquals(2, dispatcher.dispatch());
+        assertEquals(List.of(failing.getOrderId(), failing.getOrderId()), orderIds(listener.received));
+        assertInstanceOf(OrderCreated.class, listener.received.get(0).event());
+        assertInstanceOf(OrderStatusChanged.class, listener.received.get(1).event());
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void skipsOrdersWhoseFailedEventIsStillBackingOff() {
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 60_000L);
+        try {
+            OrderEntity failing = placeOrder();
+            orderService.cancelOrder(failing.getOrderId());
+            listener.failingOrders.add(failing.getOrderId());
+            assertEquals(0, dispatcher.dispatch());
+
+            // Neither the waiting event nor the one queued behind it is due yet, so even a
+            // one-row batch reaches the next order
+            listener.failingOrders.clear();
+            OrderEntity healthy = placeOrder();
+            ReflectionTestUtils.setField(dispatcher, "batchSize", 1);
+            assertEquals(1, dispatcher.dispatch());
+            assertEquals(List.of(healthy.getOrderId()), orderIds(listener.received));
+            assertEquals(2, pending());
+        } finally {
+            ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 0L);
+            ReflectionTestUtils.setField(dispatcher, "batchSize", 200);
+            jdbcTemplate.update("UPDATE order_outbox SET next_attempt_at = NULL");
+        }
+    }
+
+    @Test
+    void writesNothingWhenTheTransactionFailsAtFlush() {
+        assertThrows(DataIntegrityViolationException.class, () ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    orderOutbox.append(new OrderCreated(-1L, 1L, 1L, 0.0, 0, java.time.Instant.now()));
+                    // A pending update that only reaches the database when the commit flushes
+                    userRepo.findByEmail("john.doe@example.com").setEmail("jane.smith@example.com");
+                }));
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void writesNothingWhenTheTransactionRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderOutbox.append(new OrderCreated(-1L, 1L, 1L, 0.0, 0, java.time.Instant.now()));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, pending());
+    }
+
+    private OrderEntity placeOrder() {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        FoodItemEntity food = foodItemRepo.findAll().get(0);
+        OrderItemEntity line = new OrderItemEntity();
+        line.setFoodItem(food);
+        line.setQuantity(1);
+        List<OrderItemEntity> lines = new ArrayList<>();
+        lines.add(line);
+        return orderService.createOrder(customerId, food.getShop().getShopId(), lines, null);
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_outbox WHERE parked = FALSE", Integer.class);
+    }
+
+    private static List<Long> orderIds(List<OutboxEvent> events) {
+        return events.stream().map(event -> event.event().orderId()).toList();
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements OrderEventListener {
+        private final List<OutboxEvent> received = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Long> failingOrders = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onOrderEvents(List<OutboxEvent> events) {
+            for (OutboxEvent event : events) {
+                if (failingOrders.contains(event.event().orderId())) {
+                    throw new IllegalStateException("Listener down for order " + event.event().orderId());
+                }
+            }
+            received.addAll(events);
+        }
+    }
+}
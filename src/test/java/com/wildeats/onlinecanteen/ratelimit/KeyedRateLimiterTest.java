@@ -0,0 +1,112 @@
+package com.wildeats.onlinecanteen.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class KeyedRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void allowsABurstThenReportsTheWait() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(3, 6, 100, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+
+        // 6 tokens per minute: one every 10 seconds
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void refillsOverTimeUpToCapacity() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(2, 60, 100, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void staysBoundedUnderKeyRotation() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1, 1_000, now::get);
+        limiter.tryAcquire("victim@cit.edu");
+
+        for (int i = 0; i < 1_000_000; i++) {
+            // Slow enough that the oldest bucket has refilled by the time the map is full
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(61));
+            assertEquals(0, limiter.tryAcquire("attacker" + i + "@example.com"));
+            if (i % 100 == 0) {
+                // Keys that keep being hit stay resident
+                limiter.tryAcquire("victim@cit.edu");
+            }
+        }
+
+        assertEquals(1_000, limiter.size());
+        assertEquals(0, limiter.saturations());
+        limiter.tryAcquire("victim@cit.edu");
+        assertTrue(limiter.tryAcquire("victim@cit.edu") > 0);
+    }
+
+    @Test
+    void neverEvictsABucketThatIsStillLockedOut() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1, 10, now::get);
+        limiter.tryAcquire("victim@cit.edu");
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("attacker" + i + "@example.com");
+        }
+
+        assertEquals(10, limiter.size());
+        assertTrue(limiter.tryAcquire("victim@cit.edu") > 0);
+    }
+
+    @Test
+    void refusesNewKeysWhileEveryTrackedBucketIsLockedOut() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1, 10, now::get);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("throwaway" + i + "@example.com"));
+        }
+
+        // A fresh key gets no token, and waits until the oldest bucket can make room
+        long wait = limiter.tryAcquire("fresh@cit.edu");
+        assertEquals(TimeUnit.MINUTES.toNanos(1), wait, TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("another@cit.edu") > 0);
+        assertEquals(2, limiter.saturations());
+        assertEquals(10, limiter.size());
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("fresh@cit.edu"));
+        assertTrue(limiter.tryAcquire("fresh@cit.edu") > 0);
+    }
+
+    @Test
+    void evictsRefilledBucketsToTrackNewKeys() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 1, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        // Both buckets are empty, so the newcomer is refused
+        assertTrue(limiter.tryAcquire("c") > 0);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("c") > 0);
+        assertEquals(2, limiter.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.wildeats.onlinecanteen.requestlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class RequestLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilter.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detach() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void alwaysLogsFailuresAndSlowRequests() {
+        RequestLogFilter filter = new RequestLogFilter(0, 500);
+
+        assertTrue(filter.shouldLog(404, 3));
+        assertTrue(filter.shouldLog(500, 3));
+        assertTrue(filter.shouldLog(200, 500));
+        assertFalse(filter.shouldLog(200, 3));
+        assertTrue(new RequestLogFilter(1, 500).shouldLog(200, 3));
+    }
+
+    @Test
+    void writesOneSummaryLinePerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/my-orders");
+        request.setParameter("userId", "7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new RequestLogFilter(1, 500).doFilter(request, response, new MockFilterChain());
+
+        List<ILoggingEvent> events = appender.list;
+        assertEquals(1, events.size());
+        String line = events.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=GET path=/api/orders/my-orders status=200 durationMs="), line);
+        assertTrue(line.endsWith(" userId=7 sampleRate=1.0"), line);
+    }
+
+    @Test
+    void rejectsSampleRateOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestLogFilter(1.5, 500));
+    }
+}
@@ -0,0 +1,140 @@
+package com.wildeats.onlinecanteen.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MenuSearchIndexTest {
+
+    private MenuSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuSearchIndex();
+        index.rebuild(List.of(
+                item(1L, "Iced Latte", "Espresso over ice with cold milk", 1L, true, true),
+                item(2L, "Iced Tea", "Brewed black tea, lemon", 1L, true, true),
+                item(3L, "Chicken Adobo", "Braised chicken in soy and vinegar", 2L, true, true),
+                item(4L, "Fried Chicken", "Crispy chicken with rice", 2L, false, true),
+                item(5L, "Crème Brûlée", "Custard with caramelized sugar", 3L, true, true),
+                item(6L, "Chickpea Salad", "Chickpeas, cucumber and feta", 3L, true, true)));
+    }
+
+    @Test
+    void tokenizesCaseAndAccentInsensitively() {
+        assertEquals(List.of("creme", "brulee", "2", "go"), MenuSearchIndex.tokenize("Crème-BRÛLÉE, 2 go!"));
+    }
+
+    @Test
+    void matchesExactTokensAndRanksNameAboveDescription() {
+        List<Long> ids = ids(index.search("iced", 10));
+        assertEquals(List.of(1L, 2L), ids.stream().sorted().toList());
+
+        // Item 3 has "chicken" in its name, item 4 only matches but is unavailable
+        List<MenuSearchIndex.Hit> hits = index.search("chicken", 10);
+        assertEquals(3L, hits.get(0).document().itemId());
+    }
+
+    @Test
+    void matchesPrefixesPreferringCloserTerms() {
+        List<Long> ids = ids(index.search("chick", 10));
+        assertTrue(ids.containsAll(List.of(3L, 6L)));
+        assertEquals(3L, ids.get(0), "'chicken' is a closer completion than 'chickpea'");
+    }
+
+    @Test
+    void toleratesTypos() {
+        assertEquals(List.of(3L), ids(index.search("chiken adobo", 10)));
+        assertEquals(List.of(5L), ids(index.search("creme brule", 10)));
+    }
+
+    @Test
+    void acceptsTyposAtTheSimilarityThreshold() {
+        // "sizig" shares $si and ig$ with "sisig": 2 of 8 distinct trigrams, exactly the minimum
+        index.upsert(item(7L, "Pork Sisig", "Sizzling chopped pork", 2L, true, true));
+        assertEquals(List.of(7L), ids(index.search("sizig", 10)));
+    }
+
+    @Test
+    void requiresEveryToken() {
+        assertEquals(List.of(2L), ids(index.search("iced lemon", 10)));
+        assertTrue(index.search("iced burger", 10).isEmpty());
+    }
+
+    @Test
+    void filtersUnavailableItemsAndInactiveShops() {
+        assertTrue(!ids(index.search("fried", 10)).contains(4L));
+
+        index.updateShop(1L, "Coffee Haven", false);
+        assertTrue(index.search("iced", 10).isEmpty());
+
+        index.updateShop(1L, "Coffee Haven", true);
+        assertEquals(2, index.search("iced", 10).size());
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        index.upsert(item(2L, "Milk Tea", "Black tea with milk", 1L, true, true));
+        assertEquals(List.of(1L), ids(index.search("iced", 10)));
+
+        index.remove(1L);
+        assertTrue(index.search("iced", 10).isEmpty());
+        assertTrue(index.search("latte", 10).isEmpty());
+
+        index.removeShop(2L);
+        assertTrue(index.search("adobo", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void searchesCampusSizedMenuInUnderAMillisecond() {
+        // 300 shops x 20 items, names drawn from a 500-word vocabulary
+        List<MenuDocument> documents = new ArrayList<>();
+        Random random = new Random(1);
+        String[] common = { "iced", "hot", "chicken", "pork", "beef", "rice", "noodle", "soup",
+                "latte", "tea", "mango", "shake", "burger", "fries", "adobo", "sinigang" };
+        for (long i = 0; i < 6_000; i++) {
+            String name = common[random.nextInt(common.length)] + " " + word(random.nextInt(500));
+            String description = word(random.nextInt(500)) + " " + word(random.nextInt(500));
+            documents.add(item(i, name, description, i / 20, true, true));
+        }
+        index.rebuild(documents);
+
+        String[] queries = { "iced", "chiken", "adobo rice", "mang", "sinigan" };
+        for (int i = 0; i < 5_000; i++) {
+            index.search(queries[i % queries.length], 20);
+        }
+        long start = System.nanoTime();
+        int runs = 5_000;
+        for (int i = 0; i < runs; i++) {
+            index.search(queries[i % queries.length], 20);
+        }
+        double averageMicros = (System.nanoTime() - start) / 1_000.0 / runs;
+        assertTrue(averageMicros < 1_000, "average search took " + averageMicros + " us");
+    }
+
+    private static String word(int n) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return word.append("x").toString();
+    }
+
+    private static List<Long> ids(List<MenuSearchIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.document().itemId()).toList();
+    }
+
+    private static MenuDocument item(Long id, String name, String description, Long shopId,
+            boolean available, boolean shopActive) {
+        return new MenuDocument(id, name, description, 1.0, null, shopId, "Shop " + shopId,
+                available, shopActive);
+    }
+}
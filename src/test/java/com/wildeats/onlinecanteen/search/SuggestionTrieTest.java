@@ -0,0 +1,123 @@
+package com.wildeats.onlinecanteen.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie(5);
+        trie.put(Suggestion.food(1L, "Iced Latte", 1L, 40));
+        trie.put(Suggestion.food(2L, "Iced Tea", 1L, 90));
+        trie.put(Suggestion.food(3L, "Ice Cream", 2L, 10));
+        trie.put(Suggestion.food(4L, "Chicken Adobo", 2L, 70));
+        trie.put(Suggestion.shop(1L, "Coffee Haven", 300));
+        trie.put(Suggestion.shop(2L, "Chicken House", 120));
+    }
+
+    @Test
+    void completesByPopularity() {
+        assertEquals(List.of("Iced Tea", "Iced Latte", "Ice Cream"), texts(trie.complete("ic", 10)));
+        assertEquals(List.of("Iced Tea", "Iced Latte"), texts(trie.complete("ICED", 10)));
+        assertEquals(List.of("Chicken House", "Chicken Adobo"), texts(trie.complete("chick", 10)));
+    }
+
+    @Test
+    void completesFromAnyWordStartWithoutDuplicates() {
+        assertEquals(List.of("Iced Latte"), texts(trie.complete("lat", 10)));
+        assertEquals(List.of("Coffee Haven", "Chicken House", "Chicken Adobo", "Ice Cream"),
+                texts(trie.complete("c", 10)));
+        assertEquals(List.of("Chicken House"), texts(trie.complete("chicken h", 10)));
+    }
+
+    @Test
+    void honoursLimitAndUnknownPrefixes() {
+        assertEquals(List.of("Iced Tea"), texts(trie.complete("i", 1)));
+        assertTrue(trie.complete("pizza", 10).isEmpty());
+        assertTrue(trie.complete("  ", 10).isEmpty());
+    }
+
+    @Test
+    void updatesWeightsRenamesAndRemovals() {
+        trie.put(Suggestion.food(3L, "Ice Cream", 2L, 500));
+        assertEquals("Ice Cream", trie.complete("ic", 10).get(0).text());
+
+        trie.put(Suggestion.food(1L, "Iced Mocha", 1L, 40));
+        assertTrue(trie.complete("lat", 10).isEmpty());
+        assertEquals(List.of("Iced Mocha"), texts(trie.complete("moc", 10)));
+
+        trie.remove("food:2");
+        assertEquals(List.of("Ice Cream", "Iced Mocha"), texts(trie.complete("ic", 10)));
+
+        trie.removeIf(suggestion -> suggestion.shopId().equals(2L));
+        assertEquals(List.of("Iced Mocha"), texts(trie.complete("ic", 10)));
+        assertTrue(trie.complete("chick", 10).isEmpty());
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void keepsCachesConsistentUnderRandomChurn() {
+        SuggestionTrie churned = new SuggestionTrie(5);
+        Random random = new Random(3);
+        String[] words = { "iced", "ice", "icy", "tea", "teriyaki", "tempura", "latte", "lasagna" };
+        for (int round = 0; round < 2_000; round++) {
+            long id = random.nextInt(50);
+            if (random.nextInt(4) == 0) {
+                churned.remove("food:" + id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                churned.put(Suggestion.food(id, name, 1L, random.nextInt(1_000)));
+            }
+            // Prefix completions must always be ordered and distinct
+            List<Suggestion> completions = churned.complete("i", 5);
+            for (int i = 1; i < completions.size(); i++) {
+                assertTrue(completions.get(i - 1).weight() >= completions.get(i).weight());
+            }
+            assertEquals(completions.size(), completions.stream().map(Suggestion::key).distinct().count());
+        }
+    }
+
+    @Test
+    void answersWithinAMillisecondAtP99() {
+        SuggestionTrie large = new SuggestionTrie(10);
+        Random random = new Random(5);
+        for (long i = 0; i < 10_000; i++) {
+            large.put(Suggestion.food(i, word(random) + " " + word(random), i / 20, random.nextInt(5_000)));
+        }
+
+        String[] prefixes = { "a", "ch", "man", "t", "s", "rice", "bur", "x" };
+        for (int i = 0; i < 20_000; i++) {
+            large.complete(prefixes[i % prefixes.length], 8);
+        }
+
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            large.complete(prefixes[i % prefixes.length], 8);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long p99 = samples[(int) (samples.length * 0.99)];
+        assertTrue(p99 < 1_000_000, "p99 was " + p99 + " ns");
+    }
+
+    private static String word(Random random) {
+        String[] stems = { "adobo", "burger", "chicken", "mango", "rice", "sisig", "tea", "shake",
+                "siomai", "lumpia", "pancit", "turon", "halo", "kare", "tapsilog" };
+        return stems[random.nextInt(stems.length)] + (char) ('a' + random.nextInt(26));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
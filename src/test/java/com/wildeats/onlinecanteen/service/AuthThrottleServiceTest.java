@@ -0,0 +1,35 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class AuthThrottleServiceTest {
+
+    @Test
+    void takesTheClientFromTheHopAppendedByTheTrustedProxies() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        // A spoofed entry from the client, then one per proxy
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+
+        assertEquals("10.0.0.2", throttle(0).clientIp(request));
+        assertEquals("10.0.0.1", throttle(1).clientIp(request));
+        assertEquals("203.0.113.7", throttle(2).clientIp(request));
+        assertEquals("1.2.3.4", throttle(5).clientIp(request));
+    }
+
+    @Test
+    void fallsBackToTheRemoteAddressWithoutTheHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+
+        assertEquals("10.0.0.2", throttle(1).clientIp(request));
+    }
+
+    private static AuthThrottleService throttle(int trustedProxies) {
+        return new AuthThrottleService(10, 10, 10, 10, 10, 10, 10, 10, 100, trustedProxies);
+    }
+}
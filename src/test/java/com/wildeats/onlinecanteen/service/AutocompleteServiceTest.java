@@ -0,0 +1,120 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.wildeats.onlinecanteen.dto.AutocompleteSuggestion;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.ArchivedOrderRepository;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderItemRepository;
+import com.wildeats.onlinecanteen.repository.OrderRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+
+class AutocompleteServiceTest {
+
+    private final ShopEntity shop = new ShopEntity();
+    private final FoodItemEntity espresso = foodItem(1L, "Espresso");
+    private final FoodItemEntity doppio = foodItem(2L, "Espresso Doppio");
+
+    private AutocompleteService autocomplete;
+    private OrderItemRepository orderItemRepo;
+    private ArchivedOrderRepository archivedOrderRepo;
+
+    @BeforeEach
+    void setUp() {
+        shop.setShopId(1L);
+        shop.setName("Coffee Haven");
+        shop.setActive(true);
+
+        ShopRepository shopRepo = mock(ShopRepository.class);
+        when(shopRepo.findByIsActiveTrue()).thenReturn(List.of(shop));
+        FoodItemRepository foodItemRepo = mock(FoodItemRepository.class);
+        when(foodItemRepo.findAll()).thenReturn(List.of(espresso, doppio));
+        orderItemRepo = mock(OrderItemRepository.class);
+        archivedOrderRepo = mock(ArchivedOrderRepository.class);
+
+        autocomplete = new AutocompleteService(3);
+        ReflectionTestUtils.setField(autocomplete, "shopRepo", shopRepo);
+        ReflectionTestUtils.setField(autocomplete, "foodItemRepo", foodItemRepo);
+        ReflectionTestUtils.setField(autocomplete, "orderItemRepo", orderItemRepo);
+        ReflectionTestUtils.setField(autocomplete, "orderRepo", mock(OrderRepository.class));
+        ReflectionTestUtils.setField(autocomplete, "archivedOrderRepo", archivedOrderRepo);
+    }
+
+    @Test
+    void sizesTheInitialTrieFromConfiguration() {
+        AutocompleteService single = new AutocompleteService(1);
+        // No transaction here, so menu changes apply at once
+        single.onFoodItemSaved(espresso);
+        single.onFoodItemSaved(doppio);
+
+        assertEquals(1, single.suggest("esp", 10).size());
+    }
+
+    @Test
+    void weighsArchivedOrdersToo() {
+        when(orderItemRepo.sumQuantityByFoodItem()).thenReturn(rows(new Object[] { 1L, 5L }, new Object[] { 2L, 3L }));
+        when(archivedOrderRepo.sumQuantityByFoodItem()).thenReturn(rows(new Object[] { 2L, 4L }));
+        autocomplete.rebuild();
+
+        assertEquals(List.of(2L, 1L), ids(autocomplete.suggest("esp", 10)));
+    }
+
+    @Test
+    void countsOrdersCommittedDuringTheRebuildOnce() {
+        when(orderItemRepo.sumQuantityByFoodItem()).thenAnswer(invocation -> {
+            // An order commits and the scheduled fold runs while the rebuild reads the totals,
+            // which already include it
+            autocomplete.recordOrder(order(doppio, 10));
+            Thread fold = Thread.ofPlatform().start(autocomplete::applyPopularity);
+            fold.join();
+            return rows(new Object[] { 1L, 20L }, new Object[] { 2L, 13L });
+        });
+        autocomplete.rebuild();
+
+        assertEquals(List.of(1L, 2L), ids(autocomplete.suggest("esp", 10)));
+
+        // Orders after the rebuild are still folded in
+        autocomplete.recordOrder(order(doppio, 10));
+        autocomplete.applyPopularity();
+        assertEquals(List.of(2L, 1L), ids(autocomplete.suggest("esp", 10)));
+    }
+
+    private FoodItemEntity foodItem(Long itemId, String name) {
+        FoodItemEntity item = new FoodItemEntity();
+        item.setItemId(itemId);
+        item.setName(name);
+        item.setShop(shop);
+        return item;
+    }
+
+    private OrderEntity order(FoodItemEntity item, int quantity) {
+        OrderEntity order = new OrderEntity();
+        order.setShop(shop);
+        OrderItemEntity line = new OrderItemEntity();
+        line.setFoodItem(item);
+        line.setQuantity(quantity);
+        order.addOrderItem(line);
+        return order;
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static List<Long> ids(List<AutocompleteSuggestion> suggestions) {
+        return suggestions.stream().map(AutocompleteSuggestion::getId).toList();
+    }
+}
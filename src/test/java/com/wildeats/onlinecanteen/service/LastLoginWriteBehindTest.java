@@ -0,0 +1,126 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class LastLoginWriteBehindTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LastLoginWriteBehind writeBehind;
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(LastLoginWriteBehind.UPDATE_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>((List<Object[]>) invocation.getArgument(1));
+            synchronized (batches) {
+                batches.add(rows);
+            }
+            return new int[rows.size()];
+        });
+        writeBehind = new LastLoginWriteBehind(jdbcTemplate);
+    }
+
+    @Test
+    void coalescesToTheNewestLoginPerUser() {
+        writeBehind.record(1L, 1_000);
+        writeBehind.record(1L, 3_000);
+        writeBehind.record(1L, 2_000);
+        writeBehind.record(2L, 5_000);
+
+        assertEquals(2, writeBehind.flush());
+
+        Map<Long, Long> written = new HashMap<>();
+        for (Object[] row : batches.get(0)) {
+            written.put((Long) row[1], ((Timestamp) row[0]).getTime());
+        }
+        assertEquals(Map.of(1L, 3_000L, 2L, 5_000L), written);
+        assertEquals(0, writeBehind.pendingCount());
+        assertEquals(0, writeBehind.flush());
+    }
+
+    @Test
+    void keepsTimestampsWhenTheFlushFails() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(eq(LastLoginWriteBehind.UPDATE_SQL), anyList()))
+                .thenThrow(new IllegalStateException("database down"));
+        LastLoginWriteBehind buffer = new LastLoginWriteBehind(failing);
+        buffer.record(7L, 1_000);
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(1, buffer.pendingCount());
+    }
+
+    /**
+     * 64 clients hammer 5k accounts with 128k logins between two flushes. The old path
+     * issued one UPDATE per login; the buffer sends one row per distinct user in a
+     * handful of batched statements, and recording a login costs microseconds.
+     */
+    @Test
+    void absorbsALoginStorm() throws Exception {
+        int clients = 64;
+        int loginsPerClient = 2_000;
+        int accounts = 5_000;
+        long[][] latencies = new long[clients][loginsPerClient];
+        AtomicInteger logins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+
+        for (int client = 0; client < clients; client++) {
+            long[] samples = latencies[client];
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < loginsPerClient; i++) {
+                    long userId = ThreadLocalRandom.current().nextLong(accounts);
+                    long begin = System.nanoTime();
+                    writeBehind.record(userId, System.currentTimeMillis());
+                    samples[i] = System.nanoTime() - begin;
+                    logins.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        int rows = writeBehind.flush();
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long p99 = all[(int) (all.length * 0.99)];
+
+        assertEquals(clients * loginsPerClient, logins.get());
+        assertTrue(rows <= accounts, "rows written: " + rows);
+        assertEquals((rows + 499) / 500, batches.size());
+        // 128k single-row writes collapse into at most 10 batched statements
+        assertTrue(logins.get() / rows >= 25, "coalescing factor: " + logins.get() / rows);
+        assertTrue(p99 < 1_000_000, "p99 record latency was " + p99 + " ns");
+    }
+}
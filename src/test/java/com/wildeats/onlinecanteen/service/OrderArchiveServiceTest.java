@@ -0,0 +1,195 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+
+// Own database so the archive tables only hold what these tests put there
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.outbox.dispatcher.enabled=false" })
+@ActiveProfiles("test")
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity customer;
+    private ShopEntity shop;
+    private FoodItemEntity food;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "pauseBetweenChunksMs", 0L);
+        customer = newCustomer();
+        shop = shopRepo.findByName("Coffee Haven");
+        food = newFoodItem();
+    }
+
+    @AfterEach
+    void restoreLimits() {
+        ReflectionTestUtils.setField(archiveService, "chunkSize", 500);
+        ReflectionTestUtils.setField(archiveService, "maxChunksPerRun", 200);
+    }
+
+    @Test
+    void movesOnlyOldTerminalOrdersInChunks() {
+        Instant old = Instant.parse("2001-01-01T00:00:00Z");
+        List<Long> eligible = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderEntity order = placeOrder(customer, food, 2);
+            orderService.updateOrderStatus(order.getOrderId(),
+                    i % 2 == 0 ? OrderEntity.Status.COMPLETED : OrderEntity.Status.CANCELLED);
+            backdate(order, old.plusSeconds(i));
+            eligible.add(order.getOrderId());
+        }
+        OrderEntity stillPending = placeOrder(customer, food, 1);
+        backdate(stillPending, old);
+        OrderEntity recentlyCompleted = placeOrder(customer, food, 1);
+        orderService.updateOrderStatus(recentlyCompleted.getOrderId(), OrderEntity.Status.COMPLETED);
+
+        ReflectionTestUtils.setField(archiveService, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiveService, "maxChunksPerRun", 2);
+        Date cutoff = Date.from(Instant.parse("2001-02-01T00:00:00Z"));
+
+        // Two chunks of two per run, then the remainder on the next run
+        assertEquals(4, archiveService.archiveOrdersBefore(cutoff));
+        assertEquals(1, archiveService.archiveOrdersBefore(cutoff));
+        assertEquals(0, archiveService.archiveOrdersBefore(cutoff));
+
+        for (Long orderId : eligible) {
+            assertFalse(isLive(orderId));
+            assertEquals(1, count("SELECT COUNT(*) FROM orders_archive WHERE order_id = ?", orderId));
+            assertEquals(1, count("SELECT COUNT(*) FROM order_items_archive WHERE order_id = ?", orderId));
+            assertEquals(0, count("SELECT COUNT(*) FROM order_items WHERE order_id = ?", orderId));
+        }
+        assertTrue(isLive(stillPending.getOrderId()));
+        assertTrue(isLive(recentlyCompleted.getOrderId()));
+    }
+
+    @Test
+    void mergesLiveAndArchivedOrdersInReads() {
+        OrderEntity oldest = placeOrder(customer, food, 3);
+        orderService.updateOrderStatus(oldest.getOrderId(), OrderEntity.Status.COMPLETED);
+        backdate(oldest, Instant.parse("2002-01-01T00:00:00Z"));
+        OrderEntity live = placeOrder(customer, food, 1);
+        backdate(live, Instant.parse("2002-01-03T00:00:00Z"));
+        OrderEntity middle = placeOrder(customer, food, 1);
+        orderService.updateOrderStatus(middle.getOrderId(), OrderEntity.Status.CANCELLED);
+        backdate(middle, Instant.parse("2002-01-02T00:00:00Z"));
+
+        assertEquals(2, archiveService.archiveOrdersBefore(Date.from(Instant.parse("2002-02-01T00:00:00Z"))));
+
+        List<Long> ids = orderService.getOrdersByCustomerId(customer.getId()).stream()
+                .map(OrderEntity::getOrderId).toList();
+        assertEquals(List.of(live.getOrderId(), middle.getOrderId(), oldest.getOrderId()), ids);
+
+        OrderEntity archived = orderService.getOrderById(oldest.getOrderId());
+        assertNotNull(archived);
+        assertEquals(OrderEntity.Status.COMPLETED, archived.getStatus());
+        assertEquals(customer.getId(), archived.getCustomer().getId());
+        assertEquals(1, archived.getOrderItems().size());
+        assertEquals(3, archived.getOrderItems().get(0).getQuantity());
+        assertEquals(food.getItemId(), archived.getOrderItems().get(0).getFoodItem().getItemId());
+    }
+
+    @Test
+    void readsArchivedOrdersWhoseCustomerAndFoodItemWereDeleted() {
+        OrderEntity order = placeOrder(customer, food, 1);
+        orderService.updateOrderStatus(order.getOrderId(), OrderEntity.Status.COMPLETED);
+        backdate(order, Instant.parse("2003-01-01T00:00:00Z"));
+        assertEquals(1, archiveService.archiveOrdersBefore(Date.from(Instant.parse("2003-02-01T00:00:00Z"))));
+
+        // The archive has no foreign keys, so nothing stops these deletes
+        jdbcTemplate.update("DELETE FROM food_items WHERE item_id = ?", food.getItemId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", customer.getId());
+
+        OrderEntity archived = orderService.getOrderById(order.getOrderId());
+        assertNotNull(archived);
+        assertNull(archived.getCustomer());
+        assertEquals(1, archived.getOrderItems().size());
+        assertNull(archived.getOrderItems().get(0).getFoodItem());
+
+        assertTrue(orderService.getOrdersByShopId(shop.getShopId()).stream()
+                .anyMatch(o -> o.getOrderId().equals(order.getOrderId())));
+    }
+
+    private UserEntity newCustomer() {
+        String email = "archive-" + UUID.randomUUID() + "@example.com";
+        return userRepo.save(new UserEntity("Archive Customer", email, "not-a-hash", UserEntity.Role.CUSTOMER));
+    }
+
+    private FoodItemEntity newFoodItem() {
+        FoodItemEntity item = new FoodItemEntity();
+        item.setName("Archive Special " + UUID.randomUUID());
+        item.setPrice(2.5);
+        item.setQuantity(1000);
+        item.setShop(shop);
+        return foodItemRepo.save(item);
+    }
+
+    private OrderEntity placeOrder(UserEntity orderedBy, FoodItemEntity item, int quantity) {
+        OrderItemEntity line = new OrderItemEntity();
+        line.setFoodItem(item);
+        line.setQuantity(quantity);
+        List<OrderItemEntity> lines = new ArrayList<>();
+        lines.add(line);
+        return orderService.createOrder(orderedBy.getId(), item.getShop().getShopId(), lines, null);
+    }
+
+    private void backdate(OrderEntity order, Instant when) {
+        Timestamp at = Timestamp.from(when);
+        jdbcTemplate.update("UPDATE orders SET created_at = ?, updated_at = ? WHERE order_id = ?",
+                at, at, order.getOrderId());
+    }
+
+    private boolean isLive(Long orderId) {
+        return count("SELECT COUNT(*) FROM orders WHERE order_id = ?", orderId) == 1;
+    }
+
+    private int count(String sql, Long orderId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, orderId);
+    }
+}
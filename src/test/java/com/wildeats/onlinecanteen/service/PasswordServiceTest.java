@@ -0,0 +1,91 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class PasswordServiceTest {
+
+    private ThreadPoolExecutor executor;
+    private PasswordService passwordService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        passwordService = new PasswordService(new BCryptPasswordEncoder(6), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void hashesAndVerifiesOffThread() throws Exception {
+        String hash = passwordService.hash("secret");
+
+        assertNotEquals("secret", hash);
+        assertTrue(PasswordService.isHashed(hash));
+        assertTrue(passwordService.verifyAsync("secret", hash).get());
+        assertFalse(passwordService.verifyAsync("wrong", hash).get());
+        assertFalse(passwordService.needsRehash(hash));
+    }
+
+    @Test
+    void acceptsAndFlagsLegacyPlaintext() throws Exception {
+        assertFalse(PasswordService.isHashed("password123"));
+        assertTrue(passwordService.verifyAsync("password123", "password123").get());
+        assertFalse(passwordService.verifyAsync("password124", "password123").get());
+        assertTrue(passwordService.needsRehash("password123"));
+    }
+
+    @Test
+    void flagsWeakerHashesForUpgrade() {
+        String weak = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(passwordService.matches("secret", weak));
+        assertTrue(passwordService.needsRehash(weak));
+    }
+
+    @Test
+    void rejectsUnknownAccountsAndMissingPasswords() throws Exception {
+        assertFalse(passwordService.verifyAsync("secret", null).get());
+        assertFalse(passwordService.matches(null, passwordService.hash("secret")));
+    }
+
+    @Test
+    void rejectsWhenThePoolIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Boolean> queued = passwordService.verifyAsync("secret", "secret");
+
+        CompletableFuture<Boolean> rejected = passwordService.verifyAsync("secret", "secret");
+
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        release.countDown();
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,42 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.entity.UserEntity;
+
+class ShopAnalyticsServiceTest {
+
+    @Test
+    void clampsTheTrendingLimit() {
+        ShopAnalyticsService analytics = new ShopAnalyticsService();
+        ShopEntity shop = new ShopEntity();
+        shop.setShopId(1L);
+        UserEntity customer = new UserEntity();
+        customer.setId(7L);
+        OrderEntity order = new OrderEntity();
+        order.setShop(shop);
+        order.setCustomer(customer);
+        for (long itemId = 1; itemId <= 3; itemId++) {
+            FoodItemEntity food = new FoodItemEntity();
+            food.setItemId(itemId);
+            food.setName("Item " + itemId);
+            OrderItemEntity line = new OrderItemEntity();
+            line.setFoodItem(food);
+            line.setQuantity((int) itemId);
+            order.addOrderItem(line);
+        }
+        // No transaction here, so the sketches update at once
+        analytics.recordOrder(order);
+
+        assertEquals(1, analytics.getTrendingItems(1L, -5).size());
+        assertEquals(1, analytics.getTrendingItems(1L, 0).size());
+        assertEquals(3L, analytics.getTrendingItems(1L, 0).get(0).getItemId());
+        assertEquals(3, analytics.getTrendingItems(1L, Integer.MAX_VALUE).size());
+    }
+}
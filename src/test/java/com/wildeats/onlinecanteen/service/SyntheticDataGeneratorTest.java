@@ -0,0 +1,90 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.OrderEntity;
+import com.wildeats.onlinecanteen.entity.OrderItemEntity;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyntheticDataGeneratorTest {
+
+    private static final String SYNTHETIC = " JOIN users u ON u.id = o.customer_id WHERE u.email LIKE '%@"
+            + SyntheticDataGenerator.EMAIL_DOMAIN + "'";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void loadsCampusWithLunchPeakedHistory() {
+        // What a load interrupted after its first shop would have left
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, is_active, created_at)"
+                + " VALUES ('Seller 0', ?, 'x', 'SELLER', true, NOW()), ('Student 0', ?, 'x', 'CUSTOMER', true, NOW())",
+                "shop.stall0@" + SyntheticDataGenerator.EMAIL_DOMAIN, "student0@" + SyntheticDataGenerator.EMAIL_DOMAIN);
+        jdbcTemplate.update("INSERT INTO shop_entity (name, email, owner_id, is_active, created_at, updated_at)"
+                + " SELECT 'Stall 0', ?, id, true, NOW(), NOW() FROM users WHERE email = ?",
+                "stall0@" + SyntheticDataGenerator.EMAIL_DOMAIN, "shop.stall0@" + SyntheticDataGenerator.EMAIL_DOMAIN);
+        assertFalse(generator.isLoaded());
+
+        SyntheticDataGenerator.Summary summary = generator.generate(new SyntheticDataGenerator.Plan(5, 12, 300, 1, 400, 4));
+
+        assertTrue(generator.isLoaded());
+        assertEquals(305, summary.users());
+        assertEquals(60, summary.foodItems());
+        assertEquals(summary.orders(), count("SELECT orders FROM synthetic_loads"));
+        SyntheticDataGenerator.Campus campus = generator.campus();
+        assertEquals(5, campus.shops().size());
+        assertTrue(campus.shops().stream().allMatch(shop -> shop.menu().size() == 12));
+        assertEquals(300, campus.customerIds().length);
+        assertThrows(IllegalStateException.class,
+                () -> generator.generate(new SyntheticDataGenerator.Plan(1, 1, 1, 0, 0, 1)));
+        assertEquals(summary.orders(), count("SELECT COUNT(*) FROM orders o" + SYNTHETIC));
+        assertEquals(summary.orderItems(), count("SELECT COUNT(*) FROM order_items i"
+                + " JOIN orders o ON o.order_id = i.order_id" + SYNTHETIC));
+        assertTrue(summary.orders() > 4_000, "orders " + summary.orders());
+        assertTrue(summary.orderItems() > summary.orders());
+        assertEquals(0, count("SELECT COUNT(*) FROM orders o" + SYNTHETIC + " AND ABS(o.total_amount"
+                + " - (SELECT SUM(i.subtotal) FROM order_items i WHERE i.order_id = o.order_id)) > 0.001"));
+
+        List<Map<String, Object>> byHour = jdbcTemplate.queryForList("SELECT HOUR(o.created_at) AS h, COUNT(*) AS n"
+                + " FROM orders o" + SYNTHETIC + " GROUP BY HOUR(o.created_at) ORDER BY n DESC");
+        assertEquals(12, ((Number) byHour.get(0).get("h")).intValue());
+
+        // Orders placed through the app get IDs after the generated ones
+        Long customerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'john.doe@example.com'",
+                Long.class);
+        Long shopId = jdbcTemplate.queryForObject("SELECT MIN(shop_id) FROM shop_entity", Long.class);
+        Long itemId = jdbcTemplate.queryForObject("SELECT MIN(item_id) FROM food_items WHERE shop_id = ?", Long.class,
+                shopId);
+        OrderItemEntity line = new OrderItemEntity();
+        FoodItemEntity ref = new FoodItemEntity();
+        ref.setItemId(itemId);
+        line.setFoodItem(ref);
+        line.setQuantity(1);
+        OrderEntity order = orderService.createOrder(customerId, shopId, List.of(line), null);
+        assertTrue(order.getOrderId() > count("SELECT MAX(o.order_id) FROM orders o" + SYNTHETIC));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
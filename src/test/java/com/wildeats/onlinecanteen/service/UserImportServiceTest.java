@@ -0,0 +1,248 @@
+package com.wildeats.onlinecanteen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.dto.UserImportError;
+import com.wildeats.onlinecanteen.dto.UserImportResult;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserImportServiceTest {
+
+    private final List<Object[]> inserted = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> registered = new ArrayList<>();
+    private int batches;
+    private EmailRegistry emailRegistry;
+    private UserImportService importService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(UserImportService.INSERT_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            inserted.addAll(rows);
+            rows.forEach(row -> registered.add(((String) row[1]).toLowerCase(Locale.ROOT)));
+            batches++;
+            return new int[rows.size()];
+        });
+
+        UserRepository userRepo = mock(UserRepository.class);
+        when(userRepo.findEmailsIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            return emails.stream().filter(email -> registered.contains(email.toLowerCase(Locale.ROOT))).toList();
+        });
+
+        emailRegistry = mock(EmailRegistry.class);
+        when(emailRegistry.mightBeRegistered(anyString())).thenReturn(true);
+
+        PasswordService passwordService = new PasswordService(new BCryptPasswordEncoder(4), Runnable::run);
+        importService = new UserImportService(jdbcTemplate, mock(PlatformTransactionManager.class), userRepo,
+                emailRegistry, passwordService, new ObjectMapper(), 2, 100, 4);
+        registered.add("taken@cit.edu");
+    }
+
+    @Test
+    void importsCsvAndReportsBadRows() throws Exception {
+        String csv = String.join("\n",
+                "email,name,password",
+                "shop.kape@cit.edu,\"Kape, Inc.\",secret1",
+                "maria@cit.edu,Maria,secret2",
+                "",
+                "not-an-email,Bad,secret3",
+                "taken@cit.edu,Taken,secret4",
+                "MARIA@cit.edu,Maria Again,secret5",
+                "jose@cit.edu,,secret6",
+                "ana@cit.edu,Ana,secret7");
+
+        UserImportResult result = importService.importUsers(stream(csv), UserImportService.Format.CSV);
+
+        assertEquals(7, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of("5:Invalid email", "6:Email already in use", "7:Email already in use",
+                "8:Name is required"), describe(result.getErrors()));
+
+        Object[] seller = inserted.get(0);
+        assertEquals("Kape, Inc.", seller[0]);
+        assertEquals("SELLER", seller[3]);
+        assertTrue(PasswordService.isHashed((String) seller[2]));
+        assertEquals("CUSTOMER", inserted.get(1)[3]);
+    }
+
+    @Test
+    void importsNdjsonAndKeepsPreHashedPasswords() throws Exception {
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        String ndjson = String.join("\n",
+                "{\"name\":\"Ana\",\"email\":\"ana@cit.edu\",\"password\":\"" + hash + "\"}",
+                "{\"name\":\"Ana\",\"email\":\"ANA@cit.edu\",\"password\":\"x\"}",
+                "{not json",
+                "[1, 2]");
+
+        UserImportResult result = importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON);
+
+        assertEquals(1, result.getImported());
+        assertEquals(hash, inserted.get(0)[2]);
+        assertEquals(List.of("2:Duplicate email in import", "3:Malformed JSON", "4:Expected a JSON object"),
+                describe(result.getErrors()));
+    }
+
+    @Test
+    void hashesOnThePoolAndOnTheImporterWhenThePoolIsFull() throws Exception {
+        String csv = String.join("\n", "name,email,password", "A,a@cit.edu,secret1", "B,b@cit.edu,secret2",
+                "C,c@cit.edu,secret3");
+        AtomicInteger pooled = new AtomicInteger();
+        UserImportService pooledImport = importWith(new PasswordService(new BCryptPasswordEncoder(4), task -> {
+            pooled.incrementAndGet();
+            task.run();
+        }));
+        assertEquals(3, pooledImport.importUsers(stream(csv), UserImportService.Format.CSV).getImported());
+        assertEquals(3, pooled.get());
+
+        inserted.clear();
+        registered.clear();
+        UserImportService saturatedImport = importWith(new PasswordService(new BCryptPasswordEncoder(4), task -> {
+            throw new RejectedExecutionException("full");
+        }));
+        assertEquals(3, saturatedImport.importUsers(stream(csv), UserImportService.Format.CSV).getImported());
+        assertTrue(inserted.stream().allMatch(row -> PasswordService.isHashed((String) row[2])));
+    }
+
+    @Test
+    void reportsOnlyRealDuplicatesAsEmailInUse() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(UserImportService.INSERT_SQL), anyList()))
+                .thenThrow(new DataIntegrityViolationException("batch"));
+        when(jdbcTemplate.update(eq(UserImportService.INSERT_SQL), any(Object[].class))).thenAnswer(invocation -> {
+            String email = invocation.getArgument(2);
+            if (email.equals("raced@cit.edu")) {
+                // Another insert won the race for this email
+                registered.add(email);
+                throw new DataIntegrityViolationException("Duplicate entry for key 'users.email'");
+            }
+            if (email.equals("broken@cit.edu")) {
+                throw new DataIntegrityViolationException("Data truncation");
+            }
+            return 1;
+        });
+        UserRepository userRepo = mock(UserRepository.class);
+        when(userRepo.findEmailsIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            return emails.stream().filter(registered::contains).toList();
+        });
+        UserImportService racingImport = new UserImportService(jdbcTemplate, mock(PlatformTransactionManager.class),
+                userRepo, emailRegistry, new PasswordService(new BCryptPasswordEncoder(4), Runnable::run),
+                new ObjectMapper(), 10, 100, 4);
+
+        String csv = String.join("\n", "name,email,password", "Raced,raced@cit.edu,secret1",
+                "Broken,broken@cit.edu,secret2", "Fine,fine@cit.edu,secret3");
+        UserImportResult result = racingImport.importUsers(stream(csv), UserImportService.Format.CSV);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of("2:Email already in use", "3:Row violates a database constraint"),
+                describe(result.getErrors()));
+    }
+
+    @Test
+    void rejectsCsvWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importUsers(stream("email,name\na@cit.edu,A"), UserImportService.Format.CSV));
+    }
+
+    @Test
+    void splitsQuotedCsvFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), UserImportService.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void streamsFiftyThousandRowsInBatches() throws Exception {
+        String hash = new BCryptPasswordEncoder(4).encode("secret");
+        UserRepository userRepo = mock(UserRepository.class);
+        EmailRegistry realRegistry = new EmailRegistry(userRepo, new SimpleMeterRegistry(), 100_000, 0.01);
+        realRegistry.rebuild();
+        UserImportService largeBatches = new UserImportService(mock(JdbcTemplate.class, invocation -> {
+            if (invocation.getMethod().getName().equals("batchUpdate")) {
+                batches++;
+                return new int[0];
+            }
+            return null;
+        }), mock(PlatformTransactionManager.class), userRepo, realRegistry,
+                new PasswordService(new BCryptPasswordEncoder(4), Runnable::run), new ObjectMapper(), 1_000, 100, 4);
+
+        Enumeration<InputStream> rows = new Enumeration<>() {
+            private int next = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < 50_000;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = next < 0 ? "name,email,password\n" : "Student " + next + ",s" + next + "@cit.edu," + hash + "\n";
+                next++;
+                return stream(line);
+            }
+        };
+
+        long start = System.nanoTime();
+        UserImportResult result = largeBatches.importUsers(new SequenceInputStream(rows), UserImportService.Format.CSV);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(50_000, result.getImported());
+        assertEquals(50, batches);
+        assertFalse(result.isErrorsTruncated());
+        assertTrue(elapsedMs < 5_000, "took " + elapsedMs + " ms");
+    }
+
+    private UserImportService importWith(PasswordService passwordService) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(UserImportService.INSERT_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            inserted.addAll(rows);
+            return new int[rows.size()];
+        });
+        UserRepository userRepo = mock(UserRepository.class);
+        return new UserImportService(jdbcTemplate, mock(PlatformTransactionManager.class), userRepo, emailRegistry,
+                passwordService, new ObjectMapper(), 10, 100, 2);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> describe(List<UserImportError> errors) {
+        return errors.stream().map(error -> error.getLine() + ":" + error.getMessage()).toList();
+    }
+}
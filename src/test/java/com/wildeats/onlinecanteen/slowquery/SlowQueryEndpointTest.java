@@ -0,0 +1,55 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = { "canteen.slow-query.threshold-ms=0", "canteen.slow-query.top=100" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueryEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reportsWatchedRepositoryStatementsWithTheirContext() throws Exception {
+        mockMvc.perform(delete("/actuator/slowqueries"));
+        assertEquals(200, mockMvc.perform(get("/api/food/shop/1")).andReturn().getResponse().getStatus());
+        // Users are not behind OrderService or FoodItemService, so not watched
+        mockMvc.perform(get("/api/users/1"));
+
+        JsonNode report = objectMapper.readTree(
+                mockMvc.perform(get("/actuator/slowqueries")).andReturn().getResponse().getContentAsString());
+
+        assertEquals(0.0, report.get("thresholdMs").asDouble());
+        JsonNode menu = null;
+        for (JsonNode entry : report.get("top")) {
+            String origin = entry.get("slowest").get("origin").asText();
+            assertTrue(origin.startsWith("FoodItemRepository.") || origin.startsWith("Order"), origin);
+            // The same call also loads each item's shop, in a statement of its own
+            if (origin.equals("FoodItemRepository.findByShopShopIdAndIsAvailableTrue")
+                    && entry.get("sql").asText().contains("food_items")) {
+                menu = entry;
+            }
+        }
+        assertTrue(menu != null, report.toString());
+        assertEquals("[Long]", menu.get("slowest").get("parameters").asText());
+        assertTrue(menu.get("maxRows").asLong() > 0, menu.toString());
+        assertEquals("GET /api/food/shop/{shopId}", menu.get("slowest").get("endpoint").asText());
+    }
+}
@@ -0,0 +1,105 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildeats.onlinecanteen.entity.FoodItemEntity;
+import com.wildeats.onlinecanteen.entity.ShopEntity;
+import com.wildeats.onlinecanteen.repository.FoodItemRepository;
+import com.wildeats.onlinecanteen.repository.ShopRepository;
+import com.wildeats.onlinecanteen.repository.UserRepository;
+
+/**
+ * Stock updates are not run by a repository call: Hibernate flushes the dirty food item when
+ * the order's transaction commits. A trigger makes that UPDATE slow.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slowflush;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "canteen.slow-query.threshold-ms=100",
+        "canteen.outbox.dispatcher.enabled=false" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlowQueryFlushTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ShopRepository shopRepo;
+
+    @Autowired
+    private FoodItemRepository foodItemRepo;
+
+    @Test
+    void reportsASlowStockUpdateFlushedAtCommit() throws Exception {
+        Long customerId = userRepo.findByEmail("john.doe@example.com").getId();
+        ShopEntity shop = shopRepo.findByName("Coffee Haven");
+        FoodItemEntity food = foodItemRepo.findByShopShopId(shop.getShopId()).get(0);
+        mockMvc.perform(delete("/actuator/slowqueries"));
+
+        jdbcTemplate.execute("CREATE TRIGGER slow_stock BEFORE UPDATE ON food_items FOR EACH ROW CALL \""
+                + SlowUpdate.class.getName() + "\"");
+        try {
+            mockMvc.perform(post("/api/orders")
+                            .param("userId", customerId.toString())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"shopId\":" + shop.getShopId() + ",\"orderItems\":[{\"foodItem\":{\"itemId\":"
+                                    + food.getItemId() + "},\"quantity\":1}]}"))
+                    .andExpect(status().isCreated());
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER slow_stock");
+        }
+
+        JsonNode report = objectMapper.readTree(
+                mockMvc.perform(get("/actuator/slowqueries")).andReturn().getResponse().getContentAsString());
+        JsonNode stock = null;
+        for (JsonNode entry : report.get("top")) {
+            if (entry.get("sql").asText().startsWith("update food_items")) {
+                stock = entry;
+            }
+        }
+        assertTrue(stock != null, report.toString());
+        assertTrue(stock.get("maxMs").asDouble() >= 100, stock.toString());
+        assertEquals("OrderService.createOrder", stock.get("slowest").get("origin").asText());
+        assertEquals("POST /api/orders", stock.get("slowest").get("endpoint").asText());
+    }
+
+    public static class SlowUpdate implements Trigger {
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+            try {
+                Thread.sleep(150);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
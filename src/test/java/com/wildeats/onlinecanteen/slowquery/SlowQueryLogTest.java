@@ -0,0 +1,59 @@
+package com.wildeats.onlinecanteen.slowquery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SlowQueryLogTest {
+
+    @Test
+    void normalizesLiteralsWhitespaceAndInLists() {
+        assertEquals("select o1_0.order_id from orders o1_0 where o1_0.status=? and o1_0.shop_id in (?...) limit ?",
+                SlowQueryLog.normalize("select o1_0.order_id\n  from orders o1_0 where o1_0.status='READY'"
+                        + " and o1_0.shop_id in (?, ?, ?) limit 10"));
+        assertEquals(SlowQueryLog.normalize("select * from users where id in (?)"),
+                SlowQueryLog.normalize("select * from users where id in (?,?)"));
+    }
+
+    @Test
+    void aggregatesByStatementAndRanksByTotalTime() {
+        SlowQueryLog log = new SlowQueryLog(100, 10);
+        assertFalse(log.isSlow(99_999_999));
+        assertTrue(log.isSlow(100_000_000));
+
+        log.record("select * from food_items where shop_id=1", 150_000_000, 20, "[]", "FoodItemRepository.findAll",
+                "GET /api/food/shop/{shopId}");
+        log.record("select * from food_items where shop_id=2", 300_000_000, 40, "[]", "FoodItemRepository.findAll",
+                "GET /api/food/shop/{shopId}");
+        log.record("update orders set status=? where order_id=?", 120_000_000, 1, "[String, Long]",
+                "OrderRepository.save", null);
+
+        SlowQueryLog.Report report = log.report(5);
+        assertEquals(2, report.statements());
+        SlowQueryLog.Entry first = report.top().get(0);
+        assertEquals("select * from food_items where shop_id=?", first.sql());
+        assertEquals(2, first.count());
+        assertEquals(450.0, first.totalMs(), 0.001);
+        assertEquals(40, first.maxRows());
+        assertEquals(300.0, first.slowest().durationMs(), 0.001);
+        assertEquals(List.of("GET /api/food/shop/{shopId}"), first.endpoints());
+        assertEquals("[String, Long]", report.top().get(1).slowest().parameters());
+    }
+
+    @Test
+    void dropsNewStatementsOnceFull() {
+        SlowQueryLog log = new SlowQueryLog(0, 1);
+        log.record("select a from t", 1, 1, "[]", "Repo.a", null);
+        log.record("select b from t", 1, 1, "[]", "Repo.b", null);
+        log.record("select a from t", 1, 1, "[]", "Repo.a", null);
+
+        SlowQueryLog.Report report = log.report(5);
+        assertEquals(1, report.statements());
+        assertEquals(1, report.dropped());
+        assertEquals(2, report.top().get(0).count());
+    }
+}
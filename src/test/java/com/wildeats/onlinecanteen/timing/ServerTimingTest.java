@@ -0,0 +1,75 @@
+package com.wildeats.onlinecanteen.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "canteen.server-timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingTest {
+
+    private static final Pattern ENTRY = Pattern.compile("(\\w+);(?:dur=([0-9.]+)|desc=\"(\\d+) statements?\")");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void reportsEachLayerOfARequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/food/shop/1")).andReturn();
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertTrue(result.getResponse().getContentAsString().startsWith("["));
+        String header = result.getResponse().getHeader(ServerTimingFilter.HEADER);
+        assertTrue(header.matches("controller;dur=[0-9.]+, service;dur=[0-9.]+, repository;dur=[0-9.]+, "
+                + "serialization;dur=[0-9.]+, sql;desc=\"\\d+ statements?\", total;dur=[0-9.]+"), header);
+
+        double sum = 0;
+        double total = 0;
+        int statements = 0;
+        Matcher matcher = ENTRY.matcher(header);
+        while (matcher.find()) {
+            if (matcher.group(1).equals("total")) {
+                total = Double.parseDouble(matcher.group(2));
+            } else if (matcher.group(1).equals("sql")) {
+                statements = Integer.parseInt(matcher.group(3));
+            } else {
+                sum += Double.parseDouble(matcher.group(2));
+            }
+        }
+        assertTrue(statements > 0, header);
+        assertTrue(sum <= total + 0.5, header);
+        assertEquals("*", result.getResponse().getHeader("Timing-Allow-Origin"));
+    }
+
+    @Test
+    void chargesNestedPhasesOnlyTheirOwnTime() throws Exception {
+        RequestTimings timings = new RequestTimings();
+        timings.start(RequestTimings.Phase.CONTROLLER);
+        timings.start(RequestTimings.Phase.SERVICE);
+        timings.start(RequestTimings.Phase.REPOSITORY);
+        TimeUnit.MILLISECONDS.sleep(20);
+        timings.stop(RequestTimings.Phase.REPOSITORY);
+        timings.stop(RequestTimings.Phase.SERVICE);
+        timings.stop(RequestTimings.Phase.CONTROLLER);
+        timings.countStatement();
+
+        long repository = timings.getSelfNanos(RequestTimings.Phase.REPOSITORY);
+        assertTrue(repository >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(timings.getSelfNanos(RequestTimings.Phase.SERVICE) < repository);
+        assertTrue(timings.getSelfNanos(RequestTimings.Phase.CONTROLLER) < repository);
+        assertTrue(timings.toHeader().contains("sql;desc=\"1 statement\""));
+    }
+}